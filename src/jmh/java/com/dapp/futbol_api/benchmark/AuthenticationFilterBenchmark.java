@@ -0,0 +1,141 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.repositories.RevokedTokenRepository;
+import com.dapp.futbol_api.security.JwtAuthenticationFilter;
+import com.dapp.futbol_api.security.JwtKeyRing;
+import com.dapp.futbol_api.security.JwtService;
+import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import com.dapp.futbol_api.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per millisecond through the JWT filter, with a cached bearer token: a Prometheus scrape
+ * (public) and a player lookup (authenticated). {@code legacy} is the filter as it was, which parsed
+ * the token on every route, built a new {@code User} per request and attached web details to a
+ * {@code UsernamePasswordAuthenticationToken}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthenticationFilterBenchmark {
+
+    private static final String SECRET = "bXlzdXBlcnNlY3JldGtleWZvcnRlc3RpbmdwdXJwb3Nlc2FuZGl0c2hvdWxkYmVsb25nZW5vdWdo";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"/monitoring/prometheus", "/api/player"})
+    public String path;
+
+    private TokenRevocationService revocationService;
+    private JwtAuthenticationFilter filter;
+    private LegacyFilter legacyFilter;
+    private MockHttpServletRequest request;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", SECRET)));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        revocationService = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), new MockEnvironment());
+        filter = new JwtAuthenticationFilter(jwtService, new SimpleUserDetailsService(), revocationService);
+        legacyFilter = new LegacyFilter(jwtService, revocationService);
+
+        request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("203.0.113.7");
+        String token = jwtService.generateToken(new User("test@example.com", "", List.of()));
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @TearDown
+    public void tearDown() {
+        revocationService.destroy();
+    }
+
+    @Benchmark
+    public Object legacy() throws ServletException, IOException {
+        legacyFilter.doFilter(request, response, NO_OP_CHAIN);
+        return clearAuthentication();
+    }
+
+    @Benchmark
+    public Object current() throws ServletException, IOException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return clearAuthentication();
+    }
+
+    private static Object clearAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static final class LegacyFilter extends OncePerRequestFilter {
+
+        private final JwtService jwtService;
+        private final TokenRevocationService revocationService;
+
+        private LegacyFilter(JwtService jwtService, TokenRevocationService revocationService) {
+            this.jwtService = jwtService;
+            this.revocationService = revocationService;
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                @NonNull FilterChain filterChain) throws ServletException, IOException {
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            Claims claims = jwtService.parseToken(authHeader.substring(7));
+            if (jwtService.isRefreshToken(claims) || revocationService.isRevoked(claims.getId())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = User.builder()
+                        .username(claims.getSubject())
+                        .password("")
+                        .authorities(List.of(new SimpleGrantedAuthority("USER")))
+                        .build();
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.utils.InputNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Request input handling before and after {@link InputNormalizer}, with typical values: a request
+ * parameter without line breaks, a team name with a space, a query value with every delimiter, a
+ * cache key and a login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputNormalizerBenchmark {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
+    private static final String PASSWORD_REGEX = "^(?=.*\\d).{6,}$";
+
+    private final String playerName = "Lionel Messi";
+    private final String teamName = "Real Madrid";
+    private final String mixedValue = "Brighton & Hove Albion?season=2025";
+    private final String email = "test@example.com";
+    private final String password = "password123";
+
+    @Benchmark
+    public String sanitizeLegacy() {
+        return playerName.replaceAll("[\n\r]", "_");
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return InputNormalizer.sanitize(playerName);
+    }
+
+    @Benchmark
+    public String encodeLegacy() {
+        return teamName.replace(" ", "%20").replace("&", "%26").replace("?", "%3F").replace("=", "%3D");
+    }
+
+    @Benchmark
+    public String encode() {
+        return InputNormalizer.encodeQueryValue(teamName);
+    }
+
+    @Benchmark
+    public String encodeMixedLegacy() {
+        return mixedValue.replace(" ", "%20").replace("&", "%26").replace("?", "%3F").replace("=", "%3D");
+    }
+
+    @Benchmark
+    public String encodeMixed() {
+        return InputNormalizer.encodeQueryValue(mixedValue);
+    }
+
+    @Benchmark
+    public String normalizeKeyLegacy() {
+        return teamName.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @Benchmark
+    public String normalizeKey() {
+        return InputNormalizer.normalizeKey(teamName);
+    }
+
+    @Benchmark
+    public boolean validateLoginLegacy() {
+        return Pattern.matches(EMAIL_REGEX, email) && Pattern.matches(PASSWORD_REGEX, password);
+    }
+
+    @Benchmark
+    public boolean validateLogin() {
+        return InputNormalizer.isValidEmail(email) && InputNormalizer.isValidPassword(password);
+    }
+}
@@ -0,0 +1,59 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.security.JwtKeyRing;
+import com.dapp.futbol_api.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing (login) and verifying (every authenticated request, with the verified-token cache
+ * disabled) a token with each {@code api.security.jwt.algorithm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET = "bXlzdXBlcnNlY3JldGtleWZvcnRlc3RpbmdwdXJwb3Nlc2FuZGl0c2hvdWxkYmVsb25nZW5vdWdo";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private final UserDetails user = new User("test@example.com", "password", List.of());
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtKeyRing(new MockEnvironment()
+                .withProperty("api.security.jwt.algorithm", algorithm)
+                .withProperty("api.security.jwt.secret-key", SECRET)));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 0L);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.parseToken(token);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.security.JwtKeyRing;
+import com.dapp.futbol_api.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a bearer token. {@code legacy} decodes the key and
+ * parses the token three times as the filter used to (username, subject check, expiration);
+ * {@code singleParse} verifies it once with the precomputed key and the cache disabled;
+ * {@code cachedHit} is a token already verified by an earlier request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "bXlzdXBlcnNlY3JldGtleWZvcnRlc3RpbmdwdXJwb3Nlc2FuZGl0c2hvdWxkYmVsb25nZW5vdWdo";
+
+    private final UserDetails user = new User("test@example.com", "password", List.of());
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedService = newJwtService(0);
+        cachedService = newJwtService(10_000);
+        token = cachedService.generateToken(user);
+        cachedService.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims().getSubject();
+        return username.equals(user.getUsername()) && !legacyClaims().getExpiration().before(new Date())
+                && legacyClaims() != null;
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        return uncachedService.isTokenValid(uncachedService.parseToken(token), user);
+    }
+
+    @Benchmark
+    public boolean cachedHit() {
+        return cachedService.isTokenValid(cachedService.parseToken(token), user);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtService newJwtService(long cacheMaxSize) {
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", SECRET)));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cacheMaxSize);
+        return jwtService;
+    }
+}
@@ -0,0 +1,93 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.analytics.LeaderboardMetric;
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.TopKIndex;
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The leaderboards of 100 squads of 25 players: a page of the top scorers from the index or by
+ * sorting every squad as each request would without it, and a squad refresh updating every index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaderboardsBenchmark {
+
+    private static final int TEAMS = 100;
+    private static final int PLAYERS = 25;
+    private static final int PAGE_SIZE = 20;
+
+    private final List<TeamDTO> teams = new ArrayList<>(TEAMS);
+    private Leaderboards leaderboards;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        leaderboards = new Leaderboards(new MockEnvironment());
+        Random random = new Random(42);
+        for (int t = 0; t < TEAMS; t++) {
+            List<TeamPlayerDTO> squad = new ArrayList<>(PLAYERS);
+            for (int p = 0; p < PLAYERS; p++) {
+                squad.add(TeamPlayerDTO.builder()
+                        .name("Player " + t + "-" + p)
+                        .minsPlayed(random.nextInt(3000))
+                        .goals(random.nextInt(25))
+                        .assists(random.nextInt(15))
+                        .shotsPerGame(random.nextDouble() * 4)
+                        .passSuccess(60 + random.nextDouble() * 35)
+                        .aerialsWonPerGame(random.nextDouble() * 5)
+                        .manOfTheMatch(random.nextInt(6))
+                        .rating(6 + random.nextDouble() * 2)
+                        .build());
+            }
+            TeamDTO team = new TeamDTO();
+            team.setName("Team " + t);
+            team.setSquad(squad);
+            teams.add(team);
+            leaderboards.update(team.getName(), team);
+        }
+    }
+
+    @Benchmark
+    public TopKIndex.Page page() {
+        next = (next + 1) % 10;
+        return leaderboards.page(LeaderboardMetric.GOALS, next * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TeamPlayerDTO> pageBySorting() {
+        next = (next + 1) % 10;
+        return teams.stream()
+                .flatMap(team -> team.getSquad().stream())
+                .filter(player -> player.getGoals() > 0)
+                .sorted(Comparator.comparingInt(TeamPlayerDTO::getGoals).reversed()
+                        .thenComparing(TeamPlayerDTO::getName))
+                .skip((long) next * PAGE_SIZE)
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    @Benchmark
+    public Leaderboards refreshSquad() {
+        next = (next + 1) % TEAMS;
+        TeamDTO team = teams.get(next);
+        leaderboards.update(team.getName(), team);
+        return leaderboards;
+    }
+}
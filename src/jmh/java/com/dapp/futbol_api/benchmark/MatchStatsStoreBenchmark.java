@@ -0,0 +1,110 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.analytics.MatchStatsStore;
+import com.dapp.futbol_api.analytics.MatchStatsSummary;
+import com.dapp.futbol_api.analytics.StatsDictionary;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import com.dapp.futbol_api.utils.ScrapedStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating 10,000 matches of a player: over the {@link PlayerMatchStatsDTO} list, as the scraper
+ * payload is bound, and over the columns of a {@link MatchStatsStore}. {@code All} sums every match
+ * and {@code Opponent} only the matches against one opponent. {@code load} fills a store, and a new
+ * dictionary, from the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchStatsStoreBenchmark {
+
+    private static final int MATCHES = 10_000;
+    private static final String[] OPPONENTS = {"Real Madrid", "Sevilla", "Getafe", "Girona", "Valencia",
+            "Villarreal", "Real Betis", "Osasuna", "Celta Vigo", "Mallorca", "Alaves", "Espanyol",
+            "Rayo Vallecano", "Real Sociedad", "Athletic Club", "Atletico Madrid", "Levante", "Elche", "Oviedo"};
+    private static final String[] POSITIONS = {"FW", "AMC", "AMR", "Sub"};
+
+    private List<PlayerMatchStatsDTO> matches;
+    private MatchStatsStore store;
+    private int opponentCode;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        matches = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            matches.add(PlayerMatchStatsDTO.builder()
+                    .date("match-" + i)
+                    .opponent(OPPONENTS[random.nextInt(OPPONENTS.length)])
+                    .position(POSITIONS[random.nextInt(POSITIONS.length)])
+                    .minsPlayed(random.nextInt(91))
+                    .goals(random.nextInt(3))
+                    .assists(random.nextInt(2))
+                    .shots(random.nextInt(6))
+                    .passSuccess(60.0 + random.nextInt(40))
+                    .aerialsWon(random.nextInt(4))
+                    .rating(random.nextInt(10) == 0 ? null : 5 + random.nextDouble() * 4)
+                    .build());
+        }
+        StatsDictionary dictionary = new StatsDictionary();
+        store = new MatchStatsStore(dictionary);
+        store.append(matches);
+        opponentCode = dictionary.find("Real Madrid");
+    }
+
+    @Benchmark
+    public MatchStatsSummary scanAllDtos() {
+        MatchStatsSummary summary = new MatchStatsSummary();
+        for (PlayerMatchStatsDTO match : matches) {
+            add(summary, match);
+        }
+        return summary;
+    }
+
+    @Benchmark
+    public MatchStatsSummary scanAllColumns() {
+        return store.summarize(MatchStatsStore.ANY, MatchStatsStore.ANY);
+    }
+
+    @Benchmark
+    public MatchStatsSummary scanOpponentDtos() {
+        MatchStatsSummary summary = new MatchStatsSummary();
+        for (PlayerMatchStatsDTO match : matches) {
+            if ("Real Madrid".equals(match.getOpponent())) {
+                add(summary, match);
+            }
+        }
+        return summary;
+    }
+
+    @Benchmark
+    public MatchStatsSummary scanOpponentColumns() {
+        return store.summarize(opponentCode, MatchStatsStore.ANY);
+    }
+
+    @Benchmark
+    public MatchStatsStore load() {
+        MatchStatsStore loaded = new MatchStatsStore(new StatsDictionary());
+        loaded.append(matches);
+        return loaded;
+    }
+
+    private static void add(MatchStatsSummary summary, PlayerMatchStatsDTO match) {
+        summary.add(ScrapedStats.orZero(match.getMinsPlayed()), ScrapedStats.orZero(match.getGoals()),
+                ScrapedStats.orZero(match.getAssists()), ScrapedStats.orZero(match.getYellowCards()),
+                ScrapedStats.orZero(match.getRedCards()), ScrapedStats.orZero(match.getShots()),
+                ScrapedStats.orZero(match.getAerialsWon()), ScrapedStats.orZero(match.getPassSuccess()),
+                ScrapedStats.orZero(match.getRating()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.analytics.MatchHistory;
+import com.dapp.futbol_api.analytics.PerformancePredictor;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictiveAnalysisDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local prediction for a player with 40 matches whose profile is already in the history of 500
+ * players, as for a second request; and a what-if sweep over every opponent, venue and position
+ * (152 scenarios), at once or one prediction at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PerformancePredictorBenchmark {
+
+    private static final int PLAYERS = 500;
+    private static final int MATCHES = 40;
+    private static final String[] OPPONENTS = {"Real Madrid", "Sevilla", "Getafe", "Girona", "Valencia",
+            "Villarreal", "Real Betis", "Osasuna", "Celta Vigo", "Mallorca", "Alaves", "Espanyol",
+            "Rayo Vallecano", "Real Sociedad", "Athletic Club", "Atletico Madrid", "Levante", "Elche", "Oviedo"};
+    private static final String[] POSITIONS = {"FW", "AMC", "AMR", "Sub"};
+    private static final List<Boolean> VENUES = List.of(true, false);
+
+    private PerformancePredictor predictor;
+    private PlayerDTO player;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        MatchHistory history = new MatchHistory(environment);
+        predictor = new PerformancePredictor(environment, history);
+        Random random = new Random(42);
+        for (int i = 0; i < PLAYERS; i++) {
+            player = player("Player " + i, random);
+            predictor.predict(player.getName(), player, "Sevilla", true, "FW");
+        }
+    }
+
+    @Benchmark
+    public PredictiveAnalysisDTO predict() {
+        next = (next + 1) % OPPONENTS.length;
+        return predictor.predict(player.getName(), player, OPPONENTS[next], (next & 1) == 0, "FW");
+    }
+
+    @Benchmark
+    public PredictionSweepDTO sweep() {
+        return predictor.sweep(player.getName(), player, List.of(OPPONENTS), VENUES, List.of(POSITIONS));
+    }
+
+    @Benchmark
+    public void sweepOneByOne(Blackhole blackhole) {
+        for (String opponent : OPPONENTS) {
+            for (Boolean isHome : VENUES) {
+                for (String position : POSITIONS) {
+                    blackhole.consume(predictor.predict(player.getName(), player, opponent, isHome, position));
+                }
+            }
+        }
+    }
+
+    private static PlayerDTO player(String name, Random random) {
+        List<PlayerMatchStatsDTO> matches = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            matches.add(PlayerMatchStatsDTO.builder()
+                    .date(String.format("%02d-%02d-2025", 1 + i % 28, 1 + i / 28))
+                    .opponent(OPPONENTS[random.nextInt(OPPONENTS.length)])
+                    .position(POSITIONS[random.nextInt(POSITIONS.length)])
+                    .minsPlayed(random.nextInt(91))
+                    .goals(random.nextInt(3))
+                    .assists(random.nextInt(2))
+                    .shots(random.nextInt(6))
+                    .rating(5 + random.nextDouble() * 4)
+                    .build());
+        }
+        PlayerDTO player = new PlayerDTO();
+        player.setName(name);
+        player.setMatchStats(matches);
+        return player;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.repositories.RevokedTokenRepository;
+import com.dapp.futbol_api.service.TokenRevocationService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the revocation check adds to an authenticated request, with 100,000 revoked tokens: a token
+ * that was never revoked (almost every request) and a revoked one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationCheckBenchmark {
+
+    private static final int REVOKED_TOKENS = 100_000;
+
+    private TokenRevocationService revocationService;
+    private String activeJti;
+    private String revokedJti;
+
+    @Setup
+    public void setUp() {
+        revocationService = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), new MockEnvironment());
+        Date expiration = new Date(System.currentTimeMillis() + 3_600_000);
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            revocationService.revoke(revokedJti, expiration);
+        }
+        activeJti = UUID.randomUUID().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        revocationService.destroy();
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return revocationService.isRevoked(activeJti);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocationService.isRevoked(revokedJti);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dapp.futbol_api.benchmark;
+
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one team and one player request: reading the scraper body and writing the API response.
+ * The {@code Maps} benchmarks bind into {@code List<Map>} trees as the services used to; the
+ * {@code Dto} ones bind into the typed DTOs. Run with the gc profiler ({@code ./gradlew jmh}) and
+ * compare {@code gc.alloc.rate.norm}, the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScraperPayloadBenchmark {
+
+    private static final int SQUAD_SIZE = 30;
+    private static final int MATCHES = 40;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader teamReader;
+    private ObjectReader playerReader;
+    private ObjectWriter writer;
+    private byte[] teamBody;
+    private byte[] playerBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        teamReader = objectMapper.readerFor(TeamDTO[].class);
+        playerReader = objectMapper.readerFor(PlayerDTO[].class);
+        writer = objectMapper.writer();
+        teamBody = teamJson().getBytes(StandardCharsets.UTF_8);
+        playerBody = playerJson().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] teamAsMaps() throws IOException {
+        List<?> teams = objectMapper.readValue(teamBody, List.class);
+        return writer.writeValueAsBytes(teams.getFirst());
+    }
+
+    @Benchmark
+    public byte[] teamAsDto() throws IOException {
+        TeamDTO[] teams = teamReader.readValue(teamBody);
+        return writer.writeValueAsBytes(teams[0]);
+    }
+
+    @Benchmark
+    public byte[] playerAsMaps() throws IOException {
+        List<?> players = objectMapper.readValue(playerBody, List.class);
+        return writer.writeValueAsBytes(players.getFirst());
+    }
+
+    @Benchmark
+    public byte[] playerAsDto() throws IOException {
+        PlayerDTO[] players = playerReader.readValue(playerBody);
+        return writer.writeValueAsBytes(players[0]);
+    }
+
+    /**
+     * A squad as the scraper sends it, with the stats as scraped text.
+     */
+    private static String teamJson() {
+        StringBuilder json = new StringBuilder("[{\"name\":\"Real Madrid\",\"squad\":[");
+        for (int i = 0; i < SQUAD_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Player ").append(i)
+                    .append("\",\"age\":\"").append(19 + i % 15)
+                    .append("\",\"position\":\"AM(CLR),FW\",\"height\":\"182cm\",\"weight\":\"75kg\"")
+                    .append(",\"apps\":\"").append(10 + i % 20).append("(").append(i % 5).append(")\"")
+                    .append(",\"minsPlayed\":\"").append(1 + i % 3).append(",").append(100 + i * 7).append('"')
+                    .append(",\"goals\":\"").append(i % 9).append('"')
+                    .append(",\"assists\":\"").append(i % 4 == 0 ? "-" : String.valueOf(i % 6)).append('"')
+                    .append(",\"yellowCards\":\"").append(i % 5).append("\",\"redCards\":\"-\"")
+                    .append(",\"shotsPerGame\":\"").append(i % 4).append(".").append(i % 10).append('"')
+                    .append(",\"passSuccess\":\"").append(70 + i % 25).append(".4\"")
+                    .append(",\"aerialsWonPerGame\":\"0.").append(i % 10).append('"')
+                    .append(",\"manOfTheMatch\":\"").append(i % 3).append('"')
+                    .append(",\"rating\":\"").append(6 + i % 3).append('.').append(10 + i % 89).append("\"}");
+        }
+        return json.append("]}]").toString();
+    }
+
+    /**
+     * A player profile as the scraper sends it, with a season of match stats.
+     */
+    private static String playerJson() {
+        StringBuilder json = new StringBuilder("[{\"name\":\"Lionel Messi\",\"shirtNumber\":\"10\",\"age\":\"38\",")
+                .append("\"height\":\"170cm\",\"positions\":\"AM(CR), FW\",\"nationality\":\"Argentina\",")
+                .append("\"currentTeam\":\"Inter Miami\",\"matchStats\":[");
+        for (int i = 0; i < MATCHES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"opponent\":\"Team ").append(i)
+                    .append("\",\"score\":\"").append(i % 4).append(" : ").append(i % 3)
+                    .append("\",\"date\":\"").append(10 + i % 18).append("-0").append(1 + i % 9).append("-2025\"")
+                    .append(",\"position\":\"FW\",\"minsPlayed\":\"").append(45 + i % 46).append('"')
+                    .append(",\"goals\":\"").append(i % 3).append("\",\"assists\":\"")
+                    .append(i % 5 == 0 ? "-" : String.valueOf(i % 2)).append('"')
+                    .append(",\"yellowCards\":\"-\",\"redCards\":\"-\",\"shots\":\"").append(i % 7).append('"')
+                    .append(",\"passSuccess\":\"").append(75 + i % 20).append(".0\"")
+                    .append(",\"aerialsWon\":\"").append(i % 2).append('"')
+                    .append(",\"rating\":\"").append(6 + i % 4).append('.').append(10 + i % 89).append("\"}");
+        }
+        return json.append("]}]").toString();
+    }
+}
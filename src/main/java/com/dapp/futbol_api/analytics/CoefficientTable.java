@@ -0,0 +1,78 @@
+package com.dapp.futbol_api.analytics;
+
+import java.util.Arrays;
+
+/**
+ * How much more or less players score or assist against each value of a column (such as the
+ * opponent), relative to all the matches added: indexed by {@link StatsDictionary} code and
+ * updated one match at a time, as matches are added or removed.
+ * <p>
+ * Values with few matches are pulled towards 1.0: the factor counts {@code PRIOR_MATCHES} extra
+ * matches at the overall rate, so a single big game against an opponent does not make it weak.
+ * Thread-safe.
+ */
+public final class CoefficientTable {
+
+    /** Matches at the overall rate added to every value. */
+    private static final double PRIOR_MATCHES = 10.0;
+
+    private long[] matches = new long[64];
+    private long[] involvements = new long[64];
+    private long totalMatches;
+    private long totalInvolvements;
+
+    /**
+     * Adds one match, with the goals plus assists of the player in it.
+     */
+    public synchronized void add(int code, int goalInvolvements) {
+        if (code >= matches.length) {
+            int capacity = Math.max(code + 1, matches.length * 2);
+            matches = Arrays.copyOf(matches, capacity);
+            involvements = Arrays.copyOf(involvements, capacity);
+        }
+        matches[code]++;
+        involvements[code] += goalInvolvements;
+        totalMatches++;
+        totalInvolvements += goalInvolvements;
+    }
+
+    /**
+     * Removes one match added before, with the same goal involvements.
+     */
+    public synchronized void remove(int code, int goalInvolvements) {
+        matches[code]--;
+        involvements[code] -= goalInvolvements;
+        totalMatches--;
+        totalInvolvements -= goalInvolvements;
+    }
+
+    /**
+     * @return The matches added and not removed, of every value.
+     */
+    public synchronized long totalMatches() {
+        return totalMatches;
+    }
+
+    /**
+     * @return Goal involvements per match for the value over the overall rate, or 1.0 if nothing is
+     *         known about it.
+     */
+    public synchronized double factor(int code) {
+        if (totalInvolvements == 0 || code < 0 || code >= matches.length) {
+            return 1.0;
+        }
+        return factor(involvements[code], matches[code], (double) totalInvolvements / totalMatches);
+    }
+
+    /**
+     * @return Goal involvements per match of a subset of matches over the overall rate, pulled
+     *         towards 1.0 when the subset is small; 1.0 if the overall rate is 0.
+     */
+    static double factor(long subsetInvolvements, long subsetMatches, double overallRate) {
+        if (overallRate <= 0) {
+            return 1.0;
+        }
+        double rate = (subsetInvolvements + PRIOR_MATCHES * overallRate) / (subsetMatches + PRIOR_MATCHES);
+        return rate / overallRate;
+    }
+}
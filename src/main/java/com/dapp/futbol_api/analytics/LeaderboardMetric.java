@@ -0,0 +1,57 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Squad stats that players are ranked by, highest first. Only players with a value above 0 are
+ * ranked, so unrated players and players who never scored are left out.
+ */
+public enum LeaderboardMetric {
+
+    GOALS(TeamPlayerDTO::getGoals),
+    ASSISTS(TeamPlayerDTO::getAssists),
+    RATING(TeamPlayerDTO::getRating),
+    AERIALS_WON(TeamPlayerDTO::getAerialsWonPerGame),
+    SHOTS(TeamPlayerDTO::getShotsPerGame),
+    PASS_SUCCESS(TeamPlayerDTO::getPassSuccess),
+    MAN_OF_THE_MATCH(TeamPlayerDTO::getManOfTheMatch),
+    MINUTES(TeamPlayerDTO::getMinsPlayed);
+
+    private final Function<TeamPlayerDTO, ? extends Number> stat;
+
+    LeaderboardMetric(Function<TeamPlayerDTO, ? extends Number> stat) {
+        this.stat = stat;
+    }
+
+    /**
+     * @return The player's value of the metric, or 0 if the player has none.
+     */
+    public double valueOf(TeamPlayerDTO player) {
+        Number value = stat.apply(player);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    /**
+     * @return The metric's name in URLs, such as {@code aerials-won}.
+     */
+    public String getPath() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * @return The metric with the name, in any case and with dashes or underscores.
+     * @throws IllegalArgumentException If there is no such metric.
+     */
+    public static LeaderboardMetric fromPath(String path) {
+        String name = path == null ? "" : path.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (LeaderboardMetric metric : values()) {
+            if (metric.name().equals(name)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard '" + path + "'.");
+    }
+}
@@ -0,0 +1,131 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import com.dapp.futbol_api.utils.InputNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * League-wide rankings of the players of every squad fetched, one {@link TopKIndex} per
+ * {@link LeaderboardMetric}.
+ * <p>
+ * Each squad fetched from the scraper replaces the team's previous one in every index, so the
+ * rankings follow the squad refreshes of the response cache and reading a page never fetches or
+ * sorts anything. Only the best {@code scraper.leaderboards.size} players of each metric can be
+ * paged through.
+ * <p>
+ * Squads fetched while answering a request are ranked with {@link #updateInBackground}, on a single
+ * thread of its own and in the order they came, so the request never waits for the ranking.
+ */
+@Component
+public class Leaderboards implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(Leaderboards.class);
+
+    private final Map<String, Squad> squads = new ConcurrentHashMap<>();
+    private final Map<LeaderboardMetric, TopKIndex> indexes = new EnumMap<>(LeaderboardMetric.class);
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboards-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Squad(String team, List<TeamPlayerDTO> players) {
+    }
+
+    public Leaderboards(Environment environment) {
+        int size = environment.getProperty("scraper.leaderboards.size", Integer.class, 1000);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            indexes.put(metric, new TopKIndex(size));
+        }
+    }
+
+    /**
+     * Replaces the team's players in every leaderboard with those of its squad. Teams are told apart
+     * by the name the scraper gives them, or the name they were looked up by if it gives none.
+     */
+    public synchronized void update(String teamName, TeamDTO teamInfo) {
+        String team = teamInfo == null || teamInfo.getName() == null ? teamName : teamInfo.getName();
+        if (teamInfo == null || teamInfo.getSquad() == null || team == null) {
+            return;
+        }
+        String teamKey = InputNormalizer.normalizeKey(team);
+        Squad squad = new Squad(team, teamInfo.getSquad().stream().filter(Objects::nonNull).toList());
+        squads.put(teamKey, squad);
+        indexes.forEach((metric, index) ->
+                index.replace(teamKey, ranked(metric, teamKey, squad), () -> everyone(metric)));
+    }
+
+    /**
+     * Same as {@link #update(String, TeamDTO)}, without waiting for it. A failed update is logged and
+     * leaves the team's previous players in the leaderboards.
+     *
+     * @return Completed once the squad is ranked, or failed to be.
+     */
+    public CompletableFuture<Void> updateInBackground(String teamName, TeamDTO teamInfo) {
+        try {
+            return CompletableFuture.runAsync(() -> update(teamName, teamInfo), updater)
+                    .exceptionally(e -> {
+                        log.warn("Could not update the leaderboards with the squad of '{}'", teamName, e);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * @return Up to {@code count} players from the {@code first} one (0-based), best first.
+     */
+    public TopKIndex.Page page(LeaderboardMetric metric, int first, int count) {
+        return indexes.get(metric).page(first, count);
+    }
+
+    /**
+     * @return The number of teams whose squads are ranked.
+     */
+    public int teams() {
+        return squads.size();
+    }
+
+    private Stream<TopKIndex.Ranked> everyone(LeaderboardMetric metric) {
+        return squads.entrySet().stream()
+                .flatMap(entry -> ranked(metric, entry.getKey(), entry.getValue()).stream());
+    }
+
+    /**
+     * @return The squad's players with a value of the metric.
+     */
+    private static List<TopKIndex.Ranked> ranked(LeaderboardMetric metric, String teamKey, Squad squad) {
+        List<TopKIndex.Ranked> ranked = new ArrayList<>();
+        for (TeamPlayerDTO player : squad.players()) {
+            double value = metric.valueOf(player);
+            if (value > 0) {
+                ranked.add(new TopKIndex.Ranked(teamKey, squad.team(), player, value));
+            }
+        }
+        return ranked;
+    }
+
+    @Override
+    public void destroy() {
+        updater.shutdownNow();
+    }
+}
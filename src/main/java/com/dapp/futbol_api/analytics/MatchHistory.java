@@ -0,0 +1,92 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.utils.InputNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Match history of the players whose profiles were seen, from which the performance metrics and
+ * predictions are computed locally.
+ * <p>
+ * Every player keeps a {@link MatchStatsStore}, and the dates, opponents and positions of all of
+ * them share one {@link StatsDictionary}. The per-opponent {@link CoefficientTable} is refreshed
+ * with each match appended, so it never needs a full rebuild, and loses the matches of each store
+ * evicted, so a player fetched again after its eviction is not counted twice.
+ * <p>
+ * {@code scraper.match-history.max-players} bounds the stores. The dictionary is not bounded: it
+ * grows with the distinct dates, opponents and positions seen, not with the players, which is a few
+ * thousand values (tens of KB) per season.
+ */
+@Component
+public class MatchHistory {
+
+    private final StatsDictionary dictionary = new StatsDictionary();
+    private final CoefficientTable opponents = new CoefficientTable();
+    private final Cache<String, MatchStatsStore> stores;
+
+    public MatchHistory(Environment environment) {
+        this.stores = Caffeine.newBuilder()
+                .maximumSize(environment.getProperty("scraper.match-history.max-players", Long.class, 10_000L))
+                .removalListener((String key, MatchStatsStore store, RemovalCause cause) -> forget(store))
+                .build();
+    }
+
+    /**
+     * Adds the new matches of the player profile to the player's store and reads it, holding the
+     * store's lock.
+     *
+     * @return What the reader returns, or null if the profile has no match stats.
+     */
+    public <T> T update(String playerName, PlayerDTO player, Function<MatchStatsStore, T> reader) {
+        if (player == null || player.getMatchStats() == null || player.getMatchStats().isEmpty()) {
+            return null;
+        }
+        String key = InputNormalizer.normalizeKey(playerName);
+        while (true) {
+            MatchStatsStore store = stores.get(key, newKey -> new MatchStatsStore(dictionary));
+            synchronized (store) {
+                // Evicted since it was looked up: its matches are, or are about to be, forgotten
+                if (stores.getIfPresent(key) != store) {
+                    continue;
+                }
+                int appended = store.append(player.getMatchStats());
+                for (int match = store.size() - appended; match < store.size(); match++) {
+                    opponents.add(store.opponent(match), store.goalInvolvements(match));
+                }
+                return reader.apply(store);
+            }
+        }
+    }
+
+    /**
+     * Removes the matches of an evicted store from the per-opponent table. Caffeine calls it once the
+     * store is out of the cache, so no match is appended to it after this.
+     */
+    private void forget(MatchStatsStore store) {
+        if (store == null) {
+            return;
+        }
+        synchronized (store) {
+            for (int match = 0; match < store.size(); match++) {
+                opponents.remove(store.opponent(match), store.goalInvolvements(match));
+            }
+        }
+    }
+
+    public StatsDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return How much players score or assist against each opponent, by dictionary code.
+     */
+    public CoefficientTable getOpponents() {
+        return opponents;
+    }
+}
@@ -0,0 +1,251 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import com.dapp.futbol_api.utils.ScrapedStats;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Match stats of one player, oldest first, held column by column: one primitive array per stat,
+ * and the date, opponent and position as codes of a shared {@link StatsDictionary}.
+ * <p>
+ * Matches are only ever appended. Each one also updates the running {@link #totals()}, so the
+ * metrics of the whole history cost the same as those of a single match; {@link #summarize} scans
+ * the columns for the matches against an opponent or in a position. Not thread-safe;
+ * {@link MatchHistory} locks each store while it is updated or read.
+ */
+public final class MatchStatsStore {
+
+    /** Filter code that matches every opponent or position. */
+    public static final int ANY = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Bytes per match: ten int columns, two float columns and two slots of the seen keys
+    private static final int ROW_BYTES = 10 * Integer.BYTES + 2 * Float.BYTES + 2 * Long.BYTES;
+    private static final long EMPTY = -1;
+
+    private final StatsDictionary dictionary;
+    private final MatchStatsSummary totals = new MatchStatsSummary();
+    private int size;
+    // Open-addressing hash set of the date and opponent codes of every match, at most half full
+    private long[] seen = newSeen(2 * INITIAL_CAPACITY);
+    private int[] dates = new int[INITIAL_CAPACITY];
+    private int[] opponents = new int[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] minutes = new int[INITIAL_CAPACITY];
+    private int[] goals = new int[INITIAL_CAPACITY];
+    private int[] assists = new int[INITIAL_CAPACITY];
+    private int[] yellowCards = new int[INITIAL_CAPACITY];
+    private int[] redCards = new int[INITIAL_CAPACITY];
+    private int[] shots = new int[INITIAL_CAPACITY];
+    private int[] aerialsWon = new int[INITIAL_CAPACITY];
+    private float[] passSuccess = new float[INITIAL_CAPACITY];
+    private float[] ratings = new float[INITIAL_CAPACITY];
+
+    public MatchStatsStore(StatsDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Appends the matches not seen before.
+     *
+     * @param matchStats Matches as listed by the scraper, the most recent first.
+     * @return How many matches were appended.
+     */
+    public int append(List<PlayerMatchStatsDTO> matchStats) {
+        int appended = 0;
+        for (int i = matchStats.size() - 1; i >= 0; i--) {
+            PlayerMatchStatsDTO match = matchStats.get(i);
+            if (match != null && append(match)) {
+                appended++;
+            }
+        }
+        return appended;
+    }
+
+    private boolean append(PlayerMatchStatsDTO match) {
+        int date = dictionary.encode(match.getDate());
+        int opponent = dictionary.encode(match.getOpponent());
+        if (size == minutes.length) {
+            grow();
+        }
+        if (!markSeen((long) date << 32 | opponent)) {
+            return false;
+        }
+        dates[size] = date;
+        opponents[size] = opponent;
+        positions[size] = dictionary.encode(match.getPosition());
+        minutes[size] = ScrapedStats.orZero(match.getMinsPlayed());
+        goals[size] = ScrapedStats.orZero(match.getGoals());
+        assists[size] = ScrapedStats.orZero(match.getAssists());
+        yellowCards[size] = ScrapedStats.orZero(match.getYellowCards());
+        redCards[size] = ScrapedStats.orZero(match.getRedCards());
+        shots[size] = ScrapedStats.orZero(match.getShots());
+        aerialsWon[size] = ScrapedStats.orZero(match.getAerialsWon());
+        passSuccess[size] = (float) ScrapedStats.orZero(match.getPassSuccess());
+        ratings[size] = (float) ScrapedStats.orZero(match.getRating());
+        addRow(totals, size);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return True if the key was not seen before.
+     */
+    private boolean markSeen(long key) {
+        int mask = seen.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (seen[slot] != EMPTY) {
+            if (seen[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        seen[slot] = key;
+        return true;
+    }
+
+    private static long[] newSeen(int slots) {
+        long[] table = new long[slots];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private void grow() {
+        int capacity = size * 2;
+        // Rehash the keys of the rows into a table twice the new capacity
+        seen = newSeen(2 * capacity);
+        for (int row = 0; row < size; row++) {
+            markSeen((long) dates[row] << 32 | opponents[row]);
+        }
+        dates = Arrays.copyOf(dates, capacity);
+        opponents = Arrays.copyOf(opponents, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        minutes = Arrays.copyOf(minutes, capacity);
+        goals = Arrays.copyOf(goals, capacity);
+        assists = Arrays.copyOf(assists, capacity);
+        yellowCards = Arrays.copyOf(yellowCards, capacity);
+        redCards = Arrays.copyOf(redCards, capacity);
+        shots = Arrays.copyOf(shots, capacity);
+        aerialsWon = Arrays.copyOf(aerialsWon, capacity);
+        passSuccess = Arrays.copyOf(passSuccess, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+    }
+
+    private void addRow(MatchStatsSummary summary, int row) {
+        summary.add(minutes[row], goals[row], assists[row], yellowCards[row], redCards[row], shots[row],
+                aerialsWon[row], passSuccess[row], ratings[row]);
+    }
+
+    /**
+     * @return Totals of every match, kept up to date as matches are appended.
+     */
+    public MatchStatsSummary totals() {
+        return totals;
+    }
+
+    /**
+     * Scans the columns for the matches against an opponent and in a position: the matching rows
+     * are selected first, then each column is summed over them.
+     *
+     * @param opponent Dictionary code of the opponent, or {@link #ANY}.
+     * @param position Dictionary code of the position, or {@link #ANY}.
+     * @return Totals of the matching matches.
+     */
+    public MatchStatsSummary summarize(int opponent, int position) {
+        // Rows of the matching matches, or null if every match matches
+        int[] rows = null;
+        int count = size;
+        if (opponent != ANY || position != ANY) {
+            rows = new int[size];
+            count = 0;
+            for (int row = 0; row < size; row++) {
+                if ((opponent == ANY || opponents[row] == opponent) && (position == ANY || positions[row] == position)) {
+                    rows[count++] = row;
+                }
+            }
+        }
+        int full = 0;
+        int passed = 0;
+        double passSuccessTotal = 0;
+        int rated = 0;
+        int highRated = 0;
+        double ratingTotal = 0;
+        double ratingSquares = 0;
+        double indexedRatings = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows == null ? i : rows[i];
+            if (minutes[row] >= MatchStatsSummary.FULL_MATCH_MINUTES) {
+                full++;
+            }
+            float pass = passSuccess[row];
+            if (pass > 0) {
+                passed++;
+                passSuccessTotal += pass;
+            }
+            double rating = ratings[row];
+            if (rating > 0) {
+                ratingTotal += rating;
+                ratingSquares += rating * rating;
+                indexedRatings += rated * rating;
+                rated++;
+                if (rating >= MatchStatsSummary.HIGH_RATING) {
+                    highRated++;
+                }
+            }
+        }
+        MatchStatsSummary summary = new MatchStatsSummary();
+        summary.addTotals(count, sum(minutes, rows, count), sum(goals, rows, count), sum(assists, rows, count),
+                sum(yellowCards, rows, count), sum(redCards, rows, count), sum(shots, rows, count),
+                sum(aerialsWon, rows, count), full, passed, passSuccessTotal, rated, highRated, ratingTotal,
+                ratingSquares, indexedRatings);
+        return summary;
+    }
+
+    private static long sum(int[] column, int[] rows, int count) {
+        long total = 0;
+        if (rows == null) {
+            for (int row = 0; row < count; row++) {
+                total += column[row];
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                total += column[rows[i]];
+            }
+        }
+        return total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Dictionary code of the opponent of the match at the given position, oldest first.
+     */
+    public int opponent(int match) {
+        return opponents[match];
+    }
+
+    /**
+     * @return Goals plus assists of the match at the given position.
+     */
+    public int goalInvolvements(int match) {
+        return goals[match] + assists[match];
+    }
+
+    /**
+     * @return Rating of the match at the given position, oldest first; 0 if it was not rated.
+     */
+    public double rating(int match) {
+        return ratings[match];
+    }
+
+    /**
+     * @return Bytes held by the columns and the seen keys, including the unused capacity.
+     */
+    public long columnBytes() {
+        return (long) minutes.length * ROW_BYTES;
+    }
+}
@@ -0,0 +1,200 @@
+package com.dapp.futbol_api.analytics;
+
+/**
+ * Totals of a set of matches of one player, from which the performance metrics are derived.
+ * <p>
+ * Matches are added oldest first. Rated matches keep Welford's mean and squared deviations of the
+ * ratings, and the sums of the least-squares line of the ratings over time. Not thread-safe.
+ */
+public final class MatchStatsSummary {
+
+    /** Minutes from which a match counts as played in full. */
+    public static final int FULL_MATCH_MINUTES = 90;
+    /** Rating from which a match counts as a high-rated one. */
+    public static final double HIGH_RATING = 7.0;
+
+    private int matches;
+    private long minutes;
+    private long goals;
+    private long assists;
+    private long yellowCards;
+    private long redCards;
+    private long shots;
+    private long aerialsWon;
+    private double passSuccessSum;
+    private int passedMatches;
+    private int fullMatches;
+    private int highRated;
+    private int rated;
+    private double ratingMean;
+    private double ratingM2;
+    private double trendSumX;
+    private double trendSumY;
+    private double trendSumXY;
+    private double trendSumXX;
+
+    /**
+     * Adds one match, which comes after the ones already added.
+     */
+    public void add(int minutesPlayed, int matchGoals, int matchAssists, int matchYellowCards, int matchRedCards,
+            int matchShots, int matchAerialsWon, double passSuccess, double rating) {
+        matches++;
+        minutes += minutesPlayed;
+        goals += matchGoals;
+        assists += matchAssists;
+        yellowCards += matchYellowCards;
+        redCards += matchRedCards;
+        shots += matchShots;
+        aerialsWon += matchAerialsWon;
+        if (minutesPlayed >= FULL_MATCH_MINUTES) {
+            fullMatches++;
+        }
+        if (rating >= HIGH_RATING) {
+            highRated++;
+        }
+        if (passSuccess > 0) {
+            passSuccessSum += passSuccess;
+            passedMatches++;
+        }
+        if (rating > 0) {
+            double x = rated;
+            rated++;
+            double delta = rating - ratingMean;
+            ratingMean += delta / rated;
+            ratingM2 += delta * (rating - ratingMean);
+            trendSumX += x;
+            trendSumY += rating;
+            trendSumXY += x * rating;
+            trendSumXX += x * x;
+        }
+    }
+
+    /**
+     * Adds the summed stats of several matches, which come after the ones already added.
+     *
+     * @param full         Matches played in full.
+     * @param passed       Matches with a pass success, and {@code passSuccessTotal} its sum.
+     * @param ratingCount  Rated matches, {@code highRatingCount} of them high-rated;
+     *                     {@code ratingTotal} and {@code ratingSquares} are the sum of their ratings
+     *                     and of their squares, and {@code indexedRatings} the sum of each rating
+     *                     times its position among them (0 for the oldest).
+     */
+    void addTotals(int matchCount, long minutesPlayed, long matchGoals, long matchAssists, long matchYellowCards,
+            long matchRedCards, long matchShots, long matchAerialsWon, int full, int passed, double passSuccessTotal,
+            int ratingCount, int highRatingCount, double ratingTotal, double ratingSquares, double indexedRatings) {
+        matches += matchCount;
+        minutes += minutesPlayed;
+        goals += matchGoals;
+        assists += matchAssists;
+        yellowCards += matchYellowCards;
+        redCards += matchRedCards;
+        shots += matchShots;
+        aerialsWon += matchAerialsWon;
+        fullMatches += full;
+        passedMatches += passed;
+        passSuccessSum += passSuccessTotal;
+        highRated += highRatingCount;
+        if (ratingCount == 0) {
+            return;
+        }
+        // Merge the mean and squared deviations of both sets (Chan et al.)
+        double mean = ratingTotal / ratingCount;
+        double m2 = Math.max(0, ratingSquares - ratingTotal * mean);
+        int total = rated + ratingCount;
+        double delta = mean - ratingMean;
+        ratingM2 += m2 + delta * delta * rated * ratingCount / total;
+        ratingMean += delta * ratingCount / total;
+        // The new ratings are at positions rated .. total - 1 of the line
+        double offset = rated;
+        double indexSum = (double) ratingCount * (ratingCount - 1) / 2;
+        double indexSquares = (double) (ratingCount - 1) * ratingCount * (2 * ratingCount - 1) / 6;
+        trendSumX += offset * ratingCount + indexSum;
+        trendSumXX += offset * offset * ratingCount + 2 * offset * indexSum + indexSquares;
+        trendSumY += ratingTotal;
+        trendSumXY += offset * ratingTotal + indexedRatings;
+        rated = total;
+    }
+
+    public int matches() {
+        return matches;
+    }
+
+    public long minutes() {
+        return minutes;
+    }
+
+    public long goals() {
+        return goals;
+    }
+
+    public long assists() {
+        return assists;
+    }
+
+    public long yellowCards() {
+        return yellowCards;
+    }
+
+    public long redCards() {
+        return redCards;
+    }
+
+    public long shots() {
+        return shots;
+    }
+
+    public long aerialsWon() {
+        return aerialsWon;
+    }
+
+    /**
+     * @return Average pass success of the matches that have one, or NaN.
+     */
+    public double averagePassSuccess() {
+        return passedMatches == 0 ? Double.NaN : passSuccessSum / passedMatches;
+    }
+
+    /**
+     * @return Matches with at least {@link #FULL_MATCH_MINUTES} minutes played.
+     */
+    public int fullMatches() {
+        return fullMatches;
+    }
+
+    /**
+     * @return Rated matches with a rating of at least {@link #HIGH_RATING}.
+     */
+    public int highRatedMatches() {
+        return highRated;
+    }
+
+    public int ratedMatches() {
+        return rated;
+    }
+
+    /**
+     * @return Average rating of the rated matches, or NaN.
+     */
+    public double averageRating() {
+        return rated == 0 ? Double.NaN : ratingMean;
+    }
+
+    /**
+     * @return Standard deviation of the ratings of the rated matches, or NaN.
+     */
+    public double ratingDeviation() {
+        return rated == 0 ? Double.NaN : Math.sqrt(ratingM2 / rated);
+    }
+
+    /**
+     * @return Rating change per match of the least-squares line through the rated matches, or NaN
+     *         with fewer than two of them.
+     */
+    public double ratingTrend() {
+        double denominator = rated * trendSumXX - trendSumX * trendSumX;
+        if (rated < 2 || denominator == 0) {
+            return Double.NaN;
+        }
+        return (rated * trendSumXY - trendSumX * trendSumY) / denominator;
+    }
+}
@@ -0,0 +1,88 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PerformanceMetricsDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes a player's performance metrics locally from the match stats of the player profile,
+ * instead of asking the scraper's {@code /api/analysis/{player}/performanceMetrics} endpoint.
+ * <p>
+ * The matches of each new profile that were not seen before are appended to the player's
+ * {@link MatchHistory}, so the metrics are updated with the new matches only. The probabilities
+ * treat goals and assists per match as Poisson rates. Key passes and recoveries are
+ * not in the match stats and are left empty.
+ */
+@Component
+public class PerformanceMetricsEngine {
+
+    private static final double MINUTES_PER_MATCH = 90.0;
+
+    private final boolean enabled;
+    private final MatchHistory history;
+
+    public PerformanceMetricsEngine(Environment environment, MatchHistory history) {
+        this.enabled = environment.getProperty("scraper.metrics.local.enabled", Boolean.class, true);
+        this.history = history;
+    }
+
+    /**
+     * @return True if performance metrics should be computed locally before asking the scraper.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the new matches of the player profile to the player's history and computes its metrics.
+     *
+     * @return The metrics, or null if the profile has no match stats, in which case only the
+     *         scraper can answer.
+     */
+    public PerformanceMetricsDTO compute(String playerName, PlayerDTO player) {
+        return history.update(playerName, player,
+                store -> toMetrics(player.getName() != null ? player.getName() : playerName, store.totals()));
+    }
+
+    private static PerformanceMetricsDTO toMetrics(String playerName, MatchStatsSummary stats) {
+        int matches = stats.matches();
+        if (matches == 0) {
+            return null;
+        }
+        double goalsPerMatch = (double) stats.goals() / matches;
+        double assistsPerMatch = (double) stats.assists() / matches;
+
+        PerformanceMetricsDTO metrics = new PerformanceMetricsDTO();
+        metrics.setPlayerName(playerName);
+        metrics.setGoalsPerMatch(round(goalsPerMatch));
+        metrics.setAssistsPerMatch(round(assistsPerMatch));
+        metrics.setGoalInvolvement(round(goalsPerMatch + assistsPerMatch));
+        metrics.setShotsPerMatch(round((double) stats.shots() / matches));
+        // Share of shots that ended in a goal, in percent
+        metrics.setShotAccuracy(stats.shots() == 0 ? null
+                : round(100.0 * stats.goals() / stats.shots()));
+        metrics.setPassAccuracy(round(stats.averagePassSuccess()));
+        metrics.setAerialDuelsWon(round((double) stats.aerialsWon() / matches));
+        metrics.setAverageRating(round(stats.averageRating()));
+        metrics.setRatingDeviation(round(stats.ratingDeviation()));
+        metrics.setMinutesPerMatch(round((double) stats.minutes() / matches));
+        // Goals and assists per 90 minutes played
+        metrics.setOffensiveImpact(stats.minutes() == 0 ? null
+                : round((stats.goals() + stats.assists()) * MINUTES_PER_MATCH / stats.minutes()));
+        metrics.setPerformanceTrend(round(stats.ratingTrend()));
+        metrics.setGoalProbability(round(1 - Math.exp(-goalsPerMatch)));
+        metrics.setAssistProbability(round(1 - Math.exp(-assistsPerMatch)));
+        return metrics;
+    }
+
+    /**
+     * @return The value rounded to two decimals, or null if it is undefined (NaN).
+     */
+    static Double round(double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PredictionScenarioDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictiveAnalysisDTO;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.dapp.futbol_api.analytics.PerformanceMetricsEngine.round;
+
+/**
+ * Predicts a player's next match locally from the player's match history, instead of asking the
+ * scraper's {@code /api/analysis/{player}/prediction} endpoint.
+ * <p>
+ * The player's goals and assists per match, from the running totals of the history, are scaled by
+ * four factors: the venue, how much players score against the opponent (the per-opponent
+ * {@link CoefficientTable}), how much the player scores in the position compared to all of the
+ * player's matches, and the rating trend. Goals and assists are Poisson rates; the chance of a high
+ * rating is the player's share of high-rated matches with its odds scaled by the same factors.
+ * Everything but the position factor is precomputed, so a prediction costs a few lookups and a
+ * scan of the player's matches.
+ */
+@Component
+public class PerformancePredictor {
+
+    /** Goal-rate multiplier of playing at home; its inverse applies away. */
+    private static final double HOME_ADVANTAGE = 1.1;
+    /** Trend factor change per rating point gained per match. */
+    private static final double TREND_WEIGHT = 2.0;
+    private static final double MIN_TREND_FACTOR = 0.8;
+    private static final double MAX_TREND_FACTOR = 1.2;
+    /** Predictive score of the average player: a 6.5 rating with every factor at 1.0. */
+    private static final double AVERAGE_SCORE = 65.0;
+    /** Predictive score points over or under the average from which a prediction is not average. */
+    private static final double NOTABLE_SCORE_GAP = 5.0;
+
+    /** Highest predictive score first, unrated players by goal probability. */
+    private static final Comparator<PredictionScenarioDTO> BEST_FIRST = Comparator
+            .comparing((PredictionScenarioDTO scenario) -> scenario.getPrediction().getPredictiveScore(),
+                    Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(scenario -> scenario.getPrediction().getGoalProbability(), Comparator.reverseOrder());
+
+    private final boolean enabled;
+    private final MatchHistory history;
+
+    public PerformancePredictor(Environment environment, MatchHistory history) {
+        this.enabled = environment.getProperty("scraper.prediction.local.enabled", Boolean.class, true);
+        this.history = history;
+    }
+
+    /**
+     * @return True if predictions should be computed locally before asking the scraper.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the new matches of the player profile to the player's history and predicts the next
+     * match against the opponent, at home or away, in the position.
+     *
+     * @return The prediction, or null if the profile has no match stats, in which case only the
+     *         scraper can answer.
+     */
+    public PredictiveAnalysisDTO predict(String playerName, PlayerDTO player, String opponent, boolean isHome,
+            String position) {
+        String name = player != null && player.getName() != null ? player.getName() : playerName;
+        return history.update(playerName, player,
+                store -> predictAll(name, store, List.of(opponent), List.of(isHome), List.of(position))[0]);
+    }
+
+    /**
+     * Adds the new matches of the player profile to the player's history and predicts every
+     * scenario: each opponent against each venue and position. The player's rates and each
+     * opponent and position factor are computed once for all the scenarios.
+     *
+     * @return The predictive scores as a matrix, one row per opponent and one column per venue and
+     *         position, and the scenarios ranked by predictive score and then goal probability; or
+     *         null if the profile has no match stats.
+     */
+    public PredictionSweepDTO sweep(String playerName, PlayerDTO player, List<String> opponents,
+            List<Boolean> venues, List<String> positions) {
+        String name = player != null && player.getName() != null ? player.getName() : playerName;
+        PredictiveAnalysisDTO[] predictions = history.update(playerName, player,
+                store -> predictAll(name, store, opponents, venues, positions));
+        if (predictions == null) {
+            return null;
+        }
+
+        List<PredictionScenarioDTO> columns = new ArrayList<>(venues.size() * positions.size());
+        for (Boolean isHome : venues) {
+            for (String position : positions) {
+                columns.add(PredictionScenarioDTO.builder().isHome(isHome).position(position).build());
+            }
+        }
+        List<List<Double>> scores = new ArrayList<>(opponents.size());
+        List<PredictionScenarioDTO> ranking = new ArrayList<>(predictions.length);
+        for (int row = 0; row < opponents.size(); row++) {
+            List<Double> rowScores = new ArrayList<>(columns.size());
+            for (int column = 0; column < columns.size(); column++) {
+                PredictiveAnalysisDTO prediction = predictions[row * columns.size() + column];
+                rowScores.add(prediction.getPredictiveScore());
+                ranking.add(PredictionScenarioDTO.builder()
+                        .opponent(opponents.get(row))
+                        .isHome(columns.get(column).getIsHome())
+                        .position(columns.get(column).getPosition())
+                        .prediction(prediction)
+                        .build());
+            }
+            scores.add(rowScores);
+        }
+        ranking.sort(BEST_FIRST);
+        for (int i = 0; i < ranking.size(); i++) {
+            ranking.get(i).setRank(i + 1);
+        }
+        return PredictionSweepDTO.builder()
+                .playerName(name)
+                .opponents(opponents)
+                .columns(columns)
+                .scores(scores)
+                .ranking(ranking)
+                .build();
+    }
+
+    /**
+     * @return The prediction of every scenario, by opponent, then venue, then position.
+     */
+    private PredictiveAnalysisDTO[] predictAll(String playerName, MatchStatsStore store, List<String> opponents,
+            List<Boolean> venues, List<String> positions) {
+        MatchStatsSummary stats = store.totals();
+        int matches = stats.matches();
+        StatsDictionary dictionary = history.getDictionary();
+
+        double goalRate = (double) stats.goals() / matches;
+        double assistRate = (double) stats.assists() / matches;
+        // Laplace smoothing, so one rated match does not give a certainty
+        double highRatingShare = stats.ratedMatches() == 0 ? Double.NaN
+                : (stats.highRatedMatches() + 1.0) / (stats.ratedMatches() + 2.0);
+        Double fullMatchProbability = round((stats.fullMatches() + 1.0) / (matches + 2.0));
+        double averageRating = stats.averageRating();
+        double trend = stats.ratingTrend();
+        double trendFactor = Double.isNaN(trend) ? 1.0
+                : Math.clamp(1 + TREND_WEIGHT * trend, MIN_TREND_FACTOR, MAX_TREND_FACTOR);
+        double[] opponentFactors = new double[opponents.size()];
+        for (int i = 0; i < opponentFactors.length; i++) {
+            opponentFactors[i] = history.getOpponents().factor(dictionary.find(opponents.get(i)));
+        }
+        double[] positionFactors = new double[positions.size()];
+        for (int i = 0; i < positionFactors.length; i++) {
+            positionFactors[i] = positionFactor(store, dictionary.find(positions.get(i)));
+        }
+        LocalDate today = LocalDate.now();
+
+        PredictiveAnalysisDTO[] predictions = new PredictiveAnalysisDTO[opponents.size() * venues.size()
+                * positions.size()];
+        int next = 0;
+        for (double opponentFactor : opponentFactors) {
+            for (Boolean isHome : venues) {
+                double homeFactor = Boolean.TRUE.equals(isHome) ? HOME_ADVANTAGE : 1 / HOME_ADVANTAGE;
+                for (double positionFactor : positionFactors) {
+                    double factor = homeFactor * opponentFactor * positionFactor * trendFactor;
+
+                    PredictiveAnalysisDTO prediction = new PredictiveAnalysisDTO();
+                    prediction.setPlayerName(playerName);
+                    prediction.setAnalysisDate(today);
+                    prediction.setGoalProbability(round(1 - Math.exp(-factor * goalRate)));
+                    prediction.setAssistProbability(round(1 - Math.exp(-factor * assistRate)));
+                    prediction.setHighRatingProbability(round(highRatingShare * factor
+                            / (1 - highRatingShare + highRatingShare * factor)));
+                    prediction.setFullMatchProbability(fullMatchProbability);
+                    prediction.setHomeAdvantageFactor(round(homeFactor));
+                    prediction.setOpponentFactor(round(opponentFactor));
+                    prediction.setPositionFactor(round(positionFactor));
+                    prediction.setTrendFactor(round(trendFactor));
+                    if (!Double.isNaN(averageRating)) {
+                        double score = Math.clamp(averageRating * 10 * factor, 0, 100);
+                        prediction.setPredictiveScore(round(score));
+                        prediction.setPerformancePrediction(score >= AVERAGE_SCORE + NOTABLE_SCORE_GAP
+                                ? "ABOVE_AVERAGE"
+                                : score <= AVERAGE_SCORE - NOTABLE_SCORE_GAP ? "BELOW_AVERAGE" : "AVERAGE");
+                    }
+                    predictions[next++] = prediction;
+                }
+            }
+        }
+        return predictions;
+    }
+
+    /**
+     * @return The player's goal involvements per match in the position over those of all the
+     *         player's matches; 1.0 for a position the player never played.
+     */
+    private static double positionFactor(MatchStatsStore store, int position) {
+        if (position < 0) {
+            return 1.0;
+        }
+        MatchStatsSummary inPosition = store.summarize(MatchStatsStore.ANY, position);
+        MatchStatsSummary all = store.totals();
+        return CoefficientTable.factor(inPosition.goals() + inPosition.assists(), inPosition.matches(),
+                (double) (all.goals() + all.assists()) / all.matches());
+    }
+}
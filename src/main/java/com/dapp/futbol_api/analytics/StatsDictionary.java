@@ -0,0 +1,50 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.utils.InputNormalizer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding of the text columns of a {@link MatchStatsStore} (opponents and positions):
+ * each distinct value is stored once and the columns hold its int code. Values are compared as
+ * normalized keys, so "Real Madrid" and "real  madrid" share a code. Thread-safe; codes are never
+ * reassigned.
+ */
+public final class StatsDictionary {
+
+    /** Code returned by {@link #find(String)} for a value never encoded: it matches no row. */
+    public static final int MISSING = -2;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    /**
+     * @return The code of the value, assigning the next free one if it is new.
+     */
+    public int encode(String value) {
+        String key = keyOf(value);
+        Integer code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        // One new value at a time, so the size is the next free code
+        synchronized (this) {
+            return codes.computeIfAbsent(key, newKey -> codes.size());
+        }
+    }
+
+    /**
+     * @return The code of the value, or {@link #MISSING} if it was never encoded.
+     */
+    public int find(String value) {
+        return codes.getOrDefault(keyOf(value), MISSING);
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private static String keyOf(String value) {
+        return value == null ? "" : InputNormalizer.normalizeKey(value);
+    }
+}
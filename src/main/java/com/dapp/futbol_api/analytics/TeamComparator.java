@@ -0,0 +1,170 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import com.dapp.futbol_api.utils.ScrapedStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds team comparisons locally from the squads of both teams, with the same shape as the
+ * scraper's {@code /api/scrape/teams/compare} response.
+ * <p>
+ * A team's overall rating is the average player rating weighted by minutes played. The win and
+ * draw percentages come from the rating difference: the bigger the gap, the more likely the
+ * favored team wins and the less likely a draw is.
+ */
+@Component
+public class TeamComparator {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamComparator.class);
+
+    /** Rating gap under which the teams are considered even. */
+    private static final double EVEN_GAP = 0.05;
+    /** Rating gap from which the advantage is considered clear. */
+    private static final double CLEAR_GAP = 0.3;
+    /** Steepness of the logistic curve that turns the rating gap into a win share. */
+    private static final double WIN_SHARE_STEEPNESS = 4.0;
+    /** Chance of a draw, in percent, between two even teams. */
+    private static final double EVEN_DRAW_PERCENT = 26.0;
+
+    private final boolean enabled;
+
+    public TeamComparator(Environment environment) {
+        this.enabled = environment.getProperty("scraper.compare.local.enabled", Boolean.class, true);
+    }
+
+    /**
+     * @return True if comparisons should be built locally before asking the scraper.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compares two teams from their team info as returned by the scraper.
+     *
+     * @return The comparison, or null if a squad is missing or has no rated players, in which
+     *         case only the scraper can answer.
+     */
+    public Map<String, Object> compare(String team1, TeamDTO teamInfo1, String team2, TeamDTO teamInfo2) {
+        TeamStats stats1 = TeamStats.of(teamInfo1);
+        TeamStats stats2 = TeamStats.of(teamInfo2);
+        if (stats1 == null || stats2 == null) {
+            log.debug("Cannot compare '{}' and '{}' locally, a squad has no rated players", team1, team2);
+            return null;
+        }
+
+        String name1 = stats1.name() != null ? stats1.name() : team1;
+        String name2 = stats2.name() != null ? stats2.name() : team2;
+        double gap = stats1.rating() - stats2.rating();
+        double absGap = Math.abs(gap);
+
+        long draws = Math.round(EVEN_DRAW_PERCENT * Math.max(0.0, 1.0 - absGap));
+        double team1Share = 1.0 / (1.0 + Math.exp(-WIN_SHARE_STEEPNESS * gap));
+        long team1Wins = Math.round((100 - draws) * team1Share);
+        long team2Wins = 100 - draws - team1Wins;
+        String favored = absGap < EVEN_GAP ? "NONE" : gap > 0 ? name1 : name2;
+
+        Map<String, Object> prediction = new LinkedHashMap<>();
+        prediction.put("team1Wins", team1Wins);
+        prediction.put("team2Wins", team2Wins);
+        prediction.put("draws", draws);
+        prediction.put("favoredTeam", favored);
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("team1OverallRating", round(stats1.rating()));
+        comparison.put("team2OverallRating", round(stats2.rating()));
+        comparison.put("team1Goals", stats1.goals());
+        comparison.put("team2Goals", stats2.goals());
+        comparison.put("team1Assists", stats1.assists());
+        comparison.put("team2Assists", stats2.assists());
+        comparison.put("team1SquadSize", stats1.squadSize());
+        comparison.put("team2SquadSize", stats2.squadSize());
+        comparison.put("team1AverageAge", round(stats1.averageAge()));
+        comparison.put("team2AverageAge", round(stats2.averageAge()));
+        comparison.put("prediction", prediction);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("teamName1", name1);
+        result.put("teamName2", name2);
+        result.put("comparison", comparison);
+        result.put("suggestedWinner", suggestedWinner(favored, absGap, Math.max(stats1.rating(), stats2.rating())));
+        result.put("confidenceLevel", round(Math.min(0.95, 0.5 + absGap)));
+        result.put("source", "local");
+        return result;
+    }
+
+    private static String suggestedWinner(String favored, double absGap, double bestRating) {
+        if (absGap < EVEN_GAP) {
+            return "EVEN";
+        }
+        String advantage = absGap < CLEAR_GAP ? "SLIGHT_ADVANTAGE_" : "CLEAR_ADVANTAGE_";
+        return advantage + favored + " (" + round(bestRating) + " rating)";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Parses appearances in the "starts(substitute appearances)" format, e.g. "25(3)" is 28.
+     */
+    static double parseApps(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int open = value.indexOf('(');
+        if (open < 0) {
+            return ScrapedStats.parse(value);
+        }
+        return ScrapedStats.parse(value.substring(0, open)) + ScrapedStats.parse(value.substring(open + 1));
+    }
+
+    /**
+     * Totals of a squad, computed in one pass over its players.
+     */
+    private record TeamStats(String name, double rating, long goals, long assists, int squadSize,
+            double averageAge) {
+
+        static TeamStats of(TeamDTO team) {
+            if (team == null || team.getSquad() == null || team.getSquad().isEmpty()) {
+                return null;
+            }
+            List<TeamPlayerDTO> squad = team.getSquad();
+            double weightedRating = 0;
+            double ratingWeight = 0;
+            long goals = 0;
+            long assists = 0;
+            double ageSum = 0;
+            int aged = 0;
+            for (TeamPlayerDTO player : squad) {
+                double rating = ScrapedStats.orZero(player.getRating());
+                if (rating > 0) {
+                    int minutes = ScrapedStats.orZero(player.getMinsPlayed());
+                    double weight = minutes > 0 ? minutes : Math.max(1, parseApps(player.getApps()));
+                    weightedRating += rating * weight;
+                    ratingWeight += weight;
+                }
+                goals += ScrapedStats.orZero(player.getGoals());
+                assists += ScrapedStats.orZero(player.getAssists());
+                int age = ScrapedStats.orZero(player.getAge());
+                if (age > 0) {
+                    ageSum += age;
+                    aged++;
+                }
+            }
+            if (ratingWeight == 0) {
+                return null;
+            }
+            return new TeamStats(team.getName(), weightedRating / ratingWeight, goals, assists, squad.size(),
+                    aged == 0 ? 0 : ageSum / aged);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The best {@code capacity} players of one metric, sorted, updated one squad at a time.
+ * <p>
+ * Replacing a squad removes the team's old players and merges its new ones into the sorted array,
+ * without looking at the other teams. Only when the team's old players leave room that a player
+ * outside the index could fill are all the squads scanned again, through a bounded heap. Readers
+ * get an immutable snapshot without locking, so a page costs a copy of its own entries whatever the
+ * number of players. Thread-safe.
+ */
+public final class TopKIndex {
+
+    /** Highest value first, then by player name and team, so the order is stable. */
+    static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::value).reversed()
+            .thenComparing(ranked -> ranked.player().getName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Ranked::teamKey);
+
+    /**
+     * A player of a team with the player's value of the metric.
+     */
+    public record Ranked(String teamKey, String team, TeamPlayerDTO player, double value) {
+    }
+
+    /**
+     * Entries of a page, with the number of entries in the index and of players with a value.
+     */
+    public record Page(List<Ranked> entries, int ranked, int qualified) {
+    }
+
+    private record Snapshot(Ranked[] ranked, int qualified) {
+    }
+
+    private final int capacity;
+    private final Map<String, Integer> qualifiedByTeam = new HashMap<>();
+    private int qualified;
+    private volatile Snapshot snapshot = new Snapshot(new Ranked[0], 0);
+
+    public TopKIndex(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Replaces the players of a team.
+     *
+     * @param squad    The team's players with a value.
+     * @param everyone The players with a value of every team, the new squad included, to refill the
+     *                 index from when the team's old players leave room.
+     */
+    public synchronized void replace(String teamKey, List<Ranked> squad, Supplier<Stream<Ranked>> everyone) {
+        Ranked[] current = snapshot.ranked();
+        Integer previous = squad.isEmpty() ? qualifiedByTeam.remove(teamKey)
+                : qualifiedByTeam.put(teamKey, squad.size());
+        qualified += squad.size() - (previous == null ? 0 : previous);
+
+        Ranked[] added = squad.toArray(Ranked[]::new);
+        Arrays.sort(added, BEST_FIRST);
+        Ranked[] merged = new Ranked[Math.min(capacity, current.length + added.length)];
+        int size = 0;
+        int next = 0;
+        for (Ranked ranked : current) {
+            if (ranked.teamKey().equals(teamKey)) {
+                continue;
+            }
+            while (next < added.length && size < merged.length && BEST_FIRST.compare(added[next], ranked) < 0) {
+                merged[size++] = added[next++];
+            }
+            if (size == merged.length) {
+                break;
+            }
+            merged[size++] = ranked;
+        }
+        while (next < added.length && size < merged.length) {
+            merged[size++] = added[next++];
+        }
+
+        if (size < Math.min(capacity, qualified)) {
+            merged = top(everyone.get());
+        } else if (size < merged.length) {
+            merged = Arrays.copyOf(merged, size);
+        }
+        snapshot = new Snapshot(merged, qualified);
+    }
+
+    /**
+     * @return Up to {@code count} entries from the {@code first} one (0-based), best first.
+     */
+    public Page page(int first, int count) {
+        Snapshot current = snapshot;
+        Ranked[] ranked = current.ranked();
+        int from = Math.min(first, ranked.length);
+        int to = (int) Math.min((long) from + count, ranked.length);
+        return new Page(List.of(Arrays.copyOfRange(ranked, from, to)), ranked.length, current.qualified());
+    }
+
+    /**
+     * @return The best {@code capacity} players, sorted.
+     */
+    private Ranked[] top(Stream<Ranked> players) {
+        // Worst of the best at the head, so it is the one to evict
+        PriorityQueue<Ranked> best = new PriorityQueue<>(capacity, BEST_FIRST.reversed());
+        players.forEach(ranked -> {
+            if (best.size() < capacity) {
+                best.add(ranked);
+            } else if (BEST_FIRST.compare(ranked, best.peek()) < 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        });
+        Ranked[] top = best.toArray(Ranked[]::new);
+        Arrays.sort(top, BEST_FIRST);
+        return top;
+    }
+}
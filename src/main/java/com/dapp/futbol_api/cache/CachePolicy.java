@@ -0,0 +1,52 @@
+package com.dapp.futbol_api.cache;
+
+/**
+ * Freshness policies for the responses obtained from the scraper service.
+ * Each policy is a separate cache region with its own TTL and maximum size,
+ * configurable through {@code scraper.cache.<region>.ttl-ms} and
+ * {@code scraper.cache.<region>.max-size}.
+ * <p>
+ * Policies with a stale TTL support the stale-while-revalidate mode: past {@code ttl-ms}
+ * the response is still served while it is refreshed in the background, until it is
+ * older than {@code scraper.cache.<region>.stale-ttl-ms}.
+ */
+public enum CachePolicy {
+
+    TEAM_SQUAD("team", 1_800_000L, 500, 21_600_000L),
+    FUTURE_MATCHES("future-matches", 600_000L, 500, 0L),
+    PLAYER_PROFILE("player", 1_800_000L, 2_000, 21_600_000L),
+    PERFORMANCE_METRICS("performance-metrics", 300_000L, 2_000, 0L),
+    ANALYSIS("analysis", 300_000L, 2_000, 0L);
+
+    private final String region;
+    private final long defaultTtlMs;
+    private final long defaultMaxSize;
+    private final long defaultStaleTtlMs;
+
+    CachePolicy(String region, long defaultTtlMs, long defaultMaxSize, long defaultStaleTtlMs) {
+        this.region = region;
+        this.defaultTtlMs = defaultTtlMs;
+        this.defaultMaxSize = defaultMaxSize;
+        this.defaultStaleTtlMs = defaultStaleTtlMs;
+    }
+
+    public boolean supportsStaleWhileRevalidate() {
+        return defaultStaleTtlMs > 0;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getDefaultTtlMs() {
+        return defaultTtlMs;
+    }
+
+    public long getDefaultMaxSize() {
+        return defaultMaxSize;
+    }
+
+    public long getDefaultStaleTtlMs() {
+        return defaultStaleTtlMs;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dapp.futbol_api.cache;
+
+import java.time.Duration;
+
+/**
+ * A scraper response together with how old it is and whether it is past its freshness TTL.
+ *
+ * @param value The response.
+ * @param age   Time elapsed since the response was obtained from the scraper service.
+ * @param stale True if the response is being served while a fresh one is fetched.
+ */
+public record CachedResponse<T>(T value, Duration age, boolean stale) {
+
+    public static <T> CachedResponse<T> fresh(T value) {
+        return new CachedResponse<>(value, Duration.ZERO, false);
+    }
+}
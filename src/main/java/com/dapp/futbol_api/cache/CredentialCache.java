@@ -0,0 +1,99 @@
+package com.dapp.futbol_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Credentials recently accepted by the scraper's user service, so a user who logs in again does not
+ * need an upstream round trip.
+ * <p>
+ * Only a hash of the password is kept, made with the {@link PasswordEncoder} bean. Entries are bounded
+ * by {@code api.security.credentials.cache.max-size} and dropped {@code max-age-ms} after the scraper
+ * accepted them, after which the scraper is asked again. A password that does not match the hash is
+ * always checked upstream, and a rejection upstream drops the entry.
+ * <p>
+ * The scraper does not tell this service when a password changes, so an old password keeps logging
+ * in for up to {@code max-age-ms} after the change (1 minute by default). Logging out or registering
+ * drops the user's entry at once.
+ */
+@Component
+public class CredentialCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CredentialCache.class);
+    private static final String PROPERTY_PREFIX = "api.security.credentials.cache.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final Cache<String, String> passwordHashes;
+
+    public CredentialCache(Environment environment, PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+        boolean enabled = environment.getProperty(PROPERTY_PREFIX + "enabled", Boolean.class, true);
+        long maxSize = enabled ? environment.getProperty(PROPERTY_PREFIX + "max-size", Long.class, 10_000L) : 0;
+        long maxAgeMs = environment.getProperty(PROPERTY_PREFIX + "max-age-ms", Long.class, 60_000L);
+        log.info("Credential cache: enabled={}, maxSize={}, maxAge={}ms", enabled, maxSize, maxAgeMs);
+        this.passwordHashes = maxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofMillis(maxAgeMs))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * @return True if the scraper accepted this email and password less than {@code max-age-ms} ago.
+     */
+    public boolean matches(String email, String password) {
+        if (passwordHashes == null || email == null || password == null) {
+            return false;
+        }
+        String hash = passwordHashes.getIfPresent(email);
+        try {
+            return hash != null && passwordEncoder.matches(password, hash);
+        } catch (IllegalArgumentException e) {
+            // e.g. a password longer than BCrypt accepts
+            return false;
+        }
+    }
+
+    /**
+     * Keeps the hash of credentials the scraper has just accepted.
+     */
+    public void remember(String email, String password) {
+        if (passwordHashes == null || email == null || password == null) {
+            return;
+        }
+        try {
+            passwordHashes.put(email, passwordEncoder.encode(password));
+        } catch (IllegalArgumentException e) {
+            log.debug("Credentials of {} cannot be hashed and are not cached: {}", email, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the cached credentials of a user, e.g. when the scraper rejects them or the user logs out.
+     */
+    public void forget(String email) {
+        if (passwordHashes != null && email != null) {
+            passwordHashes.invalidate(email);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (passwordHashes != null) {
+            CaffeineCacheMetrics.monitor(registry, passwordHashes, "credentials");
+        }
+    }
+}
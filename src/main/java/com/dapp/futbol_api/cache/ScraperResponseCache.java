@@ -0,0 +1,267 @@
+package com.dapp.futbol_api.cache;
+
+import com.dapp.futbol_api.client.ScraperThreads;
+import com.dapp.futbol_api.utils.InputNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache for the responses of the scraper service.
+ * Every {@link CachePolicy} gets its own region with size-based eviction and a TTL,
+ * and the hit/miss/eviction counters are exported through Micrometer.
+ * <p>
+ * When {@code scraper.cache.stale-while-revalidate.enabled} is set, the regions that support it
+ * answer at once with the last good response and refresh it in the background once it is older
+ * than its TTL. A failed refresh keeps the previous response until it reaches its stale TTL.
+ */
+@Component
+public class ScraperResponseCache implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ScraperResponseCache.class);
+    private static final String PROPERTY_PREFIX = "scraper.cache.";
+    private static final String KEY_SEPARATOR = "|";
+
+    private final boolean enabled;
+    private final boolean staleWhileRevalidate;
+    private final Map<CachePolicy, Cache<String, Entry>> regions = new EnumMap<>(CachePolicy.class);
+    private final Map<CachePolicy, Long> ttls = new EnumMap<>(CachePolicy.class);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder refreshSuccesses = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public ScraperResponseCache(Environment environment) {
+        this.enabled = environment.getProperty(PROPERTY_PREFIX + "enabled", Boolean.class, true);
+        this.staleWhileRevalidate = environment.getProperty(
+                PROPERTY_PREFIX + "stale-while-revalidate.enabled", Boolean.class, false);
+
+        for (CachePolicy policy : CachePolicy.values()) {
+            String prefix = PROPERTY_PREFIX + policy.getRegion();
+            long ttlMs = environment.getProperty(prefix + ".ttl-ms", Long.class, policy.getDefaultTtlMs());
+            long maxSize = environment.getProperty(prefix + ".max-size", Long.class, policy.getDefaultMaxSize());
+            long expireMs = ttlMs;
+            if (isStaleWhileRevalidate(policy)) {
+                long staleTtlMs = environment.getProperty(prefix + ".stale-ttl-ms", Long.class,
+                        policy.getDefaultStaleTtlMs());
+                expireMs = Math.max(ttlMs, staleTtlMs);
+            }
+            log.info("Scraper cache region '{}': ttl={}ms, expireAfter={}ms, maxSize={}",
+                    policy.getRegion(), ttlMs, expireMs, maxSize);
+
+            ttls.put(policy, ttlMs);
+            regions.put(policy, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofMillis(expireMs))
+                    .recordStats()
+                    .build());
+        }
+
+        this.refreshExecutor = ScraperThreads.newExecutor("scraper-cache-refresh-",
+                environment.getProperty(ScraperThreads.VIRTUAL_THREADS_PROPERTY, Boolean.class, false));
+    }
+
+    /**
+     * Returns the cached response for the key, calling the loader on a miss.
+     * Exceptions thrown by the loader are propagated and null responses are not cached.
+     */
+    public <T> T get(CachePolicy policy, String key, Supplier<T> loader) {
+        return getWithFreshness(policy, key, loader).value();
+    }
+
+    /**
+     * Same as {@link #get(CachePolicy, String, Supplier)}, also telling how old the response is.
+     * In stale-while-revalidate mode a response past its TTL is returned as stale and a background
+     * refresh is started.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedResponse<T> getWithFreshness(CachePolicy policy, String key, Supplier<T> loader) {
+        if (!enabled) {
+            return CachedResponse.fresh(loader.get());
+        }
+
+        Cache<String, Entry> region = regions.get(policy);
+        Entry cached = region.getIfPresent(key);
+        if (cached != null) {
+            log.debug("Cache hit on '{}' for key '{}'", policy.getRegion(), key);
+            long ageMs = cached.ageMs();
+            boolean stale = isStaleWhileRevalidate(policy) && ageMs >= ttls.get(policy);
+            if (stale) {
+                staleServed.increment();
+                refreshInBackground(policy, key, () -> CompletableFuture.completedFuture(loader.get()));
+            }
+            return new CachedResponse<>((T) cached.value(), Duration.ofMillis(ageMs), stale);
+        }
+
+        T response = loader.get();
+        if (response != null) {
+            region.put(key, new Entry(response, System.currentTimeMillis()));
+        }
+        return CachedResponse.fresh(response);
+    }
+
+    /**
+     * Non-blocking version of {@link #get(CachePolicy, String, Supplier)}.
+     */
+    public <T> CompletableFuture<T> getAsync(CachePolicy policy, String key,
+            Supplier<? extends CompletableFuture<T>> loader) {
+        return getWithFreshnessAsync(policy, key, loader).thenApply(CachedResponse::value);
+    }
+
+    /**
+     * Non-blocking version of {@link #getWithFreshness(CachePolicy, String, Supplier)}: a hit
+     * completes at once, a miss completes when the loader does. Failures of the loader are
+     * propagated through the returned future.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<CachedResponse<T>> getWithFreshnessAsync(CachePolicy policy, String key,
+            Supplier<? extends CompletableFuture<T>> loader) {
+        if (!enabled) {
+            return loader.get().thenApply(CachedResponse::fresh);
+        }
+
+        Cache<String, Entry> region = regions.get(policy);
+        Entry cached = region.getIfPresent(key);
+        if (cached != null) {
+            log.debug("Cache hit on '{}' for key '{}'", policy.getRegion(), key);
+            long ageMs = cached.ageMs();
+            boolean stale = isStaleWhileRevalidate(policy) && ageMs >= ttls.get(policy);
+            if (stale) {
+                staleServed.increment();
+                refreshInBackground(policy, key, loader);
+            }
+            return CompletableFuture.completedFuture(
+                    new CachedResponse<>((T) cached.value(), Duration.ofMillis(ageMs), stale));
+        }
+
+        return loader.get().thenApply(response -> {
+            if (response != null) {
+                region.put(key, new Entry(response, System.currentTimeMillis()));
+            }
+            return CachedResponse.fresh(response);
+        });
+    }
+
+    /**
+     * Starts the loader on the refresh executor, so a blocking loader never delays the caller,
+     * and stores its response when it completes.
+     */
+    private <T> void refreshInBackground(CachePolicy policy, String key,
+            Supplier<? extends CompletableFuture<T>> loader) {
+        String refreshKey = policy.getRegion() + KEY_SEPARATOR + key;
+        if (!refreshing.add(refreshKey)) {
+            return;
+        }
+        CompletableFuture<T> refresh;
+        try {
+            refresh = CompletableFuture.<CompletableFuture<T>>supplyAsync(loader::get, refreshExecutor)
+                    .thenCompose(started -> started);
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(refreshKey);
+            return;
+        }
+        refresh.whenComplete((response, error) -> {
+            try {
+                if (error == null) {
+                    if (response != null) {
+                        regions.get(policy).put(key, new Entry(response, System.currentTimeMillis()));
+                    }
+                    refreshSuccesses.increment();
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    refreshFailures.increment();
+                    log.warn("Background refresh of '{}' in '{}' failed, serving stale data: {}",
+                            key, policy.getRegion(), cause.getMessage());
+                }
+            } finally {
+                refreshing.remove(refreshKey);
+            }
+        });
+    }
+
+    private boolean isStaleWhileRevalidate(CachePolicy policy) {
+        return staleWhileRevalidate && policy.supportsStaleWhileRevalidate();
+    }
+
+    /**
+     * @return True if a response for the key is cached, fresh or stale, so a lookup would not call the scraper.
+     */
+    public boolean contains(CachePolicy policy, String key) {
+        return enabled && regions.get(policy).getIfPresent(key) != null;
+    }
+
+    public void invalidate(CachePolicy policy, String key) {
+        regions.get(policy).invalidate(key);
+    }
+
+    public void clear() {
+        regions.values().forEach(Cache::invalidateAll);
+    }
+
+    /**
+     * Builds a cache key that ignores case and redundant whitespace, so that
+     * "Real Madrid", " real  madrid" and "REAL MADRID" share the same entry.
+     */
+    public static String normalizeKey(String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                key.append(KEY_SEPARATOR);
+            }
+            if (parts[i] != null) {
+                key.append(InputNormalizer.normalizeKey(parts[i]));
+            }
+        }
+        return key.toString();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        regions.forEach((policy, region) ->
+                CaffeineCacheMetrics.monitor(registry, region, "scraper." + policy.getRegion()));
+        FunctionCounter.builder("scraper.cache.stale.served", staleServed, LongAdder::sum)
+                .description("Responses served past their TTL while being revalidated")
+                .register(registry);
+        FunctionCounter.builder("scraper.cache.refresh", refreshSuccesses, LongAdder::sum)
+                .tag("result", "success")
+                .register(registry);
+        FunctionCounter.builder("scraper.cache.refresh", refreshFailures, LongAdder::sum)
+                .tag("result", "failure")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private record Entry(Object value, long fetchedAtMillis) {
+
+        long ageMs() {
+            return Math.max(0, System.currentTimeMillis() - fetchedAtMillis);
+        }
+    }
+}
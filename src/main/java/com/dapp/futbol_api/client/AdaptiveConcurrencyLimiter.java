@@ -0,0 +1,153 @@
+package com.dapp.futbol_api.client;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for the calls to the scraper service that follows its measured latency
+ * (gradient algorithm).
+ * <p>
+ * Every completed call compares its latency with the long-term average: while they are close the
+ * limit grows by a small queue allowance, and when calls get slower than the average the limit is
+ * scaled down by the ratio, at most by half per sample. Calls that time out cut it by 10%. The
+ * limit moves smoothly between {@code minLimit} and {@code maxLimit}.
+ * <p>
+ * A call is admitted while the calls in flight are below its {@link CallPriority} share of the
+ * limit, so when the scraper slows down low-priority calls are rejected first and critical ones
+ * never.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int longWindow;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<CallPriority, LongAdder> rejections = new EnumMap<>(CallPriority.class);
+    private volatile double limit;
+    // Exponential moving average of the latency, in nanoseconds; 0 until the first sample
+    private double longRtt;
+    private int samples;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, int longWindow,
+            LongSupplier clock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.clock = clock;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        for (CallPriority priority : CallPriority.values()) {
+            rejections.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * @return A permit to release when the call completes, or null if the call is rejected.
+     */
+    Permit tryAcquire(CallPriority priority) {
+        int allowed = (int) Math.max(1, Math.min(Integer.MAX_VALUE, limit * priority.getLimitShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejections.get(priority).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(this, clock.getAsLong());
+            }
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRejections(CallPriority priority) {
+        return rejections.get(priority).sum();
+    }
+
+    private void release(long startNanos, Outcome outcome) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        long rtt = Math.max(1, clock.getAsLong() - startNanos);
+        update(rtt, outcome == Outcome.DROPPED, inFlightBefore);
+    }
+
+    private synchronized void update(long rtt, boolean dropped, int inFlightBefore) {
+        samples++;
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            double weight = 2.0 / (Math.min(samples, longWindow) + 1);
+            longRtt = longRtt * (1 - weight) + rtt * weight;
+        }
+        // After a slow period the average lags far behind the recovered latency: let it catch up
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        double target;
+        if (dropped) {
+            target = current * DROP_BACKOFF;
+        } else if (inFlightBefore < current / 2) {
+            // The limit was not what held the calls back, so the sample says nothing about it
+            return;
+        } else {
+            double gradient = Math.clamp(RTT_TOLERANCE * longRtt / rtt, MIN_GRADIENT, 1.0);
+            target = current * gradient + Math.sqrt(current);
+        }
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    /**
+     * How a call that held a permit ended.
+     */
+    enum Outcome {
+        /** The scraper answered, successfully or not: the latency is a valid sample. */
+        COMPLETED,
+        /** The call timed out or the connection failed: the scraper is overloaded. */
+        DROPPED,
+        /** The call never reached the scraper (e.g. rejected by the circuit breaker). */
+        IGNORED
+    }
+
+    /**
+     * A call admitted by the limiter. Only its first release counts, so whoever sees the call end
+     * first (the call itself, or a caller that gave up on it) can release it.
+     */
+    static final class Permit {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(startNanos, outcome);
+            }
+        }
+    }
+}
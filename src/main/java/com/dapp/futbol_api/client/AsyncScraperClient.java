@@ -0,0 +1,176 @@
+package com.dapp.futbol_api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Non-blocking client for the scraper service, used when {@code scraper.client.mode} is
+ * {@code non-blocking}. Requests are sent through the {@link ScraperHttpClient} engine, with its
+ * timeouts and meters, and no thread waits for the response: the returned future completes when the
+ * body has arrived and been read. In blocking mode nothing is built and no request may be sent.
+ * <p>
+ * It behaves like the blocking {@code RestTemplate} engine: JSON bodies are read with the
+ * application {@link ObjectMapper}, an empty body gives {@code null}, 4xx and 5xx statuses fail
+ * with {@link HttpClientErrorException} and {@link HttpServerErrorException}, and I/O errors and
+ * timeouts fail with {@link ResourceAccessException}.
+ */
+@Component
+public class AsyncScraperClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncScraperClient.class);
+
+    public static final String MODE_PROPERTY = "scraper.client.mode";
+    static final String BLOCKING = "blocking";
+    static final String NON_BLOCKING = "non-blocking";
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final ScraperHttpClient httpClient;
+    // One reader per response type, so each body is bound without looking up its deserializer
+    private final ClassValue<ObjectReader> readers;
+
+    public AsyncScraperClient(Environment environment, ObjectMapper objectMapper, ScraperHttpClient httpClient) {
+        String mode = environment.getProperty(MODE_PROPERTY, BLOCKING);
+        if (!BLOCKING.equals(mode) && !NON_BLOCKING.equals(mode)) {
+            throw new IllegalStateException("Unknown scraper client mode '" + mode + "', expected '"
+                    + BLOCKING + "' or '" + NON_BLOCKING + "'");
+        }
+        this.enabled = NON_BLOCKING.equals(mode);
+        this.httpClient = httpClient;
+        this.readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return objectMapper.readerFor(type);
+            }
+        };
+        log.info("Scraper client mode: {}", mode);
+    }
+
+    /**
+     * @return True if the services should call the scraper through this client.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sends a GET and reads the JSON response body as the given type.
+     */
+    public <T> CompletableFuture<T> get(URI uri, Class<T> responseType) {
+        if (!enabled) {
+            throw new IllegalStateException("The non-blocking scraper client is not enabled");
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(httpClient.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, "application/json, application/*+json")
+                .header(HttpHeaders.ACCEPT_ENCODING, GZIP)
+                .GET()
+                .build();
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<T> result = exchange.handle((response, error) -> {
+            if (error != null) {
+                throw ioError(uri, error);
+            }
+            return read(uri, response, responseType);
+        });
+        // Cancelling the result aborts the exchange, so an abandoned request frees its connection
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private <T> T read(URI uri, HttpResponse<byte[]> response, Class<T> responseType) {
+        byte[] body;
+        try {
+            body = decode(response);
+        } catch (IOException e) {
+            throw ioError(uri, e);
+        }
+
+        int status = response.statusCode();
+        if (status >= 400) {
+            throw statusError(status, toHeaders(response), body);
+        }
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            return readers.get(responseType).readValue(body);
+        } catch (IOException e) {
+            throw new RestClientException("Error while extracting response for type [" + responseType.getName()
+                    + "] from GET " + uri, e);
+        }
+    }
+
+    private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body();
+        boolean gzipped = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map(GZIP::equalsIgnoreCase)
+                .orElse(false);
+        if (!gzipped || body.length == 0) {
+            return body;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static RuntimeException statusError(int status, HttpHeaders headers, byte[] body) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+        HttpStatus known = HttpStatus.resolve(status);
+        String statusText = known != null ? known.getReasonPhrase() : "";
+        if (statusCode.is4xxClientError()) {
+            return HttpClientErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    private static HttpHeaders toHeaders(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            headers.addAll(header.getKey(), header.getValue());
+        }
+        return headers;
+    }
+
+    private static RuntimeException ioError(URI uri, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        IOException ioException = cause instanceof IOException io ? io : new IOException(cause);
+        return new ResourceAccessException("I/O error on GET request for \"" + uri + "\": "
+                + ioException.getMessage(), ioException);
+    }
+}
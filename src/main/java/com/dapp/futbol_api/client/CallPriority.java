@@ -0,0 +1,27 @@
+package com.dapp.futbol_api.client;
+
+/**
+ * Importance of a call to the scraper service when it is overloaded. The adaptive concurrency
+ * limiter gives each priority a share of its current limit, so lower priorities are shed first
+ * as the limit shrinks. Critical calls (logins) are never shed.
+ */
+public enum CallPriority {
+
+    CRITICAL(Double.POSITIVE_INFINITY),
+    HIGH(1.0),
+    NORMAL(0.75),
+    LOW(0.5);
+
+    private final double limitShare;
+
+    CallPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    /**
+     * @return Fraction of the concurrency limit that calls of this priority may fill.
+     */
+    public double getLimitShare() {
+        return limitShare;
+    }
+}
@@ -0,0 +1,132 @@
+package com.dapp.futbol_api.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. It opens when the failure rate of the last {@code windowSize}
+ * calls reaches the threshold, rejects every call while open, and after {@code openDurationMs}
+ * lets a few probe calls through (half-open). It closes again when all the probes succeed and
+ * reopens as soon as one of them fails.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long stateSinceMs;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openDurationMs,
+            int halfOpenCalls, LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * @return True if the call may go to the scraper service.
+     */
+    synchronized boolean tryAcquirePermission() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN && now - stateSinceMs >= openDurationMs) {
+            transitionTo(State.HALF_OPEN, now);
+        }
+        if (state == State.HALF_OPEN && probesLeft == 0 && now - stateSinceMs >= openDurationMs) {
+            // The probes never reported back (e.g. they were cancelled), so hand out new ones
+            transitionTo(State.HALF_OPEN, now);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesLeft == 0) {
+                    yield false;
+                }
+                probesLeft--;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probesSucceeded++;
+            if (probesSucceeded >= halfOpenCalls) {
+                transitionTo(State.CLOSED, clock.getAsLong());
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN, clock.getAsLong());
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                transitionTo(State.OPEN, clock.getAsLong());
+            }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return Milliseconds until the breaker lets probe calls through, 0 if it is not open.
+     */
+    synchronized long getRemainingOpenMs() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openDurationMs - (clock.getAsLong() - stateSinceMs));
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void transitionTo(State newState, long now) {
+        state = newState;
+        stateSinceMs = now;
+        probesLeft = halfOpenCalls;
+        probesSucceeded = 0;
+        if (newState == State.CLOSED) {
+            windowIndex = 0;
+            recordedCalls = 0;
+            failedCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.dapp.futbol_api.client;
+
+/**
+ * Groups of scraper endpoints that are isolated from each other. Each family has its own
+ * circuit breaker and bulkhead, so a slow analysis endpoint cannot exhaust the threads
+ * that serve teams, players or logins.
+ * <p>
+ * The settings of a family are read from {@code scraper.resilience.<family>.*}, and the
+ * per-client request limits of its API routes from {@code api.rate-limit.<family>.*}.
+ */
+public enum EndpointFamily {
+
+    TEAM("team", 20, 60, CallPriority.HIGH),
+    PLAYER("player", 20, 60, CallPriority.HIGH),
+    ANALYSIS("analysis", 10, 20, CallPriority.NORMAL),
+    AUTH("auth", 20, 10, CallPriority.CRITICAL);
+
+    private final String name;
+    private final int defaultMaxConcurrentCalls;
+    private final int defaultRequestsPerMinute;
+    private final CallPriority defaultPriority;
+
+    EndpointFamily(String name, int defaultMaxConcurrentCalls, int defaultRequestsPerMinute,
+            CallPriority defaultPriority) {
+        this.name = name;
+        this.defaultMaxConcurrentCalls = defaultMaxConcurrentCalls;
+        this.defaultRequestsPerMinute = defaultRequestsPerMinute;
+        this.defaultPriority = defaultPriority;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDefaultMaxConcurrentCalls() {
+        return defaultMaxConcurrentCalls;
+    }
+
+    public int getDefaultRequestsPerMinute() {
+        return defaultRequestsPerMinute;
+    }
+
+    /**
+     * @return Priority of the family's calls when the scraper is overloaded, unless a call sets its own.
+     */
+    public CallPriority getDefaultPriority() {
+        return defaultPriority;
+    }
+}
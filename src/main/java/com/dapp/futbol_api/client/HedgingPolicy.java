@@ -0,0 +1,135 @@
+package com.dapp.futbol_api.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * When to send a second, identical GET to the scraper service for an endpoint family (hedged
+ * request): once the first one has taken longer than a percentile of the recent latencies.
+ * <p>
+ * The delay is taken from the last {@code windowSize} latencies and refreshed every few samples;
+ * there is no delay, so no hedging, until enough of them were recorded. Hedges are paid from a
+ * budget that every request fills by {@code budgetPercent / 100} of a hedge, so they add at most
+ * that share of extra requests to the scraper.
+ */
+final class HedgingPolicy {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final long BUDGET_UNITS_PER_HEDGE = 1_000;
+    private static final long MAX_BUDGET = 10 * BUDGET_UNITS_PER_HEDGE;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long budgetPerRequest;
+    private final long[] latencies;
+    private final int refreshEvery;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    // -1 until there are enough samples
+    private volatile long delayNanos = -1;
+    // In thousandths of a hedge
+    private final AtomicLong budget = new AtomicLong();
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+
+    HedgingPolicy(double percentile, long minDelayNanos, int windowSize, double budgetPercent) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.budgetPerRequest = Math.round(budgetPercent * BUDGET_UNITS_PER_HEDGE / 100);
+        this.latencies = new long[Math.max(MIN_SAMPLES, windowSize)];
+        this.refreshEvery = Math.max(1, latencies.length / 16);
+    }
+
+    /**
+     * @return Nanoseconds to wait for the first request before hedging it, or -1 to not hedge.
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Records how long a request took to get its response.
+     */
+    synchronized void recordLatency(long nanos) {
+        latencies[next] = nanos;
+        next = (next + 1) % latencies.length;
+        count = Math.min(count + 1, latencies.length);
+        if (count >= MIN_SAMPLES && (++sinceRefresh >= refreshEvery || delayNanos < 0)) {
+            sinceRefresh = 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * count) - 1;
+            delayNanos = Math.max(minDelayNanos, sorted[Math.clamp(index, 0, count - 1)]);
+        }
+    }
+
+    /**
+     * Adds the share of a hedge that a new request earns to the budget.
+     */
+    void onRequest() {
+        budget.accumulateAndGet(budgetPerRequest, (current, added) -> Math.min(MAX_BUDGET, current + added));
+    }
+
+    /**
+     * Takes one hedge from the budget. Give it back with {@link #refundHedge()} if the hedge is not
+     * sent after all, and record it with {@link #onHedgeSent()} if it is.
+     *
+     * @return True if the budget pays for one more hedge.
+     */
+    boolean tryHedge() {
+        while (true) {
+            long current = budget.get();
+            if (current < BUDGET_UNITS_PER_HEDGE) {
+                overBudget.increment();
+                return false;
+            }
+            if (budget.compareAndSet(current, current - BUDGET_UNITS_PER_HEDGE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back to the budget a hedge of {@link #tryHedge()} that was not sent.
+     */
+    void refundHedge() {
+        budget.accumulateAndGet(BUDGET_UNITS_PER_HEDGE, (current, added) -> Math.min(MAX_BUDGET, current + added));
+    }
+
+    /**
+     * Records that a hedge paid by {@link #tryHedge()} was sent to the scraper.
+     */
+    void onHedgeSent() {
+        hedges.increment();
+    }
+
+    /**
+     * Records that the hedge answered before the first request.
+     */
+    void onHedgeWon() {
+        wins.increment();
+    }
+
+    /**
+     * @return The budget left, in thousandths of a hedge.
+     */
+    long getBudget() {
+        return budget.get();
+    }
+
+    long getHedges() {
+        return hedges.sum();
+    }
+
+    long getWins() {
+        return wins.sum();
+    }
+
+    long getOverBudget() {
+        return overBudget.sum();
+    }
+}
@@ -0,0 +1,555 @@
+package com.dapp.futbol_api.client;
+
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Executes the calls to the scraper service, merging identical requests that are in flight
+ * at the same time (single-flight). The first caller of a key starts the upstream call and
+ * every concurrent caller with the same key waits on that same result.
+ * <p>
+ * Each waiter keeps its own timeout: a waiter that gives up does not affect the others, and
+ * the upstream call is only cancelled when nobody is waiting for it anymore.
+ * <p>
+ * Every caller holds a slot of the bulkhead of its {@link EndpointFamily} while it waits, and
+ * upstream calls are only started when the circuit breaker of the family allows it.
+ * <p>
+ * {@link #executeAsync} does the same for non-blocking calls: the bulkhead slot is held until the
+ * caller's future completes, but no thread waits for the upstream response.
+ * <p>
+ * Each upstream call (not each waiter) also holds a permit of the adaptive concurrency limiter,
+ * with the {@link CallPriority} of the caller that started it.
+ * <p>
+ * For the families with a {@link HedgingPolicy}, an upstream call that has not answered after the
+ * hedging delay is sent a second time; the first response wins and the other request is cancelled.
+ * Only the winner is reported to the circuit breaker.
+ */
+@Component
+public class ScraperCallExecutor implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ScraperCallExecutor.class);
+
+    private final Duration awaitTimeout;
+    private final ScraperResilience resilience;
+    private final ExecutorService executor;
+    private final Map<String, InFlightCall> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final LongAdder abandonedCalls = new LongAdder();
+
+    public ScraperCallExecutor(@Value("${scraper.client.await-timeout-ms:20000}") long awaitTimeoutMs,
+            @Value("${" + ScraperThreads.VIRTUAL_THREADS_PROPERTY + ":false}") boolean virtualThreads,
+            ScraperResilience resilience) {
+        this.awaitTimeout = Duration.ofMillis(awaitTimeoutMs);
+        this.resilience = resilience;
+        this.executor = ScraperThreads.newExecutor("scraper-call-", virtualThreads);
+    }
+
+    /**
+     * Executes the call with the default await timeout and the default priority of the family.
+     */
+    public <T> T execute(EndpointFamily family, String key, Supplier<T> call) {
+        return execute(family, family.getDefaultPriority(), key, call, awaitTimeout);
+    }
+
+    /**
+     * Executes the call with the default await timeout.
+     */
+    public <T> T execute(EndpointFamily family, CallPriority priority, String key, Supplier<T> call) {
+        return execute(family, priority, key, call, awaitTimeout);
+    }
+
+    /**
+     * Executes a call that must not be merged with others (e.g. a POST) on the current thread,
+     * with the default priority of the family.
+     */
+    public <T> T executeUnshared(EndpointFamily family, Supplier<T> call) {
+        return executeUnshared(family, family.getDefaultPriority(), call);
+    }
+
+    /**
+     * Executes a call that must not be merged with others (e.g. a POST) on the current thread,
+     * guarded by the concurrency limiter and by the bulkhead and circuit breaker of the family.
+     */
+    public <T> T executeUnshared(EndpointFamily family, CallPriority priority, Supplier<T> call) {
+        AdaptiveConcurrencyLimiter.Permit permit = resilience.acquireLimit(priority);
+        T result;
+        try {
+            result = resilience.call(family, call);
+        } catch (RuntimeException | Error e) {
+            resilience.releaseLimit(permit, e);
+            throw e;
+        }
+        resilience.releaseLimit(permit, null);
+        return result;
+    }
+
+    /**
+     * Runs a blocking task on the scraper call threads, so a caller can start several blocking
+     * lookups at the same time (fan-out) and wait for all of them.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Executes the call with the default priority of the family.
+     */
+    public <T> T execute(EndpointFamily family, String key, Supplier<T> call, Duration timeout) {
+        return execute(family, family.getDefaultPriority(), key, call, timeout);
+    }
+
+    /**
+     * Executes the call, or joins an identical one that is already in flight.
+     * Runtime exceptions thrown by the call are rethrown unchanged to every waiter.
+     *
+     * @param family   Endpoint family of the request.
+     * @param priority Priority of the upstream call if this caller starts it.
+     * @param key      Identity of the request; callers with the same key share the upstream call.
+     * @param call     The upstream call.
+     * @param timeout  Maximum time this caller waits for the result.
+     * @return The result of the call.
+     * @throws com.dapp.futbol_api.exception.ScraperUnavailableException If the call is rejected by the
+     *                                                                   bulkhead, the circuit breaker or
+     *                                                                   the concurrency limiter.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(EndpointFamily family, CallPriority priority, String key, Supplier<T> call,
+            Duration timeout) {
+        resilience.enterBulkhead(family);
+        try {
+            return (T) await(key, join(key, flight -> start(family, priority, key, flight, call)), timeout);
+        } finally {
+            resilience.leaveBulkhead(family);
+        }
+    }
+
+    /**
+     * Non-blocking version of {@link #execute(EndpointFamily, String, Supplier)}: starts the
+     * asynchronous call, or joins an identical one that is already in flight.
+     * The returned future fails with the same exceptions the blocking version throws.
+     */
+    public <T> CompletableFuture<T> executeAsync(EndpointFamily family, String key,
+            Supplier<? extends CompletableFuture<T>> call) {
+        return executeAsync(family, family.getDefaultPriority(), key, call, awaitTimeout);
+    }
+
+    /**
+     * Same as {@link #executeAsync(EndpointFamily, String, Supplier)} with a given priority.
+     */
+    public <T> CompletableFuture<T> executeAsync(EndpointFamily family, CallPriority priority, String key,
+            Supplier<? extends CompletableFuture<T>> call) {
+        return executeAsync(family, priority, key, call, awaitTimeout);
+    }
+
+    /**
+     * Same as {@link #executeAsync(EndpointFamily, String, Supplier)} with a given timeout.
+     */
+    public <T> CompletableFuture<T> executeAsync(EndpointFamily family, String key,
+            Supplier<? extends CompletableFuture<T>> call, Duration timeout) {
+        return executeAsync(family, family.getDefaultPriority(), key, call, timeout);
+    }
+
+    /**
+     * Same as {@link #executeAsync(EndpointFamily, String, Supplier)} with a given priority and timeout.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(EndpointFamily family, CallPriority priority, String key,
+            Supplier<? extends CompletableFuture<T>> call, Duration timeout) {
+        InFlightCall flight;
+        try {
+            resilience.enterBulkhead(family);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            flight = join(key, created -> startAsync(family, priority, key, created, call));
+        } catch (RuntimeException e) {
+            resilience.leaveBulkhead(family);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return flight.result.copy()
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    resilience.leaveBulkhead(family);
+                    if (error == null) {
+                        return (T) response;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        abandon(key, flight);
+                        throw new ResourceAccessException("Timed out after " + timeout.toMillis()
+                                + " ms waiting for the scraper service response to '" + key + "'");
+                    }
+                    throw propagate(cause);
+                });
+    }
+
+    private Object await(String key, InFlightCall flight, Duration timeout) {
+        try {
+            return flight.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (TimeoutException e) {
+            abandon(key, flight);
+            throw new ResourceAccessException("Timed out after " + timeout.toMillis()
+                    + " ms waiting for the scraper service response to '" + key + "'");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(key, flight);
+            throw new ResourceAccessException("Interrupted while waiting for the scraper service response to '"
+                    + key + "'");
+        }
+    }
+
+    private InFlightCall join(String key, Consumer<InFlightCall> starter) {
+        while (true) {
+            InFlightCall existing = inFlight.get(key);
+            if (existing != null) {
+                if (existing.addWaiter()) {
+                    coalescedCalls.increment();
+                    log.debug("Joined in-flight scraper request '{}'", key);
+                    return existing;
+                }
+                // Abandoned by all its waiters, it is being removed
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            InFlightCall created = new InFlightCall();
+            if (inFlight.putIfAbsent(key, created) == null) {
+                created.addWaiter();
+                starter.accept(created);
+                return created;
+            }
+        }
+    }
+
+    private void start(EndpointFamily family, CallPriority priority, String key, InFlightCall flight,
+            Supplier<?> call) {
+        if (!acquirePermission(family, priority, key, flight)) {
+            return;
+        }
+        HedgingPolicy hedging = resilience.getHedging(family);
+        if (hedging != null) {
+            startHedged(family, key, flight, hedging, () -> submit(call));
+            return;
+        }
+        flight.task = executor.submit(() -> {
+            // Removed before completing, so a caller woken by the result never joins the finished call
+            try {
+                Object response = resilience.record(family, call);
+                resilience.releaseLimit(flight.permit, null);
+                inFlight.remove(key, flight);
+                flight.result.complete(response);
+            } catch (Throwable e) {
+                resilience.releaseLimit(flight.permit, e);
+                inFlight.remove(key, flight);
+                flight.result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private void startAsync(EndpointFamily family, CallPriority priority, String key, InFlightCall flight,
+            Supplier<? extends CompletableFuture<?>> call) {
+        if (!acquirePermission(family, priority, key, flight)) {
+            return;
+        }
+        HedgingPolicy hedging = resilience.getHedging(family);
+        if (hedging != null) {
+            startHedged(family, key, flight, hedging, () -> invoke(call));
+            return;
+        }
+        CompletableFuture<?> upstream = invoke(call);
+        flight.task = upstream;
+        upstream.whenComplete((response, error) -> {
+            Throwable cause = unwrap(error);
+            // A cancelled call was abandoned by its callers and says nothing about the scraper health
+            if (!(cause instanceof CancellationException)) {
+                resilience.recordOutcome(family, cause);
+            }
+            resilience.releaseLimit(flight.permit, cause);
+            inFlight.remove(key, flight);
+            if (cause == null) {
+                flight.result.complete(response);
+            } else {
+                flight.result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    /**
+     * Starts an upstream call that is sent a second time if it is slower than the hedging delay.
+     *
+     * @param attempt Sends the request to the scraper once more; cancelling its future cancels the request.
+     */
+    private void startHedged(EndpointFamily family, String key, InFlightCall flight, HedgingPolicy hedging,
+            Supplier<? extends CompletableFuture<?>> attempt) {
+        hedging.onRequest();
+        long startNanos = System.nanoTime();
+        CompletableFuture<?> primary = attempt.get();
+        flight.task = primary;
+        primary.whenComplete((response, error) ->
+                settle(family, key, flight, hedging, startNanos, false, response, unwrap(error)));
+
+        long delayNanos = hedging.getDelayNanos();
+        if (delayNanos >= 0) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, executor)
+                    .execute(() -> hedge(family, key, flight, hedging, startNanos, attempt));
+        }
+    }
+
+    private void hedge(EndpointFamily family, String key, InFlightCall flight, HedgingPolicy hedging,
+            long startNanos, Supplier<? extends CompletableFuture<?>> attempt) {
+        if (flight.result.isDone() || !hedging.tryHedge()) {
+            return;
+        }
+        // A hedge is extra load: it is the first call shed when the scraper is overloaded
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = resilience.acquireLimit(CallPriority.LOW);
+        } catch (ScraperUnavailableException e) {
+            hedging.refundHedge();
+            return;
+        }
+        if (!flight.addAttempt()) {
+            // The call finished in the meantime
+            if (permit != null) {
+                permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+            }
+            hedging.refundHedge();
+            return;
+        }
+        hedging.onHedgeSent();
+        upstreamCalls.increment();
+        log.debug("Hedging scraper request '{}'", key);
+        CompletableFuture<?> second = attempt.get();
+        flight.hedgeTask = second;
+        second.whenComplete((response, error) -> {
+            Throwable cause = unwrap(error);
+            resilience.releaseLimit(permit, cause);
+            settle(family, key, flight, hedging, startNanos, true, response, cause);
+        });
+    }
+
+    /**
+     * Completes a hedged call with the first response, or with the last failure if no attempt succeeded.
+     */
+    private void settle(EndpointFamily family, String key, InFlightCall flight, HedgingPolicy hedging,
+            long startNanos, boolean hedge, Object response, Throwable cause) {
+        boolean last = flight.finishAttempt();
+        if ((cause != null && !last) || !flight.settled.compareAndSet(false, true)) {
+            return;
+        }
+        // A cancelled call was abandoned by its callers and says nothing about the scraper health
+        if (!(cause instanceof CancellationException)) {
+            resilience.recordOutcome(family, cause);
+        }
+        resilience.releaseLimit(flight.permit, cause);
+        if (cause == null) {
+            // When the hedge wins, the first request took at least this long
+            hedging.recordLatency(System.nanoTime() - startNanos);
+            if (hedge) {
+                hedging.onHedgeWon();
+            }
+        }
+        inFlight.remove(key, flight);
+        Future<?> loser = hedge ? flight.task : flight.hedgeTask;
+        if (loser != null) {
+            loser.cancel(true);
+        }
+        if (cause == null) {
+            flight.result.complete(response);
+        } else {
+            flight.result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Runs a blocking call on the scraper call threads.
+     */
+    private CompletableFuture<Object> submit(Supplier<?> call) {
+        CompletableFuture<Object> attempt = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                attempt.complete(call.get());
+            } catch (Throwable e) {
+                attempt.completeExceptionally(e);
+            }
+        });
+        // Cancelling the attempt interrupts the thread waiting for the scraper
+        attempt.whenComplete((response, error) -> {
+            if (attempt.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return attempt;
+    }
+
+    private static CompletableFuture<?> invoke(Supplier<? extends CompletableFuture<?>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private boolean acquirePermission(EndpointFamily family, CallPriority priority, String key,
+            InFlightCall flight) {
+        try {
+            flight.permit = resilience.acquireLimit(priority);
+            resilience.acquirePermission(family);
+        } catch (RuntimeException e) {
+            resilience.releaseLimit(flight.permit, e);
+            // Callers that already joined get the same rejection
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            return false;
+        }
+        upstreamCalls.increment();
+        return true;
+    }
+
+    private void abandon(String key, InFlightCall flight) {
+        if (flight.removeWaiter()) {
+            abandonedCalls.increment();
+            inFlight.remove(key, flight);
+            // Nobody waited this long for the scraper: the limiter counts it as a dropped call
+            AdaptiveConcurrencyLimiter.Permit permit = flight.permit;
+            if (permit != null) {
+                permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+            }
+            Future<?> task = flight.task;
+            if (task != null) {
+                task.cancel(true);
+            }
+            Future<?> hedgeTask = flight.hedgeTask;
+            if (hedgeTask != null) {
+                hedgeTask.cancel(true);
+            }
+            log.debug("Cancelled scraper request '{}', no callers left waiting", key);
+        }
+    }
+
+    private RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new RestClientException("Error calling the scraper service", cause);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("scraper.requests.upstream", upstreamCalls, LongAdder::sum)
+                .description("Requests actually sent to the scraper service")
+                .register(registry);
+        FunctionCounter.builder("scraper.requests.coalesced", coalescedCalls, LongAdder::sum)
+                .description("Requests merged into an identical in-flight request")
+                .register(registry);
+        FunctionCounter.builder("scraper.requests.abandoned", abandonedCalls, LongAdder::sum)
+                .description("Upstream requests cancelled because every waiter gave up")
+                .register(registry);
+        Gauge.builder("scraper.requests.inflight", inFlight, Map::size)
+                .description("Distinct requests currently in flight to the scraper service")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A request to the scraper service shared by every caller with the same key.
+     */
+    private static final class InFlightCall {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private volatile AdaptiveConcurrencyLimiter.Permit permit;
+        // Only used by hedged calls: the second request, and the requests still running
+        private volatile Future<?> hedgeTask;
+        private final AtomicInteger attempts = new AtomicInteger(1);
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private int waiters;
+        private boolean abandoned;
+
+        synchronized boolean addWaiter() {
+            if (abandoned) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * @return False if every request of the call already finished, so no new one may start.
+         */
+        boolean addAttempt() {
+            while (true) {
+                int current = attempts.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (attempts.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return True if this was the last request of the call still running.
+         */
+        boolean finishAttempt() {
+            return attempts.decrementAndGet() == 0;
+        }
+
+        /**
+         * @return True if this was the last waiter of a call that is still running.
+         */
+        synchronized boolean removeWaiter() {
+            waiters--;
+            if (waiters == 0 && !result.isDone()) {
+                abandoned = true;
+                return true;
+            }
+            return false;
+        }
+    }
+}
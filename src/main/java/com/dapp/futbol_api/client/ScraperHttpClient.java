@@ -0,0 +1,318 @@
+package com.dapp.futbol_api.client;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound HTTP engine shared by every {@code RestTemplate} built from the auto-configured
+ * {@code RestTemplateBuilder}, i.e. by all the services that talk to the scraper.
+ * <p>
+ * Two engines can be selected with {@code scraper.http.engine}:
+ * <ul>
+ *     <li>{@code pooled} (default): Apache HttpClient with a bounded keep-alive pool, a global
+ *     and per-route connection limit, and gzip/deflate decompression.</li>
+ *     <li>{@code http2}: the JDK {@link HttpClient}, which negotiates HTTP/2 and multiplexes
+ *     concurrent requests over one connection per host. Gzip responses are decompressed by
+ *     {@link GzipDecompressingInterceptor}.</li>
+ * </ul>
+ * Both apply the connect and read timeouts, so a stalled scraper can no longer hold a request
+ * thread forever. The pool usage and the time spent waiting for a free connection are exported
+ * through Micrometer.
+ * <p>
+ * The non-blocking {@link AsyncScraperClient} sends its requests through {@link #sendAsync}, with
+ * the same timeouts. The {@code http2} engine's client serves both; with the {@code pooled} engine a
+ * JDK client is only built on the first non-blocking request, so the blocking mode never creates
+ * one. Non-blocking exchanges in flight and their duration are exported as well.
+ */
+@Component
+public class ScraperHttpClient implements ClientHttpRequestFactoryBuilder<ClientHttpRequestFactory>,
+        MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ScraperHttpClient.class);
+    private static final String PROPERTY_PREFIX = "scraper.http.";
+    static final String POOLED = "pooled";
+    static final String HTTP2 = "http2";
+
+    private final String engine;
+    private final ClientHttpRequestFactory requestFactory;
+    private final LeaseTimingConnectionManager connectionManager;
+    private final CloseableHttpClient pooledClient;
+    private final HttpClient jdkClient;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final boolean virtualThreads;
+    private final LongAdder asyncInFlight = new LongAdder();
+    private final LongAdder asyncExchanges = new LongAdder();
+    private final LongAdder asyncExchangeNanos = new LongAdder();
+    // Built on the first non-blocking request when the pooled engine has no JDK client to share
+    private volatile HttpClient asyncClient;
+    private ExecutorService asyncExecutor;
+
+    public ScraperHttpClient(Environment environment) {
+        this.engine = environment.getProperty(PROPERTY_PREFIX + "engine", POOLED).toLowerCase(Locale.ROOT);
+        this.connectTimeout = Duration.ofMillis(
+                environment.getProperty(PROPERTY_PREFIX + "connect-timeout-ms", Long.class, 2_000L));
+        this.readTimeout = Duration.ofMillis(
+                environment.getProperty(PROPERTY_PREFIX + "read-timeout-ms", Long.class, 15_000L));
+        this.virtualThreads = environment.getProperty(ScraperThreads.VIRTUAL_THREADS_PROPERTY, Boolean.class, false);
+
+        if (HTTP2.equals(engine)) {
+            log.info("Scraper HTTP engine: JDK HttpClient (HTTP/2), connectTimeout={}, readTimeout={}",
+                    connectTimeout, readTimeout);
+            this.connectionManager = null;
+            this.pooledClient = null;
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(connectTimeout);
+            if (virtualThreads) {
+                builder.executor(ScraperThreads.newExecutor("scraper-http-", true));
+            }
+            this.jdkClient = builder.build();
+            JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(jdkClient);
+            jdkFactory.setReadTimeout(readTimeout);
+            this.requestFactory = new InterceptingClientHttpRequestFactory(jdkFactory,
+                    List.of(new GzipDecompressingInterceptor()));
+        } else if (POOLED.equals(engine)) {
+            this.jdkClient = null;
+            this.connectionManager = createConnectionManager(environment, connectTimeout, readTimeout);
+            this.pooledClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.ofMilliseconds(environment.getProperty(
+                                    PROPERTY_PREFIX + "pool.acquire-timeout-ms", Long.class, 2_000L)))
+                            .setResponseTimeout(Timeout.of(readTimeout))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(environment.getProperty(
+                            PROPERTY_PREFIX + "pool.idle-timeout-ms", Long.class, 30_000L)))
+                    .build();
+            this.requestFactory = new HttpComponentsClientHttpRequestFactory(pooledClient);
+        } else {
+            throw new IllegalStateException("Unknown scraper.http.engine '" + engine
+                    + "', expected '" + POOLED + "' or '" + HTTP2 + "'");
+        }
+    }
+
+    private static LeaseTimingConnectionManager createConnectionManager(Environment environment,
+            Duration connectTimeout, Duration readTimeout) {
+        int maxTotal = environment.getProperty(PROPERTY_PREFIX + "pool.max-total", Integer.class, 50);
+        int maxPerRoute = environment.getProperty(PROPERTY_PREFIX + "pool.max-per-route", Integer.class, 20);
+        long timeToLiveMs = environment.getProperty(PROPERTY_PREFIX + "pool.time-to-live-ms", Long.class, 300_000L);
+        log.info("Scraper HTTP engine: pooled, maxTotal={}, maxPerRoute={}, connectTimeout={}, readTimeout={}",
+                maxTotal, maxPerRoute, connectTimeout, readTimeout);
+
+        LeaseTimingConnectionManager manager = new LeaseTimingConnectionManager();
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+
+        // Entries look like "https://scraper.example.com=40"
+        for (String routeLimit : environment.getProperty(PROPERTY_PREFIX + "pool.route-limits", String[].class,
+                new String[0])) {
+            int separator = routeLimit.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalStateException("Invalid scraper.http.pool.route-limits entry: " + routeLimit);
+            }
+            HttpRoute route = toRoute(routeLimit.substring(0, separator).trim());
+            int limit = Integer.parseInt(routeLimit.substring(separator + 1).trim());
+            manager.setMaxPerRoute(route, limit);
+            log.info("Scraper HTTP pool route {} limited to {} connections", route, limit);
+        }
+        return manager;
+    }
+
+    static HttpRoute toRoute(String origin) {
+        try {
+            HttpHost host = RoutingSupport.normalize(HttpHost.create(origin), DefaultSchemePortResolver.INSTANCE);
+            return new HttpRoute(host, null, "https".equalsIgnoreCase(host.getSchemeName()));
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid scraper.http.pool.route-limits origin: " + origin, e);
+        }
+    }
+
+    /**
+     * Returns the shared request factory. The {@code spring.http.client.*} settings are not
+     * applied, the {@code scraper.http.*} properties take their place.
+     */
+    @Override
+    public ClientHttpRequestFactory build(ClientHttpRequestFactorySettings settings) {
+        return requestFactory;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    /**
+     * The time a request may wait for the scraper's response.
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sends a request without blocking. Cancelling the returned future aborts the exchange.
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        long start = System.nanoTime();
+        asyncInFlight.increment();
+        CompletableFuture<HttpResponse<T>> exchange = asyncClient().sendAsync(request, bodyHandler);
+        exchange.whenComplete((response, error) -> {
+            asyncInFlight.decrement();
+            asyncExchanges.increment();
+            asyncExchangeNanos.add(System.nanoTime() - start);
+        });
+        return exchange;
+    }
+
+    private HttpClient asyncClient() {
+        if (jdkClient != null) {
+            return jdkClient;
+        }
+        HttpClient client = asyncClient;
+        if (client == null) {
+            synchronized (this) {
+                client = asyncClient;
+                if (client == null) {
+                    log.info("Scraper HTTP engine: JDK HttpClient for non-blocking requests, connectTimeout={}, readTimeout={}",
+                            connectTimeout, readTimeout);
+                    asyncExecutor = ScraperThreads.newExecutor("scraper-async-", virtualThreads);
+                    client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(connectTimeout)
+                            .executor(asyncExecutor)
+                            .build();
+                    asyncClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * The connection pool of the {@code pooled} engine, or null with the {@code http2} engine.
+     */
+    PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("scraper.http.async.in-flight", asyncInFlight, LongAdder::sum)
+                .description("Non-blocking requests to the scraper awaiting their response")
+                .register(registry);
+        FunctionTimer.builder("scraper.http.async.exchange", this,
+                        client -> client.asyncExchanges.sum(),
+                        client -> client.asyncExchangeNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time from sending a non-blocking request to the scraper to its response")
+                .register(registry);
+        if (connectionManager == null) {
+            return;
+        }
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "scraper", Tags.empty())
+                .bindTo(registry);
+        FunctionTimer.builder("scraper.http.pool.acquire", connectionManager,
+                        manager -> manager.leases.sum(),
+                        manager -> manager.leaseWaitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a pooled connection to the scraper")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (pooledClient != null) {
+            pooledClient.close(CloseMode.GRACEFUL);
+        }
+        if (jdkClient != null) {
+            jdkClient.shutdownNow();
+        }
+        synchronized (this) {
+            if (asyncClient != null) {
+                asyncClient.shutdownNow();
+                asyncExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Connection manager that measures how long each request waits for a connection of the pool.
+     */
+    static final class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder leaseWaitNanos = new LongAdder();
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            long start = System.nanoTime();
+            LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    try {
+                        return lease.get(timeout);
+                    } finally {
+                        leases.increment();
+                        leaseWaitNanos.add(System.nanoTime() - start);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return lease.cancel();
+                }
+            };
+        }
+    }
+}
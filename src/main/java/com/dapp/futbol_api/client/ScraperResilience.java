@@ -0,0 +1,309 @@
+package com.dapp.futbol_api.client;
+
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead of every {@link EndpointFamily}.
+ * <p>
+ * The bulkhead bounds how many request threads can be waiting on the scraper for a family at
+ * the same time; the circuit breaker stops sending requests to a family whose endpoints keep
+ * failing. In both cases the call is rejected at once with a {@link ScraperUnavailableException}.
+ * Client errors (4xx) are answers of a healthy scraper and do not count as failures.
+ * <p>
+ * On top of them, an {@link AdaptiveConcurrencyLimiter} shared by all families bounds the calls in
+ * flight to the whole scraper by its measured latency, shedding low-priority calls first
+ * ({@code scraper.limiter.*}).
+ * <p>
+ * It also holds the {@link HedgingPolicy} of the families whose GETs are hedged, when hedging is
+ * enabled ({@code scraper.hedging.*}).
+ */
+@Component
+public class ScraperResilience implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ScraperResilience.class);
+    private static final String PROPERTY_PREFIX = "scraper.resilience.";
+    private static final String LIMITER_PREFIX = "scraper.limiter.";
+    private static final String HEDGING_PREFIX = "scraper.hedging.";
+
+    private final Map<EndpointFamily, Guard> guards = new EnumMap<>(EndpointFamily.class);
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<EndpointFamily, HedgingPolicy> hedging = new EnumMap<>(EndpointFamily.class);
+
+    public ScraperResilience(Environment environment) {
+        for (EndpointFamily family : EndpointFamily.values()) {
+            String prefix = PROPERTY_PREFIX + family.getName();
+            int maxConcurrentCalls = environment.getProperty(prefix + ".max-concurrent-calls", Integer.class,
+                    family.getDefaultMaxConcurrentCalls());
+            long maxWaitMs = environment.getProperty(prefix + ".max-wait-ms", Long.class, 0L);
+            int windowSize = environment.getProperty(prefix + ".window-size", Integer.class, 20);
+            int minimumCalls = environment.getProperty(prefix + ".minimum-calls", Integer.class, 10);
+            int failureRateThreshold = environment.getProperty(prefix + ".failure-rate-threshold", Integer.class, 50);
+            long openDurationMs = environment.getProperty(prefix + ".open-duration-ms", Long.class, 30_000L);
+            int halfOpenCalls = environment.getProperty(prefix + ".half-open-calls", Integer.class, 3);
+            log.info("Scraper family '{}': maxConcurrentCalls={}, failureRateThreshold={}%, window={}, openDuration={}ms",
+                    family.getName(), maxConcurrentCalls, failureRateThreshold, windowSize, openDurationMs);
+
+            guards.put(family, new Guard(new Semaphore(maxConcurrentCalls), maxConcurrentCalls, maxWaitMs,
+                    new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs,
+                            halfOpenCalls, System::currentTimeMillis)));
+        }
+
+        if (environment.getProperty(LIMITER_PREFIX + "enabled", Boolean.class, true)) {
+            int initialLimit = environment.getProperty(LIMITER_PREFIX + "initial-limit", Integer.class, 20);
+            int minLimit = environment.getProperty(LIMITER_PREFIX + "min-limit", Integer.class, 10);
+            int maxLimit = environment.getProperty(LIMITER_PREFIX + "max-limit", Integer.class, 200);
+            double smoothing = environment.getProperty(LIMITER_PREFIX + "smoothing", Double.class, 0.2);
+            int longWindow = environment.getProperty(LIMITER_PREFIX + "long-window", Integer.class, 600);
+            log.info("Scraper concurrency limit: initial={}, min={}, max={}", initialLimit, minLimit, maxLimit);
+            this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, longWindow,
+                    System::nanoTime);
+        } else {
+            this.limiter = null;
+        }
+
+        if (environment.getProperty(HEDGING_PREFIX + "enabled", Boolean.class, false)) {
+            String[] families = environment.getProperty(HEDGING_PREFIX + "families", String[].class,
+                    new String[] {"team", "player", "analysis"});
+            double percentile = environment.getProperty(HEDGING_PREFIX + "percentile", Double.class, 95.0);
+            long minDelayMs = environment.getProperty(HEDGING_PREFIX + "min-delay-ms", Long.class, 20L);
+            int windowSize = environment.getProperty(HEDGING_PREFIX + "window-size", Integer.class, 500);
+            double budgetPercent = environment.getProperty(HEDGING_PREFIX + "budget-percent", Double.class, 10.0);
+            for (EndpointFamily family : EndpointFamily.values()) {
+                if (Arrays.asList(families).contains(family.getName())) {
+                    hedging.put(family, new HedgingPolicy(percentile, TimeUnit.MILLISECONDS.toNanos(minDelayMs),
+                            windowSize, budgetPercent));
+                }
+            }
+            log.info("Hedged scraper GETs for {}: after the p{} latency, budget {}%",
+                    hedging.keySet(), percentile, budgetPercent);
+        }
+    }
+
+    /**
+     * Runs the call on the current thread, guarded by the bulkhead and the circuit breaker of the family.
+     */
+    public <T> T call(EndpointFamily family, Supplier<T> call) {
+        enterBulkhead(family);
+        try {
+            acquirePermission(family);
+            return record(family, call);
+        } finally {
+            leaveBulkhead(family);
+        }
+    }
+
+    /**
+     * Takes a slot of the family bulkhead, waiting at most {@code max-wait-ms} for one.
+     *
+     * @throws ScraperUnavailableException If the bulkhead is full.
+     */
+    public void enterBulkhead(EndpointFamily family) {
+        Guard guard = guards.get(family);
+        boolean acquired;
+        try {
+            acquired = guard.bulkhead.tryAcquire(guard.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            guard.bulkheadRejections.increment();
+            throw new ScraperUnavailableException("Too many concurrent " + family.getName()
+                    + " requests to the scraper service, try again later.", 1);
+        }
+    }
+
+    public void leaveBulkhead(EndpointFamily family) {
+        guards.get(family).bulkhead.release();
+    }
+
+    /**
+     * Asks the circuit breaker of the family for permission to send a request upstream.
+     *
+     * @throws ScraperUnavailableException If the circuit breaker is open.
+     */
+    public void acquirePermission(EndpointFamily family) {
+        Guard guard = guards.get(family);
+        if (!guard.circuitBreaker.tryAcquirePermission()) {
+            guard.circuitRejections.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(
+                    guard.circuitBreaker.getRemainingOpenMs() + 999));
+            throw new ScraperUnavailableException("The scraper service is unavailable for " + family.getName()
+                    + " requests, try again in " + retryAfterSeconds + " seconds.", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Runs a call that already has permission, reporting its outcome to the circuit breaker.
+     */
+    public <T> T record(EndpointFamily family, Supplier<T> call) {
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            recordOutcome(family, e);
+            throw e;
+        }
+        recordOutcome(family, null);
+        return result;
+    }
+
+    /**
+     * Reports the outcome of a call that already has permission and completed elsewhere
+     * (e.g. asynchronously).
+     *
+     * @param error The failure of the call, or null if it succeeded.
+     */
+    public void recordOutcome(EndpointFamily family, Throwable error) {
+        CircuitBreaker circuitBreaker = guards.get(family).circuitBreaker;
+        if (error == null || error instanceof HttpClientErrorException) {
+            circuitBreaker.onSuccess();
+            return;
+        }
+        CircuitBreaker.State before = circuitBreaker.getState();
+        circuitBreaker.onFailure();
+        if (before != CircuitBreaker.State.OPEN && circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            log.warn("Circuit breaker for scraper '{}' requests opened after: {}", family.getName(), error.getMessage());
+        }
+    }
+
+    /**
+     * Asks the adaptive concurrency limiter to admit a call of the given priority.
+     *
+     * @return The permit to release with {@link #releaseLimit}, or null if the limiter is disabled.
+     * @throws ScraperUnavailableException If the scraper is too loaded for calls of this priority.
+     */
+    AdaptiveConcurrencyLimiter.Permit acquireLimit(CallPriority priority) {
+        if (limiter == null) {
+            return null;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            throw new ScraperUnavailableException("The scraper service is overloaded, try again later.", 1);
+        }
+        return permit;
+    }
+
+    /**
+     * Releases a permit of {@link #acquireLimit}, reporting the latency of the call to the limiter.
+     *
+     * @param error The failure of the call, or null if it succeeded.
+     */
+    void releaseLimit(AdaptiveConcurrencyLimiter.Permit permit, Throwable error) {
+        if (permit == null) {
+            return;
+        }
+        if (error == null || error instanceof HttpClientErrorException) {
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.COMPLETED);
+        } else if (error instanceof ResourceAccessException) {
+            // Timeouts and connection failures
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        } else if (error instanceof ScraperUnavailableException || error instanceof CancellationException) {
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        } else {
+            permit.release(AdaptiveConcurrencyLimiter.Outcome.COMPLETED);
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * @return The hedging policy of the family, or null if its GETs are not hedged.
+     */
+    HedgingPolicy getHedging(EndpointFamily family) {
+        return hedging.get(family);
+    }
+
+    CircuitBreaker.State getState(EndpointFamily family) {
+        return guards.get(family).circuitBreaker.getState();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        guards.forEach((family, guard) -> {
+            Gauge.builder("scraper.circuit.state", guard.circuitBreaker, breaker -> breaker.getState().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                    .tag("family", family.getName())
+                    .register(registry);
+            FunctionCounter.builder("scraper.circuit.rejected", guard.circuitRejections, LongAdder::sum)
+                    .description("Calls rejected because the circuit breaker was open")
+                    .tag("family", family.getName())
+                    .register(registry);
+            Gauge.builder("scraper.bulkhead.active", guard,
+                            g -> g.maxConcurrentCalls - g.bulkhead.availablePermits())
+                    .description("Request threads currently waiting on the scraper service")
+                    .tag("family", family.getName())
+                    .register(registry);
+            FunctionCounter.builder("scraper.bulkhead.rejected", guard.bulkheadRejections, LongAdder::sum)
+                    .description("Calls rejected because the bulkhead was full")
+                    .tag("family", family.getName())
+                    .register(registry);
+        });
+        hedging.forEach((family, policy) -> {
+            FunctionCounter.builder("scraper.hedging.hedges", policy, HedgingPolicy::getHedges)
+                    .description("Second requests sent because the first one was slower than the hedging delay")
+                    .tag("family", family.getName())
+                    .register(registry);
+            FunctionCounter.builder("scraper.hedging.wins", policy, HedgingPolicy::getWins)
+                    .description("Hedged requests that answered before the first one")
+                    .tag("family", family.getName())
+                    .register(registry);
+            FunctionCounter.builder("scraper.hedging.over.budget", policy, HedgingPolicy::getOverBudget)
+                    .description("Hedges not sent because the hedging budget was used up")
+                    .tag("family", family.getName())
+                    .register(registry);
+            TimeGauge.builder("scraper.hedging.delay", policy, TimeUnit.NANOSECONDS,
+                            p -> Math.max(0, p.getDelayNanos()))
+                    .description("Current wait before a request is hedged")
+                    .tag("family", family.getName())
+                    .register(registry);
+        });
+        if (limiter == null) {
+            return;
+        }
+        Gauge.builder("scraper.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of the calls to the scraper service")
+                .register(registry);
+        Gauge.builder("scraper.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls to the scraper service currently holding a limiter permit")
+                .register(registry);
+        for (CallPriority priority : CallPriority.values()) {
+            FunctionCounter.builder("scraper.limiter.rejected", limiter, l -> l.getRejections(priority))
+                    .description("Calls shed because the scraper service was overloaded")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    private record Guard(Semaphore bulkhead, int maxConcurrentCalls, long maxWaitMs, CircuitBreaker circuitBreaker,
+            LongAdder bulkheadRejections, LongAdder circuitRejections) {
+
+        Guard(Semaphore bulkhead, int maxConcurrentCalls, long maxWaitMs, CircuitBreaker circuitBreaker) {
+            this(bulkhead, maxConcurrentCalls, maxWaitMs, circuitBreaker, new LongAdder(), new LongAdder());
+        }
+    }
+}
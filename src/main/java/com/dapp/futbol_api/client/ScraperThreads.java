@@ -0,0 +1,32 @@
+package com.dapp.futbol_api.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run the blocking calls to the scraper service.
+ * With {@code spring.threads.virtual.enabled} every task gets its own virtual thread, which is
+ * the same mode Tomcat then uses for request handling; otherwise a cached pool of daemon
+ * platform threads is used.
+ */
+public final class ScraperThreads {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private ScraperThreads() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static ExecutorService newExecutor(String namePrefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
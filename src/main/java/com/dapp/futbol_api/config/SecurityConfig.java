@@ -1,7 +1,9 @@
 package com.dapp.futbol_api.config;
 
+import com.dapp.futbol_api.ratelimit.RateLimitFilter;
 import com.dapp.futbol_api.security.JwtAuthenticationFilter;
 import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
         private final JwtAuthenticationFilter jwtAuthFilter;
+        private final RateLimitFilter rateLimitFilter;
         private final SimpleUserDetailsService simpleUserDetailsService;
 
         @Bean
@@ -32,11 +35,16 @@ public class SecurityConfig {
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authorizeHttpRequests(req -> req
-                                                .requestMatchers(SecurityConstants.WHITE_LIST_URLS).permitAll()
+                                                // Async controller results are dispatched again once ready; the
+                                                // original request was already authorized and the JWT is not re-read
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                                .requestMatchers(SecurityConstants.WHITE_LIST).permitAll()
                                                 .requestMatchers(SecurityConstants.USER_LIST_URLS).hasAuthority("USER")
                                                 .anyRequest().authenticated())
                                 .authenticationProvider(authenticationProvider())
                                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                                // Clients are limited by token subject, so the token is read first
+                                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin));
 
                 return http.build();
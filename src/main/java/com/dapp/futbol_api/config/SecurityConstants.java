@@ -1,5 +1,11 @@
 package com.dapp.futbol_api.config;
 
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+
 public final class SecurityConstants {
 
     private SecurityConstants() {
@@ -11,6 +17,8 @@ public final class SecurityConstants {
             "/",
             // Public authentication endpoints
             "/api/auth/**",
+            // Public keys that verify the tokens (asymmetric mode)
+            "/.well-known/jwks.json",
             // Documentation endpoints (Swagger)
             "/v3/api-docs/**",
             "/swagger-ui/**",
@@ -21,6 +29,14 @@ public final class SecurityConstants {
             "/h2-console/**"
     };
 
+    /**
+     * Matches the {@link #WHITE_LIST_URLS}: the security chain permits these requests and the JWT
+     * filter skips them, so both always agree on which routes are public.
+     */
+    public static final RequestMatcher WHITE_LIST = new OrRequestMatcher(Arrays.stream(WHITE_LIST_URLS)
+            .map(PathPatternRequestMatcher.withDefaults()::matcher)
+            .toArray(RequestMatcher[]::new));
+
     protected static final String[] USER_LIST_URLS = {
             // Scraping service endpoints
             "/api/player",
@@ -31,7 +47,9 @@ public final class SecurityConstants {
             "/api/team*",
             "/api/analysis/**",
             "/api/futureMatches",
-            "/api/teams/**"
+            "/api/teams/**",
+            "/api/leaderboards",
+            "/api/leaderboards/**"
     };
 
 }
\ No newline at end of file
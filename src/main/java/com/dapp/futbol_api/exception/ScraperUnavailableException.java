@@ -0,0 +1,20 @@
+package com.dapp.futbol_api.exception;
+
+/**
+ * Thrown when a call to the scraper service is rejected without being sent, because the
+ * circuit breaker of its endpoint family is open or its bulkhead is full.
+ * It is mapped to an HTTP 503 Service Unavailable with a Retry-After header.
+ */
+public class ScraperUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ScraperUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
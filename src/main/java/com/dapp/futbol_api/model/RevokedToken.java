@@ -0,0 +1,30 @@
+package com.dapp.futbol_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A token revoked before its expiration, identified by its {@code jti} claim. The row is only
+ * needed until the token would have expired anyway.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+
+    @Id
+    private String jti;
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,19 +1,25 @@
 package com.dapp.futbol_api.model.dto;
 
+import com.dapp.futbol_api.utils.ScrapedStats;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class GameMatchDTO {
+@EqualsAndHashCode(callSuper = true)
+public class GameMatchDTO extends ScrapedDTO {
     private String cup;
     private String date;
-    private String redCardsActualTeam;
-    private String redCardsRivalTeam;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer redCardsActualTeam;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer redCardsRivalTeam;
     private String actualTeam;
     private String rivalTeam;
     private String score;
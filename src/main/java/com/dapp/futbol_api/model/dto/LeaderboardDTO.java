@@ -0,0 +1,26 @@
+package com.dapp.futbol_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a leaderboard. {@code totalEntries} players can be paged through, out of the
+ * {@code totalPlayers} with a value in the {@code teams} squads fetched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardDTO {
+    private String metric;
+    private int page;
+    private int size;
+    private int totalEntries;
+    private int totalPlayers;
+    private int teams;
+    private List<LeaderboardEntryDTO> entries;
+}
@@ -0,0 +1,18 @@
+package com.dapp.futbol_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    private int rank;
+    private String playerName;
+    private String team;
+    private String position;
+    private double value;
+}
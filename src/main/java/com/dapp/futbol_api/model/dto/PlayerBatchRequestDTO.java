@@ -0,0 +1,14 @@
+package com.dapp.futbol_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerBatchRequestDTO {
+    private List<String> playerNames;
+}
@@ -0,0 +1,29 @@
+package com.dapp.futbol_api.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the batch player lookup: the player info, or the reason it could not be obtained.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerBatchResultDTO {
+
+    public static final String OK = "OK";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+    public static final String ERROR = "ERROR";
+
+    private String playerName;
+    private String status;
+    private PlayerDTO player;
+    private Boolean stale;
+    private String error;
+}
@@ -1,17 +1,22 @@
 package com.dapp.futbol_api.model.dto;
 
+import com.dapp.futbol_api.utils.ScrapedStats;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 import java.util.List;
 
 @Data
-public class PlayerDTO {
+@EqualsAndHashCode(callSuper = true)
+public class PlayerDTO extends ScrapedDTO {
     private String name;
     private String shirtNumber;
-    private String age;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer age;
     private String height;
     private String positions;
     private String nationality;
     private String currentTeam;
     private List<PlayerMatchStatsDTO> matchStats;
-}
\ No newline at end of file
+}
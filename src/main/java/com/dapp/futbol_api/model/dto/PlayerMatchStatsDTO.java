@@ -1,26 +1,40 @@
 package com.dapp.futbol_api.model.dto;
 
+import com.dapp.futbol_api.utils.ScrapedStats;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class PlayerMatchStatsDTO {
+@EqualsAndHashCode(callSuper = true)
+public class PlayerMatchStatsDTO extends ScrapedDTO {
     private String opponent;
     private String score;
     private String date;
     private String position;
-    private String minsPlayed;
-    private String goals;
-    private String assists;
-    private String yellowCards;
-    private String redCards;
-    private String shots;
-    private String passSuccess;
-    private String aerialsWon;
-    private String rating;
-}
\ No newline at end of file
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer minsPlayed;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer goals;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer assists;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer yellowCards;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer redCards;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer shots;
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double passSuccess;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer aerialsWon;
+    // null when the player has no rating
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double rating;
+}
@@ -0,0 +1,23 @@
+package com.dapp.futbol_api.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One scenario of a prediction sweep, or one column of its matrix (venue and position only).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PredictionScenarioDTO {
+    private Integer rank;
+    private String opponent;
+    private Boolean isHome;
+    private String position;
+    private PredictiveAnalysisDTO prediction;
+}
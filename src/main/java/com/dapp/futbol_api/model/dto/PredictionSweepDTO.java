@@ -0,0 +1,24 @@
+package com.dapp.futbol_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a prediction sweep: the predictive score of every scenario as a matrix, one row per
+ * opponent and one column per venue and position, and every scenario ranked from the best.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionSweepDTO {
+    private String playerName;
+    private List<String> opponents;
+    private List<PredictionScenarioDTO> columns;
+    private List<List<Double>> scores;
+    private List<PredictionScenarioDTO> ranking;
+}
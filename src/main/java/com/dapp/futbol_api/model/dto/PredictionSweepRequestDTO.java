@@ -0,0 +1,22 @@
+package com.dapp.futbol_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Scenarios of a what-if prediction sweep: every opponent (listed, and those of the upcoming
+ * matches of {@code team}) against every venue and position.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionSweepRequestDTO {
+    private String team;
+    private List<String> opponents;
+    // Both home and away when empty
+    private List<Boolean> venues;
+    private List<String> positions;
+}
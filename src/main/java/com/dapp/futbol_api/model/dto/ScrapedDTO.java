@@ -0,0 +1,47 @@
+package com.dapp.futbol_api.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Base of the DTOs bound from scraper payloads. The fields the DTO does not declare are kept and
+ * written back as they came, so the responses still carry whatever the scraper adds.
+ */
+public abstract class ScrapedDTO {
+
+    // Only allocated when the payload has undeclared fields
+    private Map<String, Object> otherFields;
+
+    @JsonAnySetter
+    public void setOtherField(String name, Object value) {
+        if (otherFields == null) {
+            otherFields = new LinkedHashMap<>();
+        }
+        otherFields.put(name, value);
+    }
+
+    /**
+     * @return The fields of the payload this DTO does not declare, in the order they came.
+     */
+    @JsonAnyGetter
+    public Map<String, Object> getOtherFields() {
+        return otherFields == null ? Map.of() : otherFields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ScrapedDTO other && getOtherFields().equals(other.getOtherFields());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getOtherFields());
+    }
+}
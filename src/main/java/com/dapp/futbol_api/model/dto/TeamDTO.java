@@ -1,10 +1,13 @@
 package com.dapp.futbol_api.model.dto;
 
-import java.util.List;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
 
 @Data
-public class TeamDTO {
+@EqualsAndHashCode(callSuper = true)
+public class TeamDTO extends ScrapedDTO {
     private String name;
     private List<TeamPlayerDTO> squad;
 }
@@ -1,29 +1,46 @@
 package com.dapp.futbol_api.model.dto;
 
+import com.dapp.futbol_api.utils.ScrapedStats;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TeamPlayerDTO {
+@EqualsAndHashCode(callSuper = true)
+public class TeamPlayerDTO extends ScrapedDTO {
     private String name;
-    private String age;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer age;
     private String position;
     private String height;
     private String weight;
+    // Starts and substitute appearances, e.g. "25(3)"
     private String apps;
-    private String minsPlayed;
-    private String goals;
-    private String assists;
-    private String yellowCards;
-    private String redCards;
-    private String shotsPerGame;
-    private String passSuccess;
-    private String aerialsWonPerGame;
-    private String manOfTheMatch;
-    private String rating;
-}
\ No newline at end of file
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer minsPlayed;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer goals;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer assists;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer yellowCards;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer redCards;
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double shotsPerGame;
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double passSuccess;
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double aerialsWonPerGame;
+    @JsonDeserialize(using = ScrapedStats.IntDeserializer.class)
+    private Integer manOfTheMatch;
+    // null when the player has no rating
+    @JsonDeserialize(using = ScrapedStats.DoubleDeserializer.class)
+    private Double rating;
+}
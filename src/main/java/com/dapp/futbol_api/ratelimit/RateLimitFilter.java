@@ -0,0 +1,192 @@
+package com.dapp.futbol_api.ratelimit;
+
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many requests each client sends to the scraper-backed routes of every
+ * {@link EndpointFamily}, so a single client cannot use up the scraper quota of everyone.
+ * <p>
+ * Authenticated requests are counted per token subject, and anonymous ones (the authentication
+ * endpoints) per client IP. Each client gets a {@link TokenBucket} of
+ * {@code api.rate-limit.<family>.capacity} requests that refills every {@code period-ms}. Responses
+ * carry the {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and
+ * {@code RateLimit-Policy} headers; a request over the limit gets a 429 with {@code Retry-After}.
+ * <p>
+ * It runs after the JWT filter, so the subject of the token is known.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String PROPERTY_PREFIX = "api.rate-limit.";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private final boolean enabled;
+    private final Map<EndpointFamily, Limit> limits = new EnumMap<>(EndpointFamily.class);
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimitFilter(Environment environment) {
+        this(environment, System::nanoTime);
+    }
+
+    RateLimitFilter(Environment environment, LongSupplier clock) {
+        this.clock = clock;
+        this.enabled = environment.getProperty(PROPERTY_PREFIX + "enabled", Boolean.class, true);
+        long maxClients = environment.getProperty(PROPERTY_PREFIX + "max-clients", Long.class, 100_000L);
+        for (EndpointFamily family : EndpointFamily.values()) {
+            String prefix = PROPERTY_PREFIX + family.getName();
+            long capacity = environment.getProperty(prefix + ".capacity", Long.class,
+                    (long) family.getDefaultRequestsPerMinute());
+            long periodMs = environment.getProperty(prefix + ".period-ms", Long.class, 60_000L);
+            limits.put(family, new Limit(capacity, TimeUnit.MILLISECONDS.toNanos(periodMs),
+                    capacity + ";w=" + Math.max(1, TimeUnit.MILLISECONDS.toSeconds(periodMs)),
+                    // An idle client's bucket is full again after one period, so it can be dropped
+                    Caffeine.newBuilder()
+                            .maximumSize(maxClients)
+                            .expireAfterAccess(Duration.ofMillis(periodMs))
+                            .build()));
+            if (enabled) {
+                log.info("Rate limit for '{}' requests: {} per {}ms per client", family.getName(), capacity, periodMs);
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointFamily family = familyOf(request);
+        Limit limit = limits.get(family);
+        long now = clock.getAsLong();
+        TokenBucket bucket = limit.buckets.get(clientKey(request),
+                key -> new TokenBucket(limit.capacity, limit.periodNanos, now));
+        boolean allowed = bucket.tryConsume(now);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(limit.capacity));
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.remaining(now)));
+        response.setHeader(RESET_HEADER, String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+        response.setHeader(POLICY_HEADER, limit.policy);
+
+        if (allowed) {
+            limit.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        limit.rejected.increment();
+        long retryAfterSeconds = Math.max(1, toSeconds(bucket.nanosUntilNextToken(now)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Too many " + family.getName() + " requests, try again in "
+                + retryAfterSeconds + " seconds.");
+    }
+
+    /**
+     * Only the routes of an endpoint family are limited.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || familyOf(request) == null;
+    }
+
+    private static EndpointFamily familyOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int pathStart = request.getContextPath().length();
+        if (uri.startsWith("/api/auth/", pathStart)) {
+            return EndpointFamily.AUTH;
+        }
+        if (uri.startsWith("/api/analysis/", pathStart)) {
+            return EndpointFamily.ANALYSIS;
+        }
+        if (uri.startsWith("/api/player", pathStart)) {
+            return EndpointFamily.PLAYER;
+        }
+        if (uri.startsWith("/api/team", pathStart) || uri.startsWith("/api/futureMatches", pathStart)) {
+            return EndpointFamily.TEAM;
+        }
+        return null;
+    }
+
+    /**
+     * @return The token subject of an authenticated request, or the client IP.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        limits.forEach((family, limit) -> {
+            FunctionCounter.builder("api.ratelimit.allowed", limit.allowed, LongAdder::sum)
+                    .description("Requests within the rate limit of their client")
+                    .tag("family", family.getName())
+                    .register(registry);
+            FunctionCounter.builder("api.ratelimit.rejected", limit.rejected, LongAdder::sum)
+                    .description("Requests rejected with 429 because their client exceeded the rate limit")
+                    .tag("family", family.getName())
+                    .register(registry);
+            Gauge.builder("api.ratelimit.clients", limit.buckets, Cache::estimatedSize)
+                    .description("Clients that sent a request within the last rate limit period")
+                    .tag("family", family.getName())
+                    .register(registry);
+        });
+    }
+
+    private record Limit(long capacity, long periodNanos, String policy, Cache<String, TokenBucket> buckets,
+            LongAdder allowed, LongAdder rejected) {
+
+        Limit(long capacity, long periodNanos, String policy, Cache<String, TokenBucket> buckets) {
+            this(capacity, periodNanos, policy, buckets, new LongAdder(), new LongAdder());
+        }
+    }
+}
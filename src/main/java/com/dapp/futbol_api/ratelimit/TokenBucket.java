@@ -0,0 +1,70 @@
+package com.dapp.futbol_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket of {@code capacity} tokens that refills completely every {@code periodNanos}.
+ * <p>
+ * The bucket is stored as the single instant at which it would be full again (the generic cell
+ * rate algorithm), so taking a token is one compare-and-set and needs no lock or refill timer.
+ * Times are {@link System#nanoTime()} values passed by the caller.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Instant at which the bucket is full again; in the past when it is already full
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, long periodNanos, long now) {
+        if (capacity <= 0 || periodNanos <= 0) {
+            throw new IllegalArgumentException("The capacity and period of a token bucket must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return True if a token was taken, false if the bucket is empty.
+     */
+    public boolean tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The tokens left in the bucket.
+     */
+    public long remaining(long now) {
+        return (burstNanos - Math.max(0, fullAt.get() - now)) / intervalNanos;
+    }
+
+    /**
+     * @return Nanoseconds until the next token is available, 0 if there is one now.
+     */
+    public long nanosUntilNextToken(long now) {
+        return Math.max(0, fullAt.get() + intervalNanos - burstNanos - now);
+    }
+
+    /**
+     * @return Nanoseconds until the bucket is full again.
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(0, fullAt.get() - now);
+    }
+}
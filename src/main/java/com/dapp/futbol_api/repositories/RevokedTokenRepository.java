@@ -0,0 +1,17 @@
+package com.dapp.futbol_api.repositories;
+
+import com.dapp.futbol_api.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant instant);
+
+    @Transactional
+    long deleteByExpiresAtBefore(Instant instant);
+
+}
@@ -1,8 +1,12 @@
 package com.dapp.futbol_api.security;
 
 import com.dapp.futbol_api.service.ScraperUserService;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import com.dapp.futbol_api.utils.UserValidator;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -16,6 +20,7 @@ public class AuthenticationService {
     private final ScraperUserService scraperUserService;
     private final JwtService jwtService;
     private final UserValidator userValidator;
+    private final TokenRevocationService tokenRevocationService;
 
     public String register(RegisterRequest request) {
         userValidator.validateRegistrationRequest(request);
@@ -34,9 +39,66 @@ public class AuthenticationService {
 
         // Crear UserDetails temporal y generar token directamente
         UserDetails userDetails = createTemporaryUserDetails(request.getEmail());
-        var jwtToken = jwtService.generateToken(userDetails);
+        return issueTokens(userDetails);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without asking the
+     * scraper again. The refresh token is revoked, so each one can only be used once.
+     */
+    public AuthenticationResponse refresh(RefreshTokenRequest request) {
+        Claims claims = parseRefreshToken(request == null ? null : request.getRefreshToken());
+        // Only the first of two concurrent refreshes with the same token wins
+        if (claims == null || !tokenRevocationService.revoke(claims.getId(), claims.getExpiration())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        return issueTokens(createTemporaryUserDetails(claims.getSubject()));
+    }
 
-        return AuthenticationResponse.builder().token(jwtToken).build();
+    /**
+     * Revokes the refresh token and, if given, the access token of a session, and drops the user's
+     * cached credentials so the next login is checked by the scraper.
+     */
+    public void logout(RefreshTokenRequest request, String accessToken) {
+        Claims refreshClaims = parseRefreshToken(request == null ? null : request.getRefreshToken());
+        if (refreshClaims != null) {
+            tokenRevocationService.revoke(refreshClaims.getId(), refreshClaims.getExpiration());
+            scraperUserService.forgetCredentials(refreshClaims.getSubject());
+        }
+        if (accessToken != null) {
+            try {
+                Claims accessClaims = jwtService.parseToken(accessToken);
+                tokenRevocationService.revoke(accessClaims.getId(), accessClaims.getExpiration());
+                scraperUserService.forgetCredentials(accessClaims.getSubject());
+            } catch (JwtException e) {
+                // An invalid or expired access token cannot be used anyway
+            }
+        }
+    }
+
+    private AuthenticationResponse issueTokens(UserDetails userDetails) {
+        return AuthenticationResponse.builder()
+                .token(jwtService.generateToken(userDetails))
+                .refreshToken(jwtService.generateRefreshToken(userDetails))
+                .build();
+    }
+
+    /**
+     * @return The claims of a valid, unrevoked refresh token, or null.
+     */
+    private Claims parseRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return null;
+        }
+        try {
+            Claims claims = jwtService.parseToken(refreshToken);
+            if (!jwtService.isRefreshToken(claims) || tokenRevocationService.isRevoked(claims.getId())) {
+                return null;
+            }
+            return claims;
+        } catch (JwtException e) {
+            return null;
+        }
     }
 
     private UserDetails createTemporaryUserDetails(String email) {
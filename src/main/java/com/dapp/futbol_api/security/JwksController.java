@@ -0,0 +1,35 @@
+package com.dapp.futbol_api.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Publishes the public keys that verify the tokens, so other services can check them offline.
+     * Not found when tokens are signed with HMAC, whose keys are secret.
+     */
+    @GetMapping(JWKS_PATH)
+    public ResponseEntity<String> jwks() {
+        String jwkSet = keyRing.jwkSet();
+        if (jwkSet == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwkSet);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dapp.futbol_api.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The authentication of a request that carried a valid access token.
+ * <p>
+ * Unlike {@code UsernamePasswordAuthenticationToken}, it does not copy the authorities or carry
+ * request details (remote address, session id) that nothing reads in a stateless API: it only
+ * wraps the {@link UserDetails} of the token subject, which is shared between requests.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private static final long serialVersionUID = 1L;
+
+    private final UserDetails principal;
+
+    public JwtAuthentication(UserDetails principal) {
+        this.principal = Objects.requireNonNull(principal);
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public UserDetails getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    /**
+     * The token was verified when this authentication was created, so it cannot be marked as trusted
+     * again; it can only stay authenticated.
+     */
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("A verified token authentication cannot be marked as not authenticated");
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof JwtAuthentication authentication && principal.equals(authentication.principal);
+    }
+
+    @Override
+    public int hashCode() {
+        return principal.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[" + getName() + ", " + getAuthorities() + "]";
+    }
+}
@@ -1,26 +1,36 @@
 package com.dapp.futbol_api.security;
 
+import com.dapp.futbol_api.config.SecurityConstants;
+import com.dapp.futbol_api.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates the requests that carry a valid access token as a {@link JwtAuthentication}.
+ * <p>
+ * Public routes that never read the authentication (monitoring scrapes, documentation, the
+ * authentication endpoints) are not filtered at all, so their token, if any, is not even parsed.
+ * They are the {@link SecurityConstants#WHITE_LIST} the security chain permits, so skipping the
+ * filter can only leave a permitted request anonymous, never grant it access.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final SimpleUserDetailsService simpleUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -38,20 +48,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        // Verified once; the claims are reused for the checks below
+        final Claims claims = jwtService.parseToken(jwt);
+        userEmail = claims.getSubject();
+
+        // Refresh tokens and revoked tokens do not authenticate requests
+        if (jwtService.isRefreshToken(claims) || tokenRevocationService.isRevoked(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.simpleUserDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (jwtService.isTokenValid(claims, userDetails)) {
+                SecurityContextHolder.getContext().setAuthentication(new JwtAuthentication(userDetails));
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return SecurityConstants.WHITE_LIST.matches(request);
+    }
 }
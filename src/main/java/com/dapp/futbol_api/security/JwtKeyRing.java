@@ -0,0 +1,309 @@
+package com.dapp.futbol_api.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The keys that sign and verify the JWTs, indexed by the {@code kid} header of the tokens.
+ * <p>
+ * {@code api.security.jwt.algorithm} selects HMAC ({@code HS256}, the default) or an asymmetric
+ * algorithm ({@code ES256}, {@code EdDSA}). With an asymmetric algorithm tokens are signed with a
+ * private key and the public keys are published as a JWKS, so other services can verify tokens
+ * without calling this API.
+ * <p>
+ * Without {@code api.security.jwt.keys.file} the ring only holds {@code api.security.jwt.secret-key}
+ * (HMAC) or a key pair generated at startup (asymmetric). With it, the keys come from that file,
+ * which is checked every {@code reload-interval-ms} and reloaded when its contents change:
+ * <ul>
+ *     <li>a properties file with {@code active=<kid>} and, per key, {@code key.<kid>=<Base64 secret>}
+ *     (HMAC) or {@code key.<kid>.public=<Base64 X.509>} plus {@code key.<kid>.private=<Base64 PKCS#8>}
+ *     for the keys that still sign (asymmetric), or</li>
+ *     <li>a PKCS12 keystore ({@code .p12}, {@code .pfx}) whose aliases are the kids, opened with
+ *     {@code api.security.jwt.keys.password}: secret keys (HMAC), or private keys with their
+ *     certificate and trusted certificates (asymmetric). The active key is
+ *     {@code api.security.jwt.keys.active} or else the newest entry that can sign.</li>
+ * </ul>
+ * New tokens are signed with the active key and any key of the ring verifies; a key retires when it
+ * is removed from the file. Tokens without a {@code kid} (issued before the ring) are verified with
+ * the key of {@code api.security.jwt.keys.legacy-kid} if the ring still holds it.
+ * <p>
+ * The ring is an immutable snapshot replaced as a whole on reload, so lookups are a plain map read.
+ */
+@Component
+public class JwtKeyRing implements DisposableBean {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final String PROPERTY_PREFIX = "api.security.jwt.keys.";
+    private static final String KEY_PREFIX = "key.";
+    private static final String PUBLIC_SUFFIX = ".public";
+    private static final String PRIVATE_SUFFIX = ".private";
+
+    private final String algorithm;
+    private final String legacyKid;
+    private final Path file;
+    private final char[] password;
+    private final String configuredActiveKid;
+    private final ScheduledExecutorService reloader;
+    private volatile Ring ring;
+    private byte[] fileContents;
+
+    public JwtKeyRing(Environment environment) {
+        algorithm = parseAlgorithm(environment.getProperty("api.security.jwt.algorithm", HS256));
+        legacyKid = environment.getProperty(PROPERTY_PREFIX + "legacy-kid", "default");
+        String location = environment.getProperty(PROPERTY_PREFIX + "file", "");
+        password = environment.getProperty(PROPERTY_PREFIX + "password", "").toCharArray();
+        configuredActiveKid = environment.getProperty(PROPERTY_PREFIX + "active");
+        if (location.isBlank()) {
+            file = null;
+            reloader = null;
+            ring = isAsymmetric() ? generatedRing() : secretKeyRing(environment.getProperty("api.security.jwt.secret-key"));
+            return;
+        }
+        file = Path.of(location);
+        if (!reload()) {
+            throw new IllegalStateException("Could not load the JWT keys from " + file);
+        }
+        long reloadIntervalMs = environment.getProperty(PROPERTY_PREFIX + "reload-interval-ms", Long.class, 30_000L);
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-key-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reload, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return The kid and key new tokens are signed with.
+     */
+    public SigningKey activeKey() {
+        return ring.activeKey();
+    }
+
+    /**
+     * @param kid The {@code kid} header of a token, or null if it has none.
+     * @return The key that verifies the token, or null if the key is unknown or retired.
+     */
+    public Key verificationKey(String kid) {
+        return ring.keys().get(kid != null ? kid : legacyKid);
+    }
+
+    /**
+     * @return A number that changes every time the keys are reloaded.
+     */
+    public long generation() {
+        return ring.generation();
+    }
+
+    /**
+     * @return True if tokens are signed with a private key and can be verified with the published public keys.
+     */
+    public boolean isAsymmetric() {
+        return !HS256.equals(algorithm);
+    }
+
+    /**
+     * @return The public keys of the ring as a JWK Set document, or null with HMAC keys, which are never published.
+     */
+    public String jwkSet() {
+        return ring.jwkSet();
+    }
+
+    /**
+     * Reloads the keys if the file has changed. An unreadable or invalid file keeps the current keys.
+     *
+     * @return False if the file could not be loaded.
+     */
+    public synchronized boolean reload() {
+        if (file == null) {
+            return true;
+        }
+        try {
+            byte[] contents = Files.readAllBytes(file);
+            if (Arrays.equals(contents, fileContents)) {
+                return true;
+            }
+            Ring loaded = isKeyStore() ? readKeyStore(contents) : readProperties(contents);
+            fileContents = contents;
+            ring = loaded;
+            log.info("Loaded {} {} JWT keys from {}, active key '{}'", loaded.keys().size(), algorithm, file,
+                    loaded.activeKey().kid());
+            return true;
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("Could not reload the JWT keys from {}, keeping the current ones: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String parseAlgorithm(String algorithm) {
+        return switch (algorithm.toUpperCase(Locale.ROOT)) {
+            case "HS256", "HMAC" -> HS256;
+            case "ES256" -> ES256;
+            case "EDDSA", "ED25519" -> EDDSA;
+            default -> throw new IllegalStateException("Unsupported api.security.jwt.algorithm: " + algorithm);
+        };
+    }
+
+    private Ring secretKeyRing(String secretKey) {
+        if (secretKey == null || secretKey.isBlank()) {
+            throw new IllegalStateException("Either api.security.jwt.secret-key or "
+                    + PROPERTY_PREFIX + "file must be configured");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        return newRing(Map.of(legacyKid, key), Map.of(legacyKid, key), legacyKid);
+    }
+
+    private Ring generatedRing() {
+        KeyPair keyPair = ES256.equals(algorithm)
+                ? Jwts.SIG.ES256.keyPair().build()
+                : Jwks.CRV.Ed25519.keyPair().build();
+        String kid = UUID.randomUUID().toString();
+        log.warn("No {}file configured: signing {} tokens with a key pair generated at startup ('{}'); "
+                + "tokens will not survive a restart", PROPERTY_PREFIX, algorithm, kid);
+        return newRing(Map.of(kid, keyPair.getPublic()), Map.of(kid, keyPair.getPrivate()), kid);
+    }
+
+    private boolean isKeyStore() {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".p12") || name.endsWith(".pfx");
+    }
+
+    private Ring readProperties(byte[] contents) throws IOException, GeneralSecurityException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(new String(contents, StandardCharsets.UTF_8)));
+        Map<String, Key> verificationKeys = new HashMap<>();
+        Map<String, Key> signingKeys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (!name.startsWith(KEY_PREFIX)) {
+                continue;
+            }
+            byte[] encoded = Decoders.BASE64.decode(properties.getProperty(name).trim());
+            String kid = name.substring(KEY_PREFIX.length());
+            if (!isAsymmetric()) {
+                SecretKey key = Keys.hmacShaKeyFor(encoded);
+                verificationKeys.put(kid, key);
+                signingKeys.put(kid, key);
+            } else if (kid.endsWith(PUBLIC_SUFFIX)) {
+                kid = kid.substring(0, kid.length() - PUBLIC_SUFFIX.length());
+                verificationKeys.put(kid, keyFactory().generatePublic(new X509EncodedKeySpec(encoded)));
+            } else if (kid.endsWith(PRIVATE_SUFFIX)) {
+                kid = kid.substring(0, kid.length() - PRIVATE_SUFFIX.length());
+                signingKeys.put(kid, keyFactory().generatePrivate(new PKCS8EncodedKeySpec(encoded)));
+            }
+        }
+        return newRing(verificationKeys, signingKeys, properties.getProperty("active", configuredActiveKid));
+    }
+
+    private Ring readKeyStore(byte[] contents) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(new ByteArrayInputStream(contents), password);
+        Map<String, Key> verificationKeys = new HashMap<>();
+        Map<String, Key> signingKeys = new HashMap<>();
+        String newest = null;
+        Date newestDate = null;
+        for (Enumeration<String> aliases = keyStore.aliases(); aliases.hasMoreElements(); ) {
+            String alias = aliases.nextElement();
+            Key signingKey = null;
+            if (!isAsymmetric() && keyStore.getKey(alias, password) instanceof SecretKey secret) {
+                signingKey = Keys.hmacShaKeyFor(secret.getEncoded());
+                verificationKeys.put(alias, signingKey);
+            } else if (isAsymmetric() && keyStore.getCertificate(alias) != null) {
+                verificationKeys.put(alias, keyStore.getCertificate(alias).getPublicKey());
+                if (keyStore.isKeyEntry(alias) && keyStore.getKey(alias, password) instanceof PrivateKey privateKey) {
+                    signingKey = privateKey;
+                }
+            }
+            if (signingKey != null) {
+                signingKeys.put(alias, signingKey);
+                Date created = keyStore.getCreationDate(alias);
+                if (newestDate == null || (created != null && created.after(newestDate))) {
+                    newest = alias;
+                    newestDate = created;
+                }
+            }
+        }
+        return newRing(verificationKeys, signingKeys, configuredActiveKid != null ? configuredActiveKid : newest);
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance(ES256.equals(algorithm) ? "EC" : "Ed25519");
+    }
+
+    private Ring newRing(Map<String, Key> verificationKeys, Map<String, Key> signingKeys, String activeKid) {
+        if (activeKid == null || !signingKeys.containsKey(activeKid) || !verificationKeys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("The active key '" + activeKid + "' cannot sign and verify");
+        }
+        Ring current = ring;
+        return new Ring(Collections.unmodifiableMap(verificationKeys),
+                new SigningKey(activeKid, signingKeys.get(activeKid)),
+                isAsymmetric() ? toJwkSet(verificationKeys) : null,
+                current == null ? 0 : current.generation() + 1);
+    }
+
+    private String toJwkSet(Map<String, Key> verificationKeys) {
+        StringJoiner keys = new StringJoiner(",", "{\"keys\":[", "]}");
+        verificationKeys.forEach((kid, key) -> {
+            PublicJwk<?> jwk = Jwks.builder().key((PublicKey) key).id(kid).algorithm(algorithm)
+                    .publicKeyUse("sig").build();
+            keys.add(Jwks.json(jwk));
+        });
+        return keys.toString();
+    }
+
+    @Override
+    public void destroy() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * The key new tokens are signed with and the kid written in their header.
+     */
+    public record SigningKey(String kid, Key key) {
+    }
+
+    private record Ring(Map<String, Key> keys, SigningKey activeKey, String jwkSet, long generation) {
+    }
+}
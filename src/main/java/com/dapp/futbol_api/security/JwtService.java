@@ -1,29 +1,72 @@
 package com.dapp.futbol_api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the JWTs of the API.
+ * <p>
+ * Tokens are signed with the active key of the {@link JwtKeyRing} and carry its {@code kid}; the
+ * parser looks the verification key up by that header. Every token has a {@code jti}, so it can be
+ * revoked. Access tokens expire after {@code expiration-ms} ({@code asymmetric.expiration-ms} with an
+ * asymmetric algorithm); refresh tokens carry {@code token_use=refresh}, last
+ * {@code refresh.expiration-ms} and are only accepted by the refresh endpoint.
+ * <p>
+ * Verified tokens are kept in a bounded cache keyed on their signature until they expire, so a
+ * client that sends the same token on every request only pays for the verification and JSON
+ * parsing once.
+ */
 @Service
 public class JwtService {
 
-    @Value("${api.security.jwt.secret-key}")
-    private String secretKey;
+    private static final String TOKEN_USE_CLAIM = "token_use";
+    private static final String REFRESH = "refresh";
+
+    private final JwtKeyRing keyRing;
 
     @Value("${api.security.jwt.expiration-ms}")
     private long jwtExpiration;
 
+    // Asymmetric tokens are verified offline by other services and cannot be revoked, so they are short-lived
+    @Value("${api.security.jwt.asymmetric.expiration-ms:900000}")
+    private long asymmetricExpiration = 900_000;
+
+    @Value("${api.security.jwt.refresh.expiration-ms:1209600000}")
+    private long refreshExpiration = 1_209_600_000;
+
+    @Value("${api.security.jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10_000;
+
+    // Upper bound for cached tokens, also for those without an expiration
+    @Value("${api.security.jwt.cache.max-ttl-ms:900000}")
+    private long cacheMaxTtlMs = 900_000;
+
+    private volatile Verifier verifier;
+
+    public JwtService(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -35,7 +78,7 @@ public class JwtService {
 
     /**
      * Generates a JWT for the given user details.
-     * 
+     *
      * @param userDetails The user details.
      * @return A JWT string.
      */
@@ -45,58 +88,189 @@ public class JwtService {
 
     /**
      * Generates a JWT with extra claims for the given user details.
-     * 
+     *
      * @param extraClaims Extra claims to add to the token.
      * @param userDetails The user details.
      * @return A JWT string.
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return buildToken(extraClaims, userDetails, keyRing.isAsymmetric() ? asymmetricExpiration : jwtExpiration);
+    }
+
+    /**
+     * Generates a refresh token, which can only be exchanged for new tokens.
+     *
+     * @param userDetails The user details.
+     * @return A JWT string.
+     */
+    public String generateRefreshToken(UserDetails userDetails) {
+        return buildToken(Map.of(TOKEN_USE_CLAIM, REFRESH), userDetails, refreshExpiration);
+    }
+
+    /**
+     * @param claims The verified claims of a token.
+     * @return True if the token is a refresh token, which must not authenticate requests.
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH.equals(claims.get(TOKEN_USE_CLAIM));
+    }
+
+    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        JwtKeyRing.SigningKey signingKey = keyRing.activeKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(signingKey.key())
                 .compact();
     }
 
     /**
      * Validates a token.
-     * 
+     *
      * @param token       The token to validate.
      * @param userDetails The user details to validate against.
      * @return True if the token is valid, false otherwise.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(extractAllClaims(token), userDetails);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Validates the claims of a token already verified with {@link #parseToken(String)}.
+     *
+     * @param claims      The verified claims.
+     * @param userDetails The user details to validate against.
+     * @return True if the token belongs to the user and has not expired.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isExpired(claims);
+    }
+
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = extractAllClaims(token).getExpiration();
-            return expiration.before(new Date());
+            return isExpired(extractAllClaims(token));
         } catch (ExpiredJwtException e) {
             return true;
         }
     }
 
     /**
-     * Extracts all claims from a token.
-     * 
+     * Verifies the signature of a token and returns its claims. This is the only step that checks
+     * the signature; callers should keep the claims instead of parsing the token again.
+     *
+     * @param token The token to verify.
+     * @return The verified claims.
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, has a wrong signature or has expired.
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * Extracts all claims from a token, from the cache of verified tokens when possible.
+     *
      * @param token The token to extract claims from.
      * @return The claims.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().verifyWith(getSignInKey()).build().parseSignedClaims(token).getPayload();
+        Verifier current = verifier();
+        if (current.cache() == null) {
+            return current.parser().parseSignedClaims(token).getPayload();
+        }
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        // Tokens verified before the keys were reloaded are verified again, in case their key retired
+        long generation = keyRing.generation();
+        VerifiedToken cached = current.cache().getIfPresent(signature);
+        if (cached != null && cached.generation() == generation && cached.token().equals(token)) {
+            return cached.claims();
+        }
+        Claims claims = current.parser().parseSignedClaims(token).getPayload();
+        if (!signature.isEmpty()) {
+            current.cache().put(signature, new VerifiedToken(token, claims, generation));
+        }
+        return claims;
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * @return The parser and the cache of verified tokens, built on first use.
+     */
+    private Verifier verifier() {
+        Verifier current = verifier;
+        if (current == null) {
+            JwtParser parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    Key key = keyRing.verificationKey(header.getKeyId());
+                    if (key == null) {
+                        throw new InvalidKeyException("Unknown or retired signing key '" + header.getKeyId() + "'");
+                    }
+                    return key;
+                }
+            }).build();
+            current = new Verifier(parser, newCache());
+            verifier = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return The cache of verified tokens, or null if it is disabled ({@code max-size=0}).
+     */
+    private Cache<String, VerifiedToken> newCache() {
+        if (cacheMaxSize <= 0) {
+            return null;
+        }
+        long maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheMaxTtlMs);
+        return Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(@NonNull String signature, @NonNull VerifiedToken verified,
+                            long currentTime) {
+                        Date expiration = verified.claims().getExpiration();
+                        if (expiration == null) {
+                            return maxTtlNanos;
+                        }
+                        long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+                                expiration.getTime() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(maxTtlNanos, untilExpiration));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(@NonNull String signature, @NonNull VerifiedToken verified,
+                            long currentTime, long currentDuration) {
+                        return expireAfterCreate(signature, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(@NonNull String signature, @NonNull VerifiedToken verified,
+                            long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private record Verifier(JwtParser parser, Cache<String, VerifiedToken> cache) {
+    }
+
+    /**
+     * A verified token; the full token is kept so a hit is only accepted for the exact same token,
+     * and the key ring generation so a hit is only accepted while the keys have not changed.
+     */
+    private record VerifiedToken(String token, Claims claims, long generation) {
     }
 }
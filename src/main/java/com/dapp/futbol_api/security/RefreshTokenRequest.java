@@ -0,0 +1,17 @@
+package com.dapp.futbol_api.security;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+    @Schema(description = "Refresh token returned by the login or a previous refresh.",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private String refreshToken;
+}
@@ -1,5 +1,8 @@
 package com.dapp.futbol_api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,23 +12,40 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+/**
+ * Users of the API are the subjects of its tokens, all with the {@code USER} authority.
+ * <p>
+ * The details only depend on the email, so they are built once per subject and the same immutable
+ * instance is returned to every authenticated request of that user.
+ */
 @Service
 public class SimpleUserDetailsService implements UserDetailsService {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final Cache<String, UserDetails> users = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_USERS)
+            .build();
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         if (email == null || email.trim().isEmpty()) {
             throw new UsernameNotFoundException("Email cannot be null or empty");
         }
 
+        return users.get(email, SimpleUserDetailsService::buildUser);
+    }
+
+    private static UserDetails buildUser(String email) {
         return User.builder()
                 .username(email)
                 .password("")
-                .authorities(List.of(new SimpleGrantedAuthority("USER")))
+                .authorities(USER_AUTHORITIES)
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
                 .disabled(false)
                 .build();
     }
-}
\ No newline at end of file
+}
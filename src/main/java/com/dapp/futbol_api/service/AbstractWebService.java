@@ -1,5 +1,9 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.CallPriority;
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -7,6 +11,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
 @Service
 public abstract class AbstractWebService {
 
@@ -14,8 +23,24 @@ public abstract class AbstractWebService {
     protected static final String NOT_FOUND = "Not found";
 
     protected final RestTemplate restTemplate;
+    protected final ScraperCallExecutor callExecutor;
+    private final EndpointFamily family;
+    private final String scraperServiceUrl;
+    private final AsyncScraperClient asyncClient;
+
+    /**
+     * Creates a service that always calls the scraper through the blocking engine.
+     */
+    protected AbstractWebService(RestTemplateBuilder restTemplateBuilder, String scraperServiceUrl,
+            ScraperCallExecutor callExecutor, EndpointFamily family) {
+        this(restTemplateBuilder, scraperServiceUrl, callExecutor, family, null);
+    }
 
-    protected AbstractWebService(RestTemplateBuilder restTemplateBuilder, String scraperServiceUrl) {
+    /**
+     * Creates a service whose GETs go through the non-blocking engine when the async client is enabled.
+     */
+    protected AbstractWebService(RestTemplateBuilder restTemplateBuilder, String scraperServiceUrl,
+            ScraperCallExecutor callExecutor, EndpointFamily family, AsyncScraperClient asyncClient) {
         log.info("Initializing WebService with base URL: {}", scraperServiceUrl);
 
         // Configure RestTemplate to NOT encode URLs automatically
@@ -25,5 +50,104 @@ public abstract class AbstractWebService {
         this.restTemplate = restTemplateBuilder
                 .uriTemplateHandler(uriBuilderFactory)
                 .build();
+        this.callExecutor = callExecutor;
+        this.family = family;
+        this.scraperServiceUrl = scraperServiceUrl;
+        this.asyncClient = asyncClient;
+    }
+
+    /**
+     * Performs a GET against the scraper service. Identical GETs that are in flight at the
+     * same time are merged, so a single upstream request serves all of them.
+     */
+    protected <T> T fetch(String url, Class<T> responseType) {
+        return fetch(url, responseType, family.getDefaultPriority());
+    }
+
+    /**
+     * Same as {@link #fetch(String, Class)}, shed by the scraper concurrency limit according to
+     * the given priority.
+     */
+    protected <T> T fetch(String url, Class<T> responseType, CallPriority priority) {
+        return callExecutor.execute(family, priority, "GET " + url,
+                () -> restTemplate.getForObject(url, responseType));
+    }
+
+    /**
+     * Performs a GET against the scraper service with the engine selected by {@code scraper.client.mode}.
+     * The non-blocking engine holds no thread while the scraper answers; the blocking one runs
+     * {@link #fetch(String, Class)} on the current thread and returns a completed future.
+     * Either way, failures are reported through the future with the same exceptions.
+     */
+    protected <T> CompletableFuture<T> fetchAsync(String url, Class<T> responseType) {
+        return fetchAsync(url, responseType, family.getDefaultPriority());
+    }
+
+    /**
+     * Same as {@link #fetchAsync(String, Class)}, shed by the scraper concurrency limit according to
+     * the given priority.
+     */
+    protected <T> CompletableFuture<T> fetchAsync(String url, Class<T> responseType, CallPriority priority) {
+        if (asyncClient == null || !asyncClient.isEnabled()) {
+            try {
+                return CompletableFuture.completedFuture(fetch(url, responseType, priority));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        URI uri = URI.create(url.startsWith("/") ? scraperServiceUrl + url : url);
+        return callExecutor.executeAsync(family, priority, "GET " + url, () -> asyncClient.get(uri, responseType));
+    }
+
+    /**
+     * Starts a lookup built on {@link #fetchAsync(String, Class)} so that it runs at the same time as
+     * the caller's next ones. The non-blocking engine already does; with the blocking engine the
+     * lookup is moved to a scraper call thread.
+     */
+    protected <T> CompletableFuture<T> fanOut(Supplier<CompletableFuture<T>> lookup) {
+        if (asyncClient != null && asyncClient.isEnabled()) {
+            return lookup.get();
+        }
+        return callExecutor.supplyAsync(() -> await(lookup.get()));
+    }
+
+    /**
+     * Waits for a future of {@link #fetchAsync(String, Class)}, rethrowing its failure unchanged.
+     */
+    protected static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return The actual failure behind the {@link CompletionException} of a future stage.
+     */
+    protected static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Performs any other request against the scraper service (e.g. a POST), without merging it
+     * but still behind the circuit breaker and bulkhead of the service's endpoint family.
+     */
+    protected <T> T send(Supplier<T> request) {
+        return send(request, family.getDefaultPriority());
+    }
+
+    /**
+     * Same as {@link #send(Supplier)} with the given priority for the scraper concurrency limit.
+     */
+    protected <T> T send(Supplier<T> request, CallPriority priority) {
+        return callExecutor.executeUnshared(family, priority, request);
     }
-}
\ No newline at end of file
+}
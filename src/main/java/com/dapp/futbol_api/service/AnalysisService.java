@@ -3,14 +3,19 @@ package com.dapp.futbol_api.service;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -18,37 +23,112 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.util.UriUtils;
 
+import com.dapp.futbol_api.analytics.PerformanceMetricsEngine;
+import com.dapp.futbol_api.analytics.PerformancePredictor;
+import com.dapp.futbol_api.cache.CachePolicy;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.CallPriority;
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
 import com.dapp.futbol_api.exception.AnalysisServiceException;
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import com.dapp.futbol_api.model.dto.GameMatchDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepRequestDTO;
 
 @Service
 public class AnalysisService extends AbstractWebService {
 
     private static final Logger log = LoggerFactory.getLogger(AnalysisService.class);
     private final String scraperServiceUrl;
+    private final ScraperResponseCache responseCache;
+    private final PlayerService playerService;
+    private final PerformanceMetricsEngine metricsEngine;
+    private final PerformancePredictor predictor;
+    private final TeamService teamService;
+    private final int sweepMaxScenarios;
 
     public AnalysisService(RestTemplateBuilder restTemplateBuilder,
-            @Value("${scraper.service.url}") String scraperServiceUrl) {
-        super(restTemplateBuilder, scraperServiceUrl);
+            @Value("${scraper.service.url}") String scraperServiceUrl,
+            ScraperCallExecutor callExecutor,
+            ScraperResponseCache responseCache,
+            AsyncScraperClient asyncClient,
+            PlayerService playerService,
+            PerformanceMetricsEngine metricsEngine,
+            PerformancePredictor predictor,
+            TeamService teamService,
+            @Value("${scraper.prediction.sweep.max-scenarios:500}") int sweepMaxScenarios) {
+        super(restTemplateBuilder, scraperServiceUrl, callExecutor, EndpointFamily.ANALYSIS, asyncClient);
         this.scraperServiceUrl = scraperServiceUrl;
+        this.responseCache = responseCache;
+        this.playerService = playerService;
+        this.metricsEngine = metricsEngine;
+        this.predictor = predictor;
+        this.teamService = teamService;
+        this.sweepMaxScenarios = sweepMaxScenarios;
     }
 
     /**
      * Gets performance metrics for a player.
      */
     public Object getPlayerPerformanceMetrics(String playerName, Authentication authentication) {
+        return await(getPlayerPerformanceMetricsAsync(playerName, authentication));
+    }
+
+    /**
+     * Non-blocking version of {@link #getPlayerPerformanceMetrics(String, Authentication)}.
+     * <p>
+     * The metrics are computed locally from the match stats of the player profile (cached or
+     * fetched), and the query is still sent to the scraper, without waiting for it, so it is recorded
+     * in the user's history. The scraper's metrics endpoint answers only if the profile has no match
+     * stats; a failed profile lookup fails the request.
+     */
+    public CompletableFuture<Object> getPlayerPerformanceMetricsAsync(String playerName,
+            Authentication authentication) {
         String decodedPlayerName = decodeUrlParameter(playerName);
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String userEmail = userDetails.getUsername();
-        log.info("Requesting performance metrics for player '{}'  by user (email: {}) from {}",
-                decodedPlayerName, userEmail, scraperServiceUrl);
+        String url = performanceMetricsUrl(decodedPlayerName, authentication);
+        if (!metricsEngine.isEnabled()) {
+            return fetchPerformanceMetrics(decodedPlayerName, url);
+        }
+        log.info("Computing performance metrics for player '{}' from its match stats", decodedPlayerName);
+        return computeFromMatchStats(decodedPlayerName,
+                player -> metricsEngine.compute(decodedPlayerName, player),
+                () -> recordQuery(url, decodedPlayerName, "performance metrics analysis"),
+                () -> fetchPerformanceMetrics(decodedPlayerName, url));
+    }
 
-        String url = UriComponentsBuilder.fromUriString(scraperServiceUrl)
+    /**
+     * Computes a result from the match stats of the player profile (cached or fetched) and records
+     * the query, or asks the scraper if the profile has no match stats to compute it from (null).
+     * Errors fetching the profile, such as an unavailable scraper, are not retried upstream.
+     */
+    private CompletableFuture<Object> computeFromMatchStats(String decodedPlayerName,
+            Function<PlayerDTO, Object> compute, Runnable record, Supplier<CompletableFuture<Object>> upstream) {
+        return playerService.getPlayerInfoWithFreshnessAsync(decodedPlayerName).thenCompose(player -> {
+            Object result = compute.apply(player.value());
+            if (result == null) {
+                return upstream.get();
+            }
+            record.run();
+            return CompletableFuture.completedFuture(result);
+        });
+    }
+
+    private String performanceMetricsUrl(String decodedPlayerName, Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return UriComponentsBuilder.fromUriString(scraperServiceUrl)
                 .path("/api/analysis/{player}/performanceMetrics")
-                .queryParam("userEmail", userEmail)
+                .queryParam("userEmail", userDetails.getUsername())
                 .buildAndExpand(encodePathSegment(decodedPlayerName))
                 .toUriString();
+    }
 
-        return performApiCall(url, HttpMethod.GET, decodedPlayerName, "performance metrics analysis",
+    private CompletableFuture<Object> fetchPerformanceMetrics(String decodedPlayerName, String url) {
+        log.info("Requesting performance metrics for player '{}' from {}", decodedPlayerName, url);
+        return performGet(url, CachePolicy.PERFORMANCE_METRICS, decodedPlayerName,
+                "performance metrics analysis",
                 "Unexpected error while fetching player performance metrics.");
     }
 
@@ -56,28 +136,165 @@ public class AnalysisService extends AbstractWebService {
      * Gets performance prediction for the next match.
      */
     public Object getPerformancePrediction(String playerName, String opponent, boolean isHome, String position, Authentication authentication) {
+        return await(getPerformancePredictionAsync(playerName, opponent, isHome, position, authentication));
+    }
+
+    /**
+     * Non-blocking version of {@link #getPerformancePrediction(String, String, boolean, String, Authentication)}.
+     * <p>
+     * The prediction is computed locally from the match stats of the player profile (cached or
+     * fetched), and the query is still sent to the scraper, without waiting for it, so it is recorded
+     * in the user's history. The scraper's prediction endpoint answers only if the profile has no
+     * match stats; a failed profile lookup fails the request.
+     */
+    public CompletableFuture<Object> getPerformancePredictionAsync(String playerName, String opponent, boolean isHome,
+            String position, Authentication authentication) {
         String decodedPlayerName = decodeUrlParameter(playerName);
         String decodedOpponent = decodeUrlParameter(opponent);
         String decodedPosition = decodeUrlParameter(position);
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String userEmail = userDetails.getUsername();
-
-        log.info("Requesting performance prediction for player '{}' vs '{}' by user (email: {}) from {}",
-                decodedPlayerName, decodedOpponent, userEmail, scraperServiceUrl);
+        String url = performancePredictionUrl(decodedPlayerName, decodedOpponent, isHome, decodedPosition,
+                authentication);
+        if (!predictor.isEnabled()) {
+            return fetchPerformancePrediction(decodedPlayerName, decodedOpponent, url);
+        }
+        log.info("Predicting performance of player '{}' vs '{}' from its match stats", decodedPlayerName,
+                decodedOpponent);
+        return computeFromMatchStats(decodedPlayerName,
+                player -> predictor.predict(decodedPlayerName, player, decodedOpponent, isHome, decodedPosition),
+                () -> recordQuery(url, decodedPlayerName, "prediction"),
+                () -> fetchPerformancePrediction(decodedPlayerName, decodedOpponent, url));
+    }
 
-        String url = UriComponentsBuilder.fromUriString(scraperServiceUrl)
+    private String performancePredictionUrl(String decodedPlayerName, String decodedOpponent, boolean isHome,
+            String decodedPosition, Authentication authentication) {
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return UriComponentsBuilder.fromUriString(scraperServiceUrl)
                 .path("/api/analysis/{player}/prediction")
                 .queryParam("opponent", encodeQueryParam(decodedOpponent))
                 .queryParam("isHome", isHome)
                 .queryParam("position", encodeQueryParam(decodedPosition))
-                .queryParam("userEmail", userEmail)
+                .queryParam("userEmail", userDetails.getUsername())
                 .buildAndExpand(encodePathSegment(decodedPlayerName))
                 .toUriString();
+    }
 
-        return performApiCall(url, HttpMethod.GET, decodedPlayerName, "prediction",
+    private CompletableFuture<Object> fetchPerformancePrediction(String decodedPlayerName, String decodedOpponent,
+            String url) {
+        log.info("Requesting performance prediction for player '{}' vs '{}' from {}",
+                decodedPlayerName, decodedOpponent, url);
+        return performGet(url, CachePolicy.ANALYSIS, decodedPlayerName, "prediction",
                 "Unexpected error while generating performance prediction.");
     }
 
+    /**
+     * Predicts the player's next match in every scenario of the request.
+     */
+    public PredictionSweepDTO sweepPerformancePredictions(String playerName, PredictionSweepRequestDTO request) {
+        return await(sweepPerformancePredictionsAsync(playerName, request));
+    }
+
+    /**
+     * Non-blocking version of {@link #sweepPerformancePredictions(String, PredictionSweepRequestDTO)}.
+     * <p>
+     * The opponents are those listed plus the rivals of the upcoming matches of the request's team,
+     * without repeats; the venues default to home and away. Every scenario is predicted locally in
+     * one pass over the match stats of the player profile (cached or fetched): the scraper has no
+     * sweep endpoint, so the sweep fails if local predictions are disabled or the profile has no
+     * match stats.
+     * <p>
+     * The returned future fails with an {@link IllegalArgumentException} if there is no opponent or
+     * position, more than {@code scraper.prediction.sweep.max-scenarios} scenarios or no match stats,
+     * and with an {@link AnalysisServiceException} (503) if local predictions are disabled.
+     */
+    public CompletableFuture<PredictionSweepDTO> sweepPerformancePredictionsAsync(String playerName,
+            PredictionSweepRequestDTO request) {
+        if (!predictor.isEnabled()) {
+            return CompletableFuture.failedFuture(new AnalysisServiceException(
+                    "Prediction sweeps are not available: local predictions are disabled."));
+        }
+        String decodedPlayerName;
+        List<String> positions;
+        List<Boolean> venues;
+        List<String> listedOpponents;
+        try {
+            decodedPlayerName = decodeUrlParameter(playerName);
+            positions = distinct(request.getPositions(), "Positions");
+            if (positions.isEmpty()) {
+                throw new IllegalArgumentException("At least one position is required.");
+            }
+            venues = request.getVenues() == null || request.getVenues().isEmpty()
+                    ? List.of(true, false)
+                    : request.getVenues().stream().map(Boolean.TRUE::equals).distinct().toList();
+            listedOpponents = distinct(request.getOpponents(), "Opponents");
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String team = request.getTeam();
+        CompletableFuture<List<String>> upcomingOpponents = team == null || team.isBlank()
+                ? CompletableFuture.completedFuture(List.of())
+                : teamService.getFutureMatchesAsync(team).thenApply(matches -> rivals(team, matches));
+        return upcomingOpponents.thenCompose(rivals -> {
+            List<String> opponents = new ArrayList<>(listedOpponents);
+            opponents.addAll(rivals);
+            opponents = distinct(opponents, "Opponents");
+            if (opponents.isEmpty()) {
+                throw new IllegalArgumentException("At least one opponent, or a team with upcoming matches, is required.");
+            }
+            int scenarios = opponents.size() * venues.size() * positions.size();
+            if (scenarios > sweepMaxScenarios) {
+                throw new IllegalArgumentException("At most " + sweepMaxScenarios
+                        + " scenarios can be predicted at once, not " + scenarios + ".");
+            }
+            List<String> sweptOpponents = opponents;
+            log.info("Predicting {} scenarios for player '{}' from its match stats", scenarios, decodedPlayerName);
+            return playerService.getPlayerInfoWithFreshnessAsync(decodedPlayerName)
+                    .thenApply(player -> {
+                        PredictionSweepDTO sweep = predictor.sweep(decodedPlayerName, player.value(),
+                                sweptOpponents, venues, positions);
+                        if (sweep == null) {
+                            throw new IllegalArgumentException(
+                                    "Player with name '" + decodedPlayerName + "' has no match stats to predict from.");
+                        }
+                        return sweep;
+                    });
+        });
+    }
+
+    /**
+     * @return The values without repeats (ignoring case and surrounding spaces), in order.
+     */
+    private static List<String> distinct(List<String> values, String name) {
+        if (values == null) {
+            return List.of();
+        }
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(name + " must not be blank.");
+            }
+            unique.putIfAbsent(ScraperResponseCache.normalizeKey(value), value);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * @return The other team of each of the team's matches.
+     */
+    private static List<String> rivals(String team, List<GameMatchDTO> matches) {
+        String teamKey = ScraperResponseCache.normalizeKey(team);
+        List<String> rivals = new ArrayList<>();
+        for (GameMatchDTO match : matches) {
+            String rival = match.getActualTeam() == null
+                    || teamKey.equals(ScraperResponseCache.normalizeKey(match.getActualTeam()))
+                    ? match.getRivalTeam() : match.getActualTeam();
+            if (rival != null && !rival.isBlank() && !teamKey.equals(ScraperResponseCache.normalizeKey(rival))) {
+                rivals.add(rival);
+            }
+        }
+        return rivals;
+    }
+
     /**
      * Encodes a query parameter for a URL.
      */
@@ -97,7 +314,7 @@ public class AnalysisService extends AbstractWebService {
                 .buildAndExpand(encodePathSegment(decodedPlayerName))
                 .toUriString();
 
-        return performApiCall(url, HttpMethod.POST, decodedPlayerName, "data conversion",
+        return performPost(url, CallPriority.LOW, decodedPlayerName, "data conversion",
                 "Error converting player data to analysis format.");
     }
 
@@ -105,6 +322,13 @@ public class AnalysisService extends AbstractWebService {
      * Gets a comparative analysis of the player.
      */
     public Object getComparativeAnalysis(String playerName, Authentication authentication) {
+        return await(getComparativeAnalysisAsync(playerName, authentication));
+    }
+
+    /**
+     * Non-blocking version of {@link #getComparativeAnalysis(String, Authentication)}.
+     */
+    public CompletableFuture<Object> getComparativeAnalysisAsync(String playerName, Authentication authentication) {
         String decodedPlayerName = decodeUrlParameter(playerName);
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String userEmail = userDetails.getUsername();
@@ -117,7 +341,7 @@ public class AnalysisService extends AbstractWebService {
                 .buildAndExpand(encodePathSegment(decodedPlayerName))
                 .toUriString();
 
-        return performApiCall(url, HttpMethod.GET, decodedPlayerName, "comparative analysis",
+        return performGet(url, CachePolicy.ANALYSIS, decodedPlayerName, "comparative analysis",
                 "Error fetching comparative analysis.");
     }
 
@@ -125,6 +349,14 @@ public class AnalysisService extends AbstractWebService {
      * Gets the query history for a player on a specific date.
      */
     public Object getPlayerHistory(String playerName, String date, Authentication authentication) {
+        return await(getPlayerHistoryAsync(playerName, date, authentication));
+    }
+
+    /**
+     * Non-blocking version of {@link #getPlayerHistory(String, String, Authentication)}.
+     */
+    public CompletableFuture<Object> getPlayerHistoryAsync(String playerName, String date,
+            Authentication authentication) {
         String decodedPlayerName = decodeUrlParameter(playerName);
         String decodedDate = decodeUrlParameter(date);
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -140,45 +372,107 @@ public class AnalysisService extends AbstractWebService {
                 .buildAndExpand(encodePathSegment(decodedPlayerName))
                 .toUriString();
 
-        return performApiCall(url, HttpMethod.GET, decodedPlayerName, "history", "Error fetching player history.");
+        // History changes with every query of the user, so it is never cached, and it is the first
+        // call to shed when the scraper is overloaded
+        return performGet(url, CallPriority.LOW, decodedPlayerName, "history", "Error fetching player history.");
+    }
+    /**
+     * Performs a GET through the response cache. The scraper records each of these queries in the
+     * user's history (the URL carries the userEmail), so a cache hit still sends the query, without
+     * waiting for it: see {@link #recordQuery(String, String, String)}.
+     */
+    private CompletableFuture<Object> performGet(String url, CachePolicy cachePolicy, String playerName,
+            String operation, String errorMsg) {
+        AtomicBoolean fetched = new AtomicBoolean();
+        CompletableFuture<Object> response = responseCache.getAsync(cachePolicy,
+                ScraperResponseCache.normalizeKey(url), () -> {
+                    fetched.set(true);
+                    return performGet(url, CallPriority.NORMAL, playerName, operation, errorMsg);
+                });
+        if (!fetched.get()) {
+            recordQuery(url, playerName, operation);
+        }
+        return response;
     }
+
     /**
-     * Performs the actual API call and handles common responses and exceptions.
+     * Sends a query answered without the scraper (from the cache or computed locally) so the scraper
+     * still records it in the user's history. Its response is ignored and it is a low-priority call,
+     * the first one shed when the scraper is overloaded, in which case the query is not recorded.
+     * It never runs on the caller's thread, even with the blocking engine, so the answer does not
+     * wait for the scraper.
      */
-    private Object performApiCall(String url, HttpMethod method, String playerName, String operation, String errorMsg) {
+    private void recordQuery(String url, String playerName, String operation) {
+        log.debug("Recording {} query for player '{}': {}", operation, playerName, url);
+        fanOut(() -> fetchAsync(url, Object.class, CallPriority.LOW)).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.debug("Could not record {} query for player '{}': {}", operation, playerName,
+                        unwrap(error).getMessage());
+            }
+        });
+    }
+
+    /**
+     * Performs the actual GET and handles common responses and exceptions.
+     */
+    private CompletableFuture<Object> performGet(String url, CallPriority priority, String playerName,
+            String operation, String errorMsg) {
+        log.debug("Calling URL for {}: {}", operation, url);
+        return fetchAsync(url, Object.class, priority)
+                .thenApply(AnalysisService::toResult)
+                .exceptionally(e -> {
+                    throw translate(unwrap(e), playerName, operation, errorMsg);
+                });
+    }
+
+    /**
+     * Performs a POST, which is never cached, and handles common responses and exceptions.
+     */
+    private Object performPost(String url, CallPriority priority, String playerName, String operation,
+            String errorMsg) {
         log.debug("Calling URL for {}: {}", operation, url);
         try {
-            Object response;
-            if (method == HttpMethod.POST) {
-                response = restTemplate.postForObject(url, null, Object.class);
-                if (response == null) {
-                    return Map.of("message", "Operation completed for " + playerName);
-                }
-            } else { // Default to GET
-                response = restTemplate.getForObject(url, Object.class);
+            Object response = send(() -> restTemplate.postForObject(url, null, Object.class), priority);
+            if (response == null) {
+                return Map.of("message", "Operation completed for " + playerName);
             }
+            return toResult(response);
+        } catch (Exception e) {
+            throw translate(e, playerName, operation, errorMsg);
+        }
+    }
 
-            if (response instanceof List) {
-                List<?> list = (List<?>) response;
-                if (list.isEmpty()) {
-                    return null;
-                }
-                // Return the full list for endpoints that expect multiple items (like history)
-                return list;
+    private static Object toResult(Object response) {
+        if (response instanceof List) {
+            List<?> list = (List<?>) response;
+            if (list.isEmpty()) {
+                return null;
             }
-            return response;
+            // Return the full list for endpoints that expect multiple items (like history)
+            return list;
+        }
+        return response;
+    }
 
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException(
+    /**
+     * Maps a failed scraper call to the exception the controllers expect.
+     */
+    private static RuntimeException translate(Throwable e, String playerName, String operation, String errorMsg) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e instanceof ScraperUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (e instanceof HttpClientErrorException.NotFound) {
+            return new IllegalArgumentException(
                     "Player with name '" + playerName + "' not found for " + operation + ".", e);
-
-        } catch (HttpClientErrorException e) {
-            throw new AnalysisServiceException(
+        }
+        if (e instanceof HttpClientErrorException) {
+            return new AnalysisServiceException(
                     "Error communicating with analysis service for player '" + playerName + "'.", e);
-
-        } catch (Exception e) {
-            throw new AnalysisServiceException(errorMsg, e);
         }
+        return new AnalysisServiceException(errorMsg, e);
     }
 
     /**
@@ -0,0 +1,79 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.analytics.LeaderboardMetric;
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.TopKIndex;
+import com.dapp.futbol_api.model.dto.LeaderboardDTO;
+import com.dapp.futbol_api.model.dto.LeaderboardEntryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the league-wide leaderboards built from the squads fetched through {@link TeamService}.
+ * Nothing is fetched from the scraper: a team is ranked once its squad has been looked up.
+ */
+@Service
+public class LeaderboardService {
+
+    private final Leaderboards leaderboards;
+    private final int maxPageSize;
+
+    public LeaderboardService(Leaderboards leaderboards,
+            @Value("${scraper.leaderboards.max-page-size:100}") int maxPageSize) {
+        this.leaderboards = leaderboards;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @return The metrics that players can be ranked by, as used in URLs.
+     */
+    public List<String> getMetrics() {
+        List<String> metrics = new ArrayList<>();
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            metrics.add(metric.getPath());
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets a page of the leaderboard of a metric, best first.
+     *
+     * @param page 0-based page number; past the last page, the page has no entries.
+     * @param size Entries per page, at most {@code scraper.leaderboards.max-page-size}.
+     * @throws IllegalArgumentException If the metric is unknown or the page is out of range.
+     */
+    public LeaderboardDTO getLeaderboard(String metric, int page, int size) {
+        LeaderboardMetric leaderboard = LeaderboardMetric.fromPath(metric);
+        if (page < 0) {
+            throw new IllegalArgumentException("The page must not be negative.");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("The page size must be between 1 and " + maxPageSize + ".");
+        }
+
+        int first = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        TopKIndex.Page entries = leaderboards.page(leaderboard, first, size);
+        List<LeaderboardEntryDTO> ranking = new ArrayList<>(entries.entries().size());
+        for (TopKIndex.Ranked ranked : entries.entries()) {
+            ranking.add(LeaderboardEntryDTO.builder()
+                    .rank(first + ranking.size() + 1)
+                    .playerName(ranked.player().getName())
+                    .team(ranked.team())
+                    .position(ranked.player().getPosition())
+                    .value(ranked.value())
+                    .build());
+        }
+        return LeaderboardDTO.builder()
+                .metric(leaderboard.getPath())
+                .page(page)
+                .size(size)
+                .totalEntries(entries.ranked())
+                .totalPlayers(entries.qualified())
+                .teams(leaderboards.teams())
+                .entries(ranking)
+                .build();
+    }
+}
@@ -1,6 +1,16 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.cache.CachePolicy;
+import com.dapp.futbol_api.cache.CachedResponse;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
 import com.dapp.futbol_api.exception.PlayerServiceException;
+import com.dapp.futbol_api.model.dto.PlayerBatchResultDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import com.dapp.futbol_api.utils.InputNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,39 +18,199 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Service
 public class PlayerService extends AbstractWebService {
 
     private static final Logger log = LoggerFactory.getLogger(PlayerService.class);
 
+    private final ScraperResponseCache responseCache;
+    private final int batchConcurrency;
+    private final int batchMaxSize;
+
     public PlayerService(RestTemplateBuilder restTemplateBuilder,
-            @Value("${scraper.service.url}") String scraperServiceUrl) {
-        super(restTemplateBuilder, scraperServiceUrl);
+            @Value("${scraper.service.url}") String scraperServiceUrl,
+            ScraperCallExecutor callExecutor,
+            ScraperResponseCache responseCache,
+            AsyncScraperClient asyncClient,
+            @Value("${scraper.player.batch.concurrency:4}") int batchConcurrency,
+            @Value("${scraper.player.batch.max-size:50}") int batchMaxSize) {
+        super(restTemplateBuilder, scraperServiceUrl, callExecutor, EndpointFamily.PLAYER, asyncClient);
+        this.responseCache = responseCache;
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+        this.batchMaxSize = batchMaxSize;
     }
 
-    public Object getPlayerInfoByName(String playerName) {
-        log.info("Requesting player info for '{}' from scraper service", playerName);
+    public PlayerDTO getPlayerInfoByName(String playerName) {
+        return getPlayerInfoWithFreshness(playerName).value();
+    }
 
-        try {
-            String url = buildPlayerUrl(playerName);
-            log.debug("Final URL to scraper-service: {}", url);
+    /**
+     * Gets the player info together with its age, so callers can tell whether it is stale.
+     */
+    public CachedResponse<PlayerDTO> getPlayerInfoWithFreshness(String playerName) {
+        return await(getPlayerInfoWithFreshnessAsync(playerName));
+    }
 
-            // Get as a list and extract the first element
-            List<Map<String, Object>> playersList = restTemplate.getForObject(url, List.class);
+    /**
+     * Non-blocking version of {@link #getPlayerInfoWithFreshness(String)}.
+     */
+    public CompletableFuture<CachedResponse<PlayerDTO>> getPlayerInfoWithFreshnessAsync(String playerName) {
+        return responseCache.getWithFreshnessAsync(CachePolicy.PLAYER_PROFILE,
+                ScraperResponseCache.normalizeKey(playerName), () -> fetchPlayerInfo(playerName));
+    }
 
-            if (playersList == null || playersList.isEmpty()) {
-                throw new IllegalArgumentException("Player with name '" + playerName + "' not found.");
+    /**
+     * Looks up several players and hands each result to the consumer as soon as it is ready.
+     * Cached players are answered at once; the others are fetched with at most
+     * {@code scraper.player.batch.concurrency} lookups in flight. Names that only differ in case or
+     * spacing are looked up once. A failed lookup is reported as an error result and does not stop
+     * the others, but if the consumer throws, e.g. because the client went away, the whole batch
+     * fails: no more players are looked up and the results still in flight are dropped.
+     *
+     * @param playerNames Names of the players, at most {@code scraper.player.batch.max-size}.
+     * @param onResult    Receives the result of every player, possibly from several threads but never
+     *                    concurrently. It may block, e.g. to write a response.
+     * @return A future that completes when every result has been handed to the consumer, or with the
+     *         consumer's exception as soon as it throws. Cancelling it stops the batch as well.
+     */
+    public CompletableFuture<Void> getPlayersInfo(List<String> playerNames, Consumer<PlayerBatchResultDTO> onResult) {
+        if (playerNames == null || playerNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one player name is required.");
+        }
+        if (playerNames.size() > batchMaxSize) {
+            throw new IllegalArgumentException("At most " + batchMaxSize + " players can be requested at once.");
+        }
+        Map<String, String> uniqueNames = new LinkedHashMap<>();
+        for (String playerName : playerNames) {
+            if (playerName == null || playerName.isBlank()) {
+                throw new IllegalArgumentException("Player names must not be blank.");
+            }
+            uniqueNames.putIfAbsent(ScraperResponseCache.normalizeKey(playerName), playerName);
+        }
+
+        CompletableFuture<Void> batch = new CompletableFuture<>();
+        Queue<String> pending = new ConcurrentLinkedQueue<>();
+        // A lock rather than synchronized: the consumer may block on I/O, which would pin a virtual thread
+        ReentrantLock delivery = new ReentrantLock();
+        Consumer<PlayerBatchResultDTO> serialized = result -> {
+            delivery.lock();
+            try {
+                if (!batch.isDone()) {
+                    onResult.accept(result);
+                }
+            } catch (RuntimeException e) {
+                pending.clear();
+                batch.completeExceptionally(e);
+            } finally {
+                delivery.unlock();
+            }
+        };
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+        uniqueNames.forEach((key, playerName) -> {
+            if (responseCache.contains(CachePolicy.PLAYER_PROFILE, key)) {
+                lookups.add(lookUp(playerName, serialized));
+            } else {
+                pending.add(playerName);
             }
+        });
+        int workers = Math.min(batchConcurrency, pending.size());
+        for (int i = 0; i < workers; i++) {
+            lookups.add(lookUpNext(pending, serialized, batch));
+        }
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            if (error == null) {
+                batch.complete(null);
+            } else {
+                batch.completeExceptionally(error);
+            }
+        });
+        return batch;
+    }
+
+    /**
+     * Looks up the pending players one after the other, so each call of this method keeps one
+     * lookup in flight until the queue is empty or the batch is over.
+     */
+    private CompletableFuture<Void> lookUpNext(Queue<String> pending, Consumer<PlayerBatchResultDTO> onResult,
+            CompletableFuture<Void> batch) {
+        String playerName = batch.isDone() ? null : pending.poll();
+        if (playerName == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return fanOut(() -> lookUp(playerName, onResult))
+                .thenCompose(ignored -> lookUpNext(pending, onResult, batch));
+    }
+
+    private CompletableFuture<Void> lookUp(String playerName, Consumer<PlayerBatchResultDTO> onResult) {
+        return getPlayerInfoWithFreshnessAsync(playerName)
+                .handle((response, error) -> toBatchResult(playerName, response, error))
+                .thenAccept(onResult);
+    }
 
-            return playersList.get(0);
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("Player with name '" + playerName + "' not found.", e);
-        } catch (Exception e) {
-            throw new PlayerServiceException("Error fetching player data.", e);
+    private static PlayerBatchResultDTO toBatchResult(String playerName, CachedResponse<PlayerDTO> response,
+            Throwable error) {
+        PlayerBatchResultDTO.PlayerBatchResultDTOBuilder result = PlayerBatchResultDTO.builder().playerName(playerName);
+        if (error == null) {
+            return result.status(PlayerBatchResultDTO.OK).player(response.value()).stale(response.stale()).build();
+        }
+        Throwable cause = unwrap(error);
+        if (cause instanceof Error fatal) {
+            throw fatal;
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return result.status(PlayerBatchResultDTO.NOT_FOUND).error(cause.getMessage()).build();
         }
+        if (cause instanceof ScraperUnavailableException) {
+            return result.status(PlayerBatchResultDTO.UNAVAILABLE).error(cause.getMessage()).build();
+        }
+        log.warn("Batch lookup of player '{}' failed: {}", playerName, cause.getMessage());
+        return result.status(PlayerBatchResultDTO.ERROR).error("Error fetching player data.").build();
+    }
+
+    private CompletableFuture<PlayerDTO> fetchPlayerInfo(String playerName) {
+        log.info("Requesting player info for '{}' from scraper service", playerName);
+
+        String url = buildPlayerUrl(playerName);
+        log.debug("Final URL to scraper-service: {}", url);
+
+        // Get as an array and extract the first element
+        return fetchAsync(url, PlayerDTO[].class)
+                .thenApply(players -> {
+                    if (players == null || players.length == 0) {
+                        throw new IllegalArgumentException("Player with name '" + playerName + "' not found.");
+                    }
+                    return players[0];
+                })
+                .exceptionally(e -> {
+                    throw translate(unwrap(e), playerName);
+                });
+    }
+
+    /**
+     * Maps a failed scraper call to the exception the controllers expect: rejections are kept,
+     * a 404 means the player does not exist and anything else is a {@link PlayerServiceException}.
+     */
+    private static RuntimeException translate(Throwable e, String playerName) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e instanceof ScraperUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (e instanceof HttpClientErrorException.NotFound) {
+            return new IllegalArgumentException("Player with name '" + playerName + "' not found.", e);
+        }
+        return new PlayerServiceException("Error fetching player data.", e);
     }
 
     /**
@@ -50,18 +220,8 @@ public class PlayerService extends AbstractWebService {
         StringBuilder urlBuilder = new StringBuilder();
         urlBuilder.append("/api/scrape/player?playerName=");
 
-        urlBuilder.append(encodeValue(playerName));
+        urlBuilder.append(InputNormalizer.encodeQueryValue(playerName));
 
         return urlBuilder.toString();
     }
-
-    /**
-     * Simple manual encoding for spaces and other characters.
-     */
-    private String encodeValue(String value) {
-        return value.replace(" ", "%20")
-                .replace("&", "%26")
-                .replace("?", "%3F")
-                .replace("=", "%3D");
-    }
 }
\ No newline at end of file
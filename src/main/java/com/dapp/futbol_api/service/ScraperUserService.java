@@ -1,5 +1,8 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.cache.CredentialCache;
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
 import com.dapp.futbol_api.security.RegisterRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -17,12 +20,18 @@ import java.util.Map;
 @Service
 public class ScraperUserService extends AbstractWebService {
 
+    private final CredentialCache credentialCache;
+
     public ScraperUserService(RestTemplateBuilder restTemplateBuilder,
-            @Value("${scraper.service.url}") String scraperServiceUrl) {
-        super(restTemplateBuilder, scraperServiceUrl);
+            @Value("${scraper.service.url}") String scraperServiceUrl,
+            ScraperCallExecutor callExecutor,
+            CredentialCache credentialCache) {
+        super(restTemplateBuilder, scraperServiceUrl, callExecutor, EndpointFamily.AUTH);
+        this.credentialCache = credentialCache;
     }
 
     public String registerUser(RegisterRequest request) {
+        credentialCache.forget(request.getEmail());
         try {
             String url = "/api/scrape/auth/register";
 
@@ -31,7 +40,7 @@ public class ScraperUserService extends AbstractWebService {
                     "password", request.getPassword(), // Contraseña SIN encriptar
                     "role", "USER");
 
-            ResponseEntity<String> response = restTemplate.postForEntity(url, requestBody, String.class);
+            ResponseEntity<String> response = send(() -> restTemplate.postForEntity(url, requestBody, String.class));
             String result = response.getBody();
 
             return result;
@@ -43,7 +52,19 @@ public class ScraperUserService extends AbstractWebService {
         }
     }
 
+    /**
+     * Drops the credentials of the user cached by {@link #validateUser}, so the next login is checked
+     * by the scraper.
+     */
+    public void forgetCredentials(String email) {
+        credentialCache.forget(email);
+    }
+
     public boolean validateUser(String email, String password) {
+        // Credentials the scraper accepted recently are checked locally against their hash
+        if (credentialCache.matches(email, password)) {
+            return true;
+        }
         try {
             String url = "/api/scrape/auth/validate";
 
@@ -57,19 +78,25 @@ public class ScraperUserService extends AbstractWebService {
             HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(requestBody, headers);
 
 
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            ResponseEntity<Map<String, Object>> response = send(() -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     requestEntity,
                     new ParameterizedTypeReference<Map<String, Object>>() {},
                     requestBody
-            );
+            ));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 boolean isValid = Boolean.TRUE.equals(response.getBody().get("valid"));
+                if (isValid) {
+                    credentialCache.remember(email, password);
+                } else {
+                    credentialCache.forget(email);
+                }
                 return isValid;
             }
 
+            credentialCache.forget(email);
             return false;
 
         } catch (RestClientException e) {
@@ -1,6 +1,18 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.TeamComparator;
+import com.dapp.futbol_api.cache.CachePolicy;
+import com.dapp.futbol_api.cache.CachedResponse;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.EndpointFamily;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
 import com.dapp.futbol_api.exception.TeamServiceException;
+import com.dapp.futbol_api.model.dto.GameMatchDTO;
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.utils.InputNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,87 +20,177 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class TeamService extends AbstractWebService {
 
     private static final Logger log = LoggerFactory.getLogger(TeamService.class);
 
+    private final ScraperResponseCache responseCache;
+    private final TeamComparator teamComparator;
+    private final Leaderboards leaderboards;
+
     public TeamService(RestTemplateBuilder restTemplateBuilder,
-            @Value("${scraper.service.url}") String scraperServiceUrl) {
-        super(restTemplateBuilder, scraperServiceUrl);
+            @Value("${scraper.service.url}") String scraperServiceUrl,
+            ScraperCallExecutor callExecutor,
+            ScraperResponseCache responseCache,
+            AsyncScraperClient asyncClient,
+            TeamComparator teamComparator,
+            Leaderboards leaderboards) {
+        super(restTemplateBuilder, scraperServiceUrl, callExecutor, EndpointFamily.TEAM, asyncClient);
+        this.responseCache = responseCache;
+        this.teamComparator = teamComparator;
+        this.leaderboards = leaderboards;
     }
 
-    public Object getTeamInfoByName(String teamName) {
-        log.info("Requesting team info for '{}' from scraper service", teamName);
+    public TeamDTO getTeamInfoByName(String teamName) {
+        return getTeamInfoWithFreshness(teamName).value();
+    }
 
-        try {
-            String url = buildTeamUrl(teamName);
-            log.debug("Final URL to scraper-service: {}", url);
+    /**
+     * Gets the team info together with its age, so callers can tell whether it is stale.
+     */
+    public CachedResponse<TeamDTO> getTeamInfoWithFreshness(String teamName) {
+        return await(getTeamInfoWithFreshnessAsync(teamName));
+    }
 
-            // Get as a list and extract the first element
-            List<Map<String, Object>> teamsList = restTemplate.getForObject(url, List.class);
+    /**
+     * Non-blocking version of {@link #getTeamInfoWithFreshness(String)}.
+     */
+    public CompletableFuture<CachedResponse<TeamDTO>> getTeamInfoWithFreshnessAsync(String teamName) {
+        return responseCache.getWithFreshnessAsync(CachePolicy.TEAM_SQUAD,
+                ScraperResponseCache.normalizeKey(teamName), () -> fetchTeamInfo(teamName));
+    }
 
-            if (teamsList == null || teamsList.isEmpty()) {
-                throw new IllegalArgumentException("Team with name '" + teamName + "' not found.");
-            }
+    public List<GameMatchDTO> getFutureMatches(String teamName) {
+        return await(getFutureMatchesAsync(teamName));
+    }
 
-            return teamsList.getFirst();
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("Team with name '" + teamName + "' not found.", e);
-        } catch (Exception e) {
-            throw new TeamServiceException("Error fetching team data.", e);
-        }
+    /**
+     * Non-blocking version of {@link #getFutureMatches(String)}.
+     */
+    public CompletableFuture<List<GameMatchDTO>> getFutureMatchesAsync(String teamName) {
+        return responseCache.getAsync(CachePolicy.FUTURE_MATCHES, ScraperResponseCache.normalizeKey(teamName),
+                () -> fetchFutureMatches(teamName));
     }
 
-    public Object getFutureMatches(String teamName) {
-        log.info("Requesting future matches for '{}' from scraper service", teamName);
+    private CompletableFuture<TeamDTO> fetchTeamInfo(String teamName) {
+        log.info("Requesting team info for '{}' from scraper service", teamName);
 
-        try {
-            String url = buildFutureMatchesUrl(teamName);
-            log.debug("Final URL to scraper-service for future matches: {}", url);
+        String url = buildTeamUrl(teamName);
+        log.debug("Final URL to scraper-service: {}", url);
+
+        // Get as an array and extract the first element
+        return fetchAsync(url, TeamDTO[].class)
+                .thenApply(teams -> {
+                    if (teams == null || teams.length == 0) {
+                        throw new IllegalArgumentException("Team with name '" + teamName + "' not found.");
+                    }
+                    // Every fetch, first or refresh, brings the leaderboards up to date with the squad,
+                    // after the response
+                    leaderboards.updateInBackground(teamName, teams[0]);
+                    return teams[0];
+                })
+                .exceptionally(e -> {
+                    throw translate(unwrap(e), "Team with name '" + teamName + "' not found.",
+                            "Error fetching team data.");
+                });
+    }
 
-            // Get the list of matches
-            return restTemplate.getForObject(url, List.class);
+    private CompletableFuture<List<GameMatchDTO>> fetchFutureMatches(String teamName) {
+        log.info("Requesting future matches for '{}' from scraper service", teamName);
 
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("Team with name '" + teamName + "' not found for future matches.", e);
-        } catch (Exception e) {
-            throw new TeamServiceException("Error fetching future matches.", e);
-        }
+        String url = buildFutureMatchesUrl(teamName);
+        log.debug("Final URL to scraper-service for future matches: {}", url);
+
+        // Get the list of matches
+        return fetchAsync(url, GameMatchDTO[].class)
+                .thenApply(matches -> matches == null ? null : Arrays.asList(matches))
+                .exceptionally(e -> {
+                    throw translate(unwrap(e), "Team with name '" + teamName + "' not found for future matches.",
+                            "Error fetching future matches.");
+                });
     }
 
     public Object compareTeams(String team1, String team2) {
-        log.info("Comparing teams '{}' vs '{}' from scraper service", team1, team2);
-
-        try {
-            String url = buildTeamComparisonUrl(team1, team2);
-            log.debug("Final URL to scraper-service for team comparison: {}", url);
+        return await(compareTeamsAsync(team1, team2));
+    }
 
-            // Realizar la llamada al servicio externo
-            Object comparison = restTemplate.getForObject(url, Object.class);
+    /**
+     * Non-blocking version of {@link #compareTeams(String, String)}.
+     * <p>
+     * Both squads are looked up at the same time, from the cache when possible, and compared
+     * locally. The scraper's compare endpoint is only called when that is not possible: a squad
+     * could not be fetched or has no rated players, or local comparison is disabled.
+     */
+    public CompletableFuture<Object> compareTeamsAsync(String team1, String team2) {
+        if (!teamComparator.isEnabled()) {
+            return compareUpstream(team1, team2);
+        }
+        log.info("Comparing teams '{}' vs '{}' from their squads", team1, team2);
+
+        CompletableFuture<TeamDTO> squad1 = fanOut(() -> getTeamInfoWithFreshnessAsync(team1))
+                .thenApply(CachedResponse::value);
+        CompletableFuture<TeamDTO> squad2 = getTeamInfoWithFreshnessAsync(team2).thenApply(CachedResponse::value);
+        return squad1.thenCombine(squad2, (info1, info2) -> teamComparator.compare(team1, info1, team2, info2))
+                .handle((comparison, error) -> {
+                    if (error == null && comparison != null) {
+                        return CompletableFuture.<Object>completedFuture(comparison);
+                    }
+                    log.debug("Local comparison of '{}' vs '{}' not possible ({}), asking the scraper service",
+                            team1, team2, error == null ? "no rated players" : unwrap(error).getMessage());
+                    return compareUpstream(team1, team2);
+                })
+                .thenCompose(comparison -> comparison);
+    }
 
-            if (comparison == null) {
-                throw new IllegalArgumentException("Comparison data not found for teams: " + team1 + " vs " + team2);
-            }
+    private CompletableFuture<Object> compareUpstream(String team1, String team2) {
+        log.info("Comparing teams '{}' vs '{}' from scraper service", team1, team2);
 
-            return comparison;
+        String url = buildTeamComparisonUrl(team1, team2);
+        log.debug("Final URL to scraper-service for team comparison: {}", url);
+
+        // Realizar la llamada al servicio externo
+        return fetchAsync(url, Object.class)
+                .thenApply(comparison -> {
+                    if (comparison == null) {
+                        throw new IllegalArgumentException(
+                                "Comparison data not found for teams: " + team1 + " vs " + team2);
+                    }
+                    return comparison;
+                })
+                .exceptionally(e -> {
+                    throw translate(unwrap(e), "One or both teams not found: '" + team1 + "' or '" + team2 + "'",
+                            "Error comparing teams.");
+                });
+    }
 
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new IllegalArgumentException("One or both teams not found: '" + team1 + "' or '" + team2 + "'", e);
-        } catch (Exception e) {
-            throw new TeamServiceException("Error comparing teams.", e);
+    /**
+     * Maps a failed scraper call to the exception the controllers expect: rejections are kept,
+     * a 404 means the team does not exist and anything else is a {@link TeamServiceException}.
+     */
+    private static RuntimeException translate(Throwable e, String notFoundMessage, String errorMessage) {
+        if (e instanceof Error error) {
+            throw error;
+        }
+        if (e instanceof ScraperUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (e instanceof HttpClientErrorException.NotFound) {
+            return new IllegalArgumentException(notFoundMessage, e);
         }
+        return new TeamServiceException(errorMessage, e);
     }
 
     private String buildTeamComparisonUrl(String team1, String team2) {
         StringBuilder urlBuilder = new StringBuilder();
         urlBuilder.append("/api/scrape/teams/compare?team1=");
-        urlBuilder.append(encodeValue(team1));
+        urlBuilder.append(InputNormalizer.encodeQueryValue(team1));
         urlBuilder.append("&team2=");
-        urlBuilder.append(encodeValue(team2));
+        urlBuilder.append(InputNormalizer.encodeQueryValue(team2));
 
         return urlBuilder.toString();
     }
@@ -101,7 +203,7 @@ public class TeamService extends AbstractWebService {
         StringBuilder urlBuilder = new StringBuilder();
         urlBuilder.append("/api/scrape/team?teamName=");
 
-        urlBuilder.append(encodeValue(teamName));
+        urlBuilder.append(InputNormalizer.encodeQueryValue(teamName));
 
         return urlBuilder.toString();
     }
@@ -113,18 +215,8 @@ public class TeamService extends AbstractWebService {
         StringBuilder urlBuilder = new StringBuilder();
         urlBuilder.append("/api/scrape/futureMatches?teamName=");
 
-        urlBuilder.append(encodeValue(teamName));
+        urlBuilder.append(InputNormalizer.encodeQueryValue(teamName));
 
         return urlBuilder.toString();
     }
-
-    /**
-     * Simple manual encoding for spaces and other characters.
-     */
-    private String encodeValue(String value) {
-        return value.replace(" ", "%20")
-                .replace("&", "%26")
-                .replace("?", "%3F")
-                .replace("=", "%3D");
-    }
 }
\ No newline at end of file
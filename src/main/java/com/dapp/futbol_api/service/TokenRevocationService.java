@@ -0,0 +1,119 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.model.RevokedToken;
+import com.dapp.futbol_api.repositories.RevokedTokenRepository;
+import com.dapp.futbol_api.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens revoked before they expire (logout, used refresh tokens), by {@code jti}.
+ * <p>
+ * Every authenticated request asks {@link #isRevoked}, so the index lives in memory: a Bloom filter
+ * answers for almost every token that was never revoked, and only its rare positives are looked up
+ * in the exact set. Revocations are written to the {@code revoked_token} table and loaded back at
+ * startup. Entries whose token has expired are purged every {@code purge-interval-ms}, and the
+ * filter is rebuilt from the remaining ones.
+ */
+@Service
+public class TokenRevocationService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final String PROPERTY_PREFIX = "api.security.revocation.";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    private final long expectedTokens;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger;
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(RevokedTokenRepository repository, Environment environment) {
+        this.repository = repository;
+        this.expectedTokens = environment.getProperty(PROPERTY_PREFIX + "expected-tokens", Long.class, 100_000L);
+        for (RevokedToken token : repository.findByExpiresAtAfter(Instant.now())) {
+            revoked.put(token.getJti(), token.getExpiresAt());
+        }
+        this.filter = newFilter();
+        log.info("Loaded {} revoked tokens", revoked.size());
+
+        long purgeIntervalMs = environment.getProperty(PROPERTY_PREFIX + "purge-interval-ms", Long.class, 3_600_000L);
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeIntervalMs, purgeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param jti The {@code jti} claim of a verified token, or null if it has none.
+     * @return True if the token was revoked.
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param jti       The {@code jti} claim of the token.
+     * @param expiresAt The expiration of the token.
+     * @return True if this call revoked the token, false if it was already revoked or has expired.
+     */
+    public synchronized boolean revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.toInstant().isAfter(Instant.now())) {
+            return false;
+        }
+        Instant expiration = expiresAt.toInstant();
+        if (revoked.putIfAbsent(jti, expiration) != null) {
+            return false;
+        }
+        // The exact set is written before the filter, so a filter hit always finds the entry
+        filter.add(jti);
+        try {
+            repository.save(RevokedToken.builder().jti(jti).expiresAt(expiration).build());
+        } catch (RuntimeException e) {
+            log.warn("Could not persist the revocation of token {}: {}", jti, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Drops the revocations of expired tokens and rebuilds the filter without them.
+     */
+    public synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiration -> !expiration.isAfter(now));
+        filter = newFilter();
+        try {
+            repository.deleteByExpiresAtBefore(now);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge the expired revoked tokens: {}", e.getMessage());
+        }
+        log.debug("Purged {} expired revoked tokens, {} left", before - revoked.size(), revoked.size());
+    }
+
+    private BloomFilter newFilter() {
+        BloomFilter newFilter = new BloomFilter(Math.max(expectedTokens, 2L * revoked.size()), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(newFilter::add);
+        return newFilter;
+    }
+
+    @Override
+    public void destroy() {
+        purger.shutdownNow();
+    }
+}
@@ -0,0 +1,25 @@
+package com.dapp.futbol_api.utils;
+
+import com.dapp.futbol_api.cache.CachedResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+public final class CacheHeaders {
+
+    // Tells the client whether the data is being served past its freshness TTL.
+    public static final String STALE = "X-Data-Stale";
+
+    private CacheHeaders() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Builds a 200 response whose Age and X-Data-Stale headers describe the freshness of the data.
+     */
+    public static <T> ResponseEntity<T> ok(CachedResponse<T> response) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(response.age().toSeconds()))
+                .header(STALE, String.valueOf(response.stale()))
+                .body(response.value());
+    }
+}
@@ -0,0 +1,187 @@
+package com.dapp.futbol_api.utils;
+
+import java.util.Locale;
+
+/**
+ * Normalizes and validates the user input of the request hot path: request parameters, scraper
+ * query values, cache keys, emails and passwords.
+ * <p>
+ * No method uses a regular expression, and each one returns the same String instance when nothing
+ * needs to change, so the common case allocates nothing.
+ */
+public final class InputNormalizer {
+
+    private static final int NOT_FOUND = -1;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private InputNormalizer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Replaces line breaks ({@code \n}, {@code \r}) with {@code _}, so the value cannot forge log lines.
+     */
+    public static String sanitize(String input) {
+        int first = indexOfLineBreak(input);
+        if (first == NOT_FOUND) {
+            return input;
+        }
+        char[] chars = input.toCharArray();
+        for (int i = first; i < chars.length; i++) {
+            if (chars[i] == '\n' || chars[i] == '\r') {
+                chars[i] = '_';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Percent-encodes the characters that would break a scraper query value: space, {@code &},
+     * {@code ?} and {@code =}. One pass counts them and a second one writes the encoded value, so
+     * whatever characters it contains, a value costs one copy.
+     */
+    public static String encodeQueryValue(String value) {
+        int escapes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (isQueryDelimiter(value.charAt(i))) {
+                escapes++;
+            }
+        }
+        if (escapes == 0) {
+            return value;
+        }
+        // Each delimiter takes three characters instead of one
+        char[] encoded = new char[value.length() + 2 * escapes];
+        int next = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isQueryDelimiter(c)) {
+                encoded[next++] = '%';
+                encoded[next++] = HEX_DIGITS[c >> 4];
+                encoded[next++] = HEX_DIGITS[c & 0xF];
+            } else {
+                encoded[next++] = c;
+            }
+        }
+        return new String(encoded);
+    }
+
+    /**
+     * Trims, collapses runs of whitespace into one space and lower-cases the value, so that
+     * "Real Madrid", " real  madrid" and "REAL MADRID" give the same key.
+     */
+    public static String normalizeKey(String value) {
+        int length = value.length();
+        int start = 0;
+        int end = length;
+        // Same as String.trim(): any control character or space at either end
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        String trimmed = start == 0 && end == length ? value : value.substring(start, end);
+        int first = indexOfRedundantWhitespace(trimmed);
+        if (first == NOT_FOUND) {
+            // toLowerCase returns the same instance when there is nothing to lower-case
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        StringBuilder key = new StringBuilder(trimmed.length()).append(trimmed, 0, first);
+        for (int i = first; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!isWhitespace(c)) {
+                key.append(c);
+            } else if (key.charAt(key.length() - 1) != ' ') {
+                key.append(' ');
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return True if the email is one or more of {@code [a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]}, an {@code @}
+     * and one or more of {@code [a-zA-Z0-9.-]}.
+     */
+    public static boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at == email.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            if (!isEmailLocalChar(email.charAt(i))) {
+                return false;
+            }
+        }
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the password has at least 6 characters, none of them a line break, and at least one digit.
+     */
+    public static boolean isValidPassword(String password) {
+        if (password == null || password.length() < 6) {
+            return false;
+        }
+        boolean digit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+            digit |= c >= '0' && c <= '9';
+        }
+        return digit && password.codePointCount(0, password.length()) >= 6;
+    }
+
+    private static int indexOfLineBreak(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * @return The index of the first whitespace that is not a single space, or {@link #NOT_FOUND}.
+     */
+    private static int indexOfRedundantWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isWhitespace(c) && (c != ' ' || (i + 1 < value.length() && isWhitespace(value.charAt(i + 1))))) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Whitespace as in the {@code \s} regex class: space, tab, line breaks, vertical tab and form feed.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static boolean isQueryDelimiter(char c) {
+        return c == ' ' || c == '&' || c == '?' || c == '=';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || "_!#$%&'*+/=?`{|}~^.-".indexOf(c) >= 0;
+    }
+}
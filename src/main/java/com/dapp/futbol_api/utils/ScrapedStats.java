@@ -0,0 +1,145 @@
+package com.dapp.futbol_api.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads the numeric stats of the scraper payloads, which come as JSON numbers or as scraped text
+ * such as "7.45", "1,234", "85.3%", "25(3)" or "-".
+ * <p>
+ * The deserializers parse the text straight from the parser's buffer, so binding a stat creates no
+ * intermediate String. A stat that is missing, null or not numeric (e.g. "-" for an unrated player)
+ * binds as null, so it can be told apart from a real 0.
+ */
+public final class ScrapedStats {
+
+    private ScrapedStats() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Parses the leading number of a scraped stat, ignoring thousands separators.
+     *
+     * @return The number, or 0 if the stat is missing or not numeric (e.g. "-").
+     */
+    public static double parse(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return parse(value.toCharArray(), 0, value.length());
+    }
+
+    /**
+     * Same as {@link #parse(String)} over a range of characters.
+     */
+    public static double parse(char[] chars, int offset, int length) {
+        double number = parseOrNaN(chars, offset, length);
+        return Double.isNaN(number) ? 0 : number;
+    }
+
+    /**
+     * @return The stat, or 0 if it is missing.
+     */
+    public static int orZero(Integer stat) {
+        return stat == null ? 0 : stat;
+    }
+
+    /**
+     * @return The stat, or 0 if it is missing.
+     */
+    public static double orZero(Double stat) {
+        return stat == null ? 0 : stat;
+    }
+
+    /**
+     * @return The leading number of the text, or NaN if it has none.
+     */
+    private static double parseOrNaN(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end && Character.isWhitespace(chars[i])) {
+            i++;
+        }
+        boolean negative = i < end && chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int decimals = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (mantissa < Long.MAX_VALUE / 10) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c != ',') {
+                break;
+            }
+        }
+        if (!digits) {
+            return Double.NaN;
+        }
+        double number = decimals > 0 ? mantissa / Math.pow(10, decimals) : mantissa;
+        return negative ? -number : number;
+    }
+
+    /**
+     * @return The stat, or NaN if the text is not numeric.
+     */
+    private static double read(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return parseOrNaN(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        return ((Number) ctxt.handleUnexpectedToken(type, p)).doubleValue();
+    }
+
+    /**
+     * Binds a scraped stat into an {@link Integer} field; non-numeric stats are null.
+     */
+    public static final class IntDeserializer extends StdDeserializer<Integer> {
+
+        public IntDeserializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public Integer deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return p.getIntValue();
+            }
+            double stat = read(p, ctxt, Integer.class);
+            return Double.isNaN(stat) ? null : (int) stat;
+        }
+    }
+
+    /**
+     * Binds a scraped stat into a {@link Double} field; non-numeric stats are null.
+     */
+    public static final class DoubleDeserializer extends StdDeserializer<Double> {
+
+        public DoubleDeserializer() {
+            super(Double.class);
+        }
+
+        @Override
+        public Double deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            double stat = read(p, ctxt, Double.class);
+            return Double.isNaN(stat) ? null : stat;
+        }
+    }
+}
@@ -4,15 +4,9 @@ import com.dapp.futbol_api.security.AuthenticationRequest;
 import com.dapp.futbol_api.security.RegisterRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
-
 @Component
 public class UserValidator {
 
-    // Standard regular expression for email validation.
-    private static final String EMAIL_REGEX = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
-    // Regular expression for the password: at least 6 characters and one number.
-    private static final String PASSWORD_REGEX = "^(?=.*\\d).{6,}$";
     private static final int MAX_PASSWORD_LENGTH = 128;
 
 
@@ -46,7 +40,7 @@ public class UserValidator {
     }
 
     private void validateEmailFormat(String email) {
-        if (email == null || !Pattern.matches(EMAIL_REGEX, email)) {
+        if (!InputNormalizer.isValidEmail(email)) {
             throw new IllegalArgumentException("The provided email format is invalid.");
         }
     }
@@ -57,7 +51,7 @@ public class UserValidator {
                     "Password cannot be longer than " + MAX_PASSWORD_LENGTH + " characters.");
         }
 
-        if (password == null || !Pattern.matches(PASSWORD_REGEX, password)) {
+        if (!InputNormalizer.isValidPassword(password)) {
             throw new IllegalArgumentException(
                     "Password must be at least 6 characters long and contain at least one digit.");
         }
@@ -5,11 +5,18 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepRequestDTO;
 import com.dapp.futbol_api.service.AnalysisService;
+import com.dapp.futbol_api.utils.InputNormalizer;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,70 +31,84 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AnalysisController {
 
-    private static final String NEW_LINE_REGEX = "[\n\r]";
     private final AnalysisService analysisService;
 
     @Operation(summary = "Get player performance metrics", description = "Retrieves comprehensive performance metrics for a player")
     @GetMapping("/{playerName}/performanceMetrics")
-    public ResponseEntity<Object> getPlayerPerformanceMetrics(
+    public CompletableFuture<ResponseEntity<Object>> getPlayerPerformanceMetrics(
             @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName,
             Authentication authentication) {
-        final String sanitizedPlayerName = sanitize(playerName);
-        Object performanceMetrics = analysisService.getPlayerPerformanceMetrics(sanitizedPlayerName, authentication);
-        return ResponseEntity.ok(performanceMetrics);
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+        return analysisService.getPlayerPerformanceMetricsAsync(sanitizedPlayerName, authentication)
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Get performance prediction", description = "Predicts player performance for next match considering opponent, venue and position")
     @GetMapping("/{playerName}/prediction")
-    public ResponseEntity<Object> getPerformancePrediction(
+    public CompletableFuture<ResponseEntity<Object>> getPerformancePrediction(
             @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName,
             @Parameter(description = "Opponent team name", example = "Real Madrid") @RequestParam("opponent") String opponent,
             @Parameter(description = "Whether the player is home", example = "true") @RequestParam("isHome") boolean isHome,
             @Parameter(description = "Player position", example = "FW") @RequestParam("position") String position,
             Authentication authentication) {
 
-        final String sanitizedPlayerName = sanitize(playerName);
-        final String sanitizedOpponent = sanitize(opponent);
-        final String sanitizedPosition = sanitize(position);
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+        final String sanitizedOpponent = InputNormalizer.sanitize(opponent);
+        final String sanitizedPosition = InputNormalizer.sanitize(position);
+
+        return analysisService.getPerformancePredictionAsync(sanitizedPlayerName, sanitizedOpponent, isHome,
+                sanitizedPosition, authentication).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Sweep performance predictions", description = "Predicts player performance for every scenario (opponent x venue x position) at once. The opponents are those listed plus the rivals of the upcoming matches of the team; the venues default to home and away. Returns the predictive scores as a matrix (one row per opponent, one column per venue and position) and the scenarios ranked from the best")
+    @PostMapping("/{playerName}/prediction/sweep")
+    public CompletableFuture<ResponseEntity<PredictionSweepDTO>> sweepPerformancePredictions(
+            @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName,
+            @RequestBody PredictionSweepRequestDTO request) {
+
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+        final PredictionSweepRequestDTO sanitizedRequest = new PredictionSweepRequestDTO(
+                request.getTeam() == null ? null : InputNormalizer.sanitize(request.getTeam()),
+                sanitize(request.getOpponents()), request.getVenues(), sanitize(request.getPositions()));
 
-        Object prediction = analysisService.getPerformancePrediction(sanitizedPlayerName, sanitizedOpponent, isHome,
-                sanitizedPosition, authentication);
-        return ResponseEntity.ok(prediction);
+        return analysisService.sweepPerformancePredictionsAsync(sanitizedPlayerName, sanitizedRequest)
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Convert player data to analysis format", description = "Converts scraped player data to analysis-ready format")
     @PostMapping("/{playerName}/convert-data")
     public ResponseEntity<Object> convertPlayerData(
             @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName) {
-        final String sanitizedPlayerName = sanitize(playerName);
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
         Object result = analysisService.convertPlayerData(sanitizedPlayerName);
         return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "Get comparative analysis", description = "Retrieves comparative analysis of player performance across different periods")
     @GetMapping("/{playerName}/comparison")
-    public ResponseEntity<Object> getComparativeAnalysis(
+    public CompletableFuture<ResponseEntity<Object>> getComparativeAnalysis(
             @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName,
             Authentication authentication) {
-        final String sanitizedPlayerName = sanitize(playerName);
-        Object analysis = analysisService.getComparativeAnalysis(sanitizedPlayerName, authentication);
-        return ResponseEntity.ok(analysis);
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+        return analysisService.getComparativeAnalysisAsync(sanitizedPlayerName, authentication)
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Get user query history", description = "Retrieves the query history for a player on a specific date for the authenticated user.")
     @GetMapping("/{playerName}/history")
-    public ResponseEntity<Object> getPlayerHistory(
+    public CompletableFuture<ResponseEntity<Object>> getPlayerHistory(
             @Parameter(description = "Name of the player", example = "Lionel Messi") @PathVariable("playerName") String playerName,
             @Parameter(description = "Date of the query (format dd-MM-yyyy)", example = "02-11-2025") @RequestParam("date") String date,
             Authentication authentication) {
 
-        final String sanitizedPlayerName = sanitize(playerName);
-        final String sanitizedDate = sanitize(date);
-        Object history = analysisService.getPlayerHistory(sanitizedPlayerName, sanitizedDate, authentication);
-        return ResponseEntity.ok(history);
+        final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+        final String sanitizedDate = InputNormalizer.sanitize(date);
+        return analysisService.getPlayerHistoryAsync(sanitizedPlayerName, sanitizedDate, authentication)
+                .thenApply(ResponseEntity::ok);
     }
 
-    private String sanitize(String input) {
-        return input.replaceAll(NEW_LINE_REGEX, "_");
+    private static List<String> sanitize(List<String> values) {
+        return values == null ? null
+                : values.stream().map(value -> value == null ? null : InputNormalizer.sanitize(value)).toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.dapp.futbol_api.webservice;
+
+import com.dapp.futbol_api.model.dto.LeaderboardDTO;
+import com.dapp.futbol_api.service.LeaderboardService;
+import com.dapp.futbol_api.utils.InputNormalizer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@Tag(name = "Leaderboards", description = "League-wide player rankings over the squads fetched.")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @Operation(summary = "List the leaderboards", description = "Lists the metrics that players can be ranked by. AUTHENTICATION REQUIRED!")
+    @GetMapping
+    public ResponseEntity<List<String>> getMetrics() {
+        return ResponseEntity.ok(leaderboardService.getMetrics());
+    }
+
+    @Operation(summary = "Get a leaderboard page", description = "Ranks the players of every squad fetched by a metric, best first. A team is ranked once its squad has been looked up, and follows its refreshes. AUTHENTICATION REQUIRED!")
+    @GetMapping("/{metric}")
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(
+            @Parameter(description = "Metric to rank by", example = "goals") @PathVariable("metric") String metric,
+            @Parameter(description = "0-based page number", example = "0") @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Entries per page", example = "20") @RequestParam(value = "size", defaultValue = "20") int size) {
+        final String sanitizedMetric = InputNormalizer.sanitize(metric);
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(sanitizedMetric, page, size));
+    }
+}
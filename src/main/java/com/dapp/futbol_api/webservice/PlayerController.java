@@ -1,17 +1,34 @@
 package com.dapp.futbol_api.webservice;
 
+import com.dapp.futbol_api.model.dto.PlayerBatchRequestDTO;
+import com.dapp.futbol_api.model.dto.PlayerBatchResultDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
 import com.dapp.futbol_api.service.PlayerService;
+import com.dapp.futbol_api.utils.CacheHeaders;
+import com.dapp.futbol_api.utils.InputNormalizer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
@@ -20,19 +37,42 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class PlayerController {
 
-  private static final String NEW_LINE_REGEX = "[\n\r]";
+  private static final MediaType NDJSON = new MediaType(MediaType.APPLICATION_NDJSON, StandardCharsets.UTF_8);
   private final PlayerService playerService;
+  private final ObjectMapper objectMapper;
 
   @Operation(summary = "Search and get player information by name", description = "Searches for a player by name on WhoScored and extracts their details. AUTHENTICATION REQUIRED!")
   @GetMapping("/player")
-  public ResponseEntity<Object> getPlayerInfoByName(
+  public CompletableFuture<ResponseEntity<PlayerDTO>> getPlayerInfoByName(
       @Parameter(description = "Name of the player to search for.", example = "Lionel Messi") @RequestParam("playerName") String playerName) {
-    final String sanitizedPlayerName = sanitize(playerName);
-    Object player = playerService.getPlayerInfoByName(sanitizedPlayerName);
-    return ResponseEntity.ok(player);
+    final String sanitizedPlayerName = InputNormalizer.sanitize(playerName);
+    return playerService.getPlayerInfoWithFreshnessAsync(sanitizedPlayerName).thenApply(CacheHeaders::ok);
+  }
+
+  @Operation(summary = "Get information of several players", description = "Looks up a list of players and streams one JSON line per player (NDJSON) as soon as each one is ready, with its info or the reason it could not be obtained. AUTHENTICATION REQUIRED!")
+  @PostMapping(value = "/player/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<ResponseBodyEmitter> getPlayersInfo(@RequestBody PlayerBatchRequestDTO request) {
+    List<String> playerNames = request.getPlayerNames() == null ? null
+        : request.getPlayerNames().stream().map(name -> name == null ? null : InputNormalizer.sanitize(name)).toList();
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+    playerService.getPlayersInfo(playerNames, result -> send(emitter, result))
+        .whenComplete((ignored, error) -> {
+          if (error == null) {
+            emitter.complete();
+          } else {
+            emitter.completeWithError(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+          }
+        });
+    return ResponseEntity.ok().contentType(NDJSON).body(emitter);
   }
 
-  private String sanitize(String input) {
-    return input.replaceAll(NEW_LINE_REGEX, "_");
+  private void send(ResponseBodyEmitter emitter, PlayerBatchResultDTO result) {
+    try {
+      emitter.send(objectMapper.writeValueAsString(result) + "\n", NDJSON);
+    } catch (IOException e) {
+      // The client went away: fail the batch so no more players are fetched for it
+      throw new UncheckedIOException(e);
+    }
   }
 }
@@ -0,0 +1,180 @@
+package com.dapp.futbol_api;
+
+import com.dapp.futbol_api.security.JwtService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test comparing platform threads, virtual threads and the non-blocking scraper engine on
+ * the controller-to-scraper path.
+ * <p>
+ * Starts a stub scraper that answers after {@value #SCRAPER_LATENCY_MS} ms and boots the application
+ * once per mode, with the response cache disabled and every request for a different team, so each
+ * request really waits on the scraper. Run it with:
+ * <pre>
+ * LOADTEST=true ./gradlew test --tests '*VirtualThreadLoadTest' -i
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "LOADTEST", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 2;
+    private static final long SCRAPER_LATENCY_MS = 2_000;
+    private static final int TOMCAT_THREADS = 50;
+
+    @Test
+    void testVirtualThreadsServeMoreConcurrentRequestsThanPlatformThreads() throws Exception {
+        // Arrange
+        HttpServer scraper = startSlowScraper();
+        try {
+            // Act: a warm-up run first, so JIT and class loading do not penalize the first mode
+            run(scraper, false, "blocking");
+            Result platform = run(scraper, false, "blocking");
+            Result virtual = run(scraper, true, "blocking");
+            Result nonBlocking = run(scraper, false, "non-blocking");
+
+            // Assert
+            log.info("Load test: {} clients x {} requests, scraper latency {} ms, {} Tomcat threads",
+                    CLIENTS, REQUESTS_PER_CLIENT, SCRAPER_LATENCY_MS, TOMCAT_THREADS);
+            log.info("Load test: {}", platform);
+            log.info("Load test: {}", virtual);
+            log.info("Load test: {}", nonBlocking);
+            assertEquals(0, platform.errors());
+            assertEquals(0, virtual.errors());
+            assertEquals(0, nonBlocking.errors());
+            assertTrue(virtual.throughput() > platform.throughput());
+            assertTrue(nonBlocking.throughput() > platform.throughput());
+        } finally {
+            scraper.stop(0);
+        }
+    }
+
+    private static Result run(HttpServer scraper, boolean virtualThreads, String clientMode) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FutbolApiApplication.class).run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--scraper.client.mode=" + clientMode,
+                        "--scraper.service.url=http://localhost:" + scraper.getAddress().getPort(),
+                        "--scraper.cache.enabled=false",
+                        "--scraper.resilience.team.max-concurrent-calls=" + CLIENTS,
+                        "--scraper.http.pool.max-total=" + CLIENTS,
+                        "--scraper.http.pool.max-per-route=" + CLIENTS,
+                        "--api.security.key=load-test-key",
+                        "--api.security.jwt.secret-key=bXlzdXBlcnNlY3JldGtleWZvcnRlc3RpbmdwdXJwb3Nlc2FuZGl0c2hvdWxkYmVsb25nZW5vdWdo",
+                        "--api.security.jwt.expiration-ms=3600000",
+                        "--logging.level.com.dapp.futbol_api.service=WARN");
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String token = context.getBean(JwtService.class)
+                    .generateToken(User.withUsername("load@test.com").password("").build());
+            AtomicInteger errors = new AtomicInteger();
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+
+            long start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                int clientId = client;
+                running.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                        "http://localhost:" + port + "/api/team?teamName=Team%20" + clientId + "-" + i))
+                                .header("Authorization", "Bearer " + token)
+                                .build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = httpClient.send(request,
+                                    HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[clientId * REQUESTS_PER_CLIENT + i] = System.nanoTime() - requestStart;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+            String mode = "non-blocking".equals(clientMode) ? clientMode : virtualThreads ? "virtual" : "platform";
+            return new Result(mode, latencies.length, errors.get(),
+                    latencies.length / (elapsedNanos / 1e9),
+                    TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(latencies[(int) (latencies.length * 0.99)]),
+                    pinned == null ? 0 : pinned.count());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static HttpServer startSlowScraper() throws IOException {
+        // The JDK server closes keep-alive connections beyond 200 idle ones by default
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CLIENTS * 2));
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/scrape/team", exchange -> {
+            try {
+                Thread.sleep(SCRAPER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[{\"name\":\"Team\",\"players\":[]}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private record Result(String mode, int requests, int errors, double throughput, long p50Ms, long p99Ms,
+            long pinnedEvents) {
+
+        @Override
+        public String toString() {
+            return String.format("%-12s requests=%d errors=%d throughput=%.0f req/s p50=%d ms p99=%d ms pinned=%d",
+                    mode, requests, errors, throughput, p50Ms, p99Ms, pinnedEvents);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardsTest {
+
+    @Test
+    void testPlayersOfEveryTeamAreRankedBestFirst() {
+        // Arrange
+        Leaderboards leaderboards = new Leaderboards(new MockEnvironment());
+
+        // Act
+        leaderboards.update("barcelona", team("Barcelona", player("Lewandowski", 19, 7.3), player("Pedri", 4, 7.9)));
+        leaderboards.update("real madrid", team("Real Madrid", player("Mbappe", 31, 7.8), player("Courtois", 0, 0)));
+
+        // Assert
+        TopKIndex.Page scorers = leaderboards.page(LeaderboardMetric.GOALS, 0, 10);
+        assertEquals(List.of("Mbappe", "Lewandowski", "Pedri"), names(scorers));
+        assertEquals("Real Madrid", scorers.entries().get(0).team());
+        assertEquals(3, scorers.ranked());
+        assertEquals(3, scorers.qualified());
+        assertEquals(List.of("Pedri", "Mbappe", "Lewandowski"),
+                names(leaderboards.page(LeaderboardMetric.RATING, 0, 10)));
+        assertEquals(2, leaderboards.teams());
+    }
+
+    @Test
+    void testARefreshedSquadReplacesTheTeamsPlayers() {
+        // Arrange
+        Leaderboards leaderboards = new Leaderboards(new MockEnvironment());
+        leaderboards.update("barcelona", team("Barcelona", player("Lewandowski", 19, 7.3), player("Pedri", 4, 7.9)));
+        leaderboards.update("real madrid", team("Real Madrid", player("Mbappe", 31, 7.8)));
+
+        // Act
+        leaderboards.update("FC Barcelona", team("Barcelona", player("Lewandowski", 35, 7.5)));
+
+        // Assert
+        TopKIndex.Page scorers = leaderboards.page(LeaderboardMetric.GOALS, 0, 10);
+        assertEquals(List.of("Lewandowski", "Mbappe"), names(scorers));
+        assertEquals(35.0, scorers.entries().get(0).value());
+        assertEquals(2, leaderboards.teams());
+    }
+
+    @Test
+    void testPlayersOutsideTheTopAreRankedWhenATeamDropsOut() {
+        // Arrange
+        Leaderboards leaderboards = new Leaderboards(new MockEnvironment().withProperty("scraper.leaderboards.size", "2"));
+        leaderboards.update("barcelona", team("Barcelona", player("Lewandowski", 19, 7.3), player("Raphinha", 18, 7.6)));
+        leaderboards.update("girona", team("Girona", player("Stuani", 9, 7.0)));
+
+        // Act
+        leaderboards.update("barcelona", team("Barcelona", player("Lewandowski", 1, 7.3)));
+
+        // Assert
+        TopKIndex.Page scorers = leaderboards.page(LeaderboardMetric.GOALS, 0, 10);
+        assertEquals(List.of("Stuani", "Lewandowski"), names(scorers));
+        assertEquals(2, scorers.ranked());
+        assertEquals(2, scorers.qualified());
+    }
+
+    @Test
+    void testPagesMatchAFullSortAfterManyRefreshes() {
+        // Arrange
+        Leaderboards leaderboards = new Leaderboards(new MockEnvironment().withProperty("scraper.leaderboards.size", "15"));
+        Map<String, TeamDTO> latest = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int refresh = 0; refresh < 200; refresh++) {
+            String name = "Team " + random.nextInt(8);
+            List<TeamPlayerDTO> squad = new ArrayList<>();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                squad.add(player(name + " player " + i, random.nextInt(20), 6 + random.nextDouble()));
+            }
+            TeamDTO team = team(name, squad.toArray(TeamPlayerDTO[]::new));
+            latest.put(name, team);
+            leaderboards.update(name, team);
+        }
+
+        // Assert
+        List<TeamPlayerDTO> expected = latest.values().stream()
+                .flatMap(team -> team.getSquad().stream())
+                .filter(player -> player.getGoals() > 0)
+                .sorted(Comparator.comparingInt(TeamPlayerDTO::getGoals).reversed()
+                        .thenComparing(TeamPlayerDTO::getName))
+                .toList();
+        List<String> ranked = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            ranked.addAll(names(leaderboards.page(LeaderboardMetric.GOALS, page * 4, 4)));
+        }
+        assertEquals(expected.stream().limit(15).map(TeamPlayerDTO::getName).toList(), ranked);
+        assertEquals(expected.size(), leaderboards.page(LeaderboardMetric.GOALS, 0, 1).qualified());
+    }
+
+    @Test
+    void testAFailedBackgroundUpdateKeepsThePreviousSquad() {
+        // Arrange
+        Leaderboards leaderboards = new Leaderboards(new MockEnvironment());
+        leaderboards.update("barcelona", team("Barcelona", player("Lewandowski", 19, 7.3)));
+        TeamDTO broken = mock(TeamDTO.class);
+        when(broken.getName()).thenReturn("Barcelona");
+        when(broken.getSquad()).thenThrow(new IllegalStateException("Broken squad"));
+
+        // Act
+        CompletableFuture<Void> update = leaderboards.updateInBackground("barcelona", broken);
+
+        // Assert
+        assertDoesNotThrow(() -> update.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("Lewandowski"), names(leaderboards.page(LeaderboardMetric.GOALS, 0, 10)));
+        leaderboards.destroy();
+    }
+
+    @Test
+    void testMetricsAreFoundByTheirPath() {
+        // Act & Assert
+        assertEquals(LeaderboardMetric.AERIALS_WON, LeaderboardMetric.fromPath("aerials-won"));
+        assertEquals(LeaderboardMetric.GOALS, LeaderboardMetric.fromPath("Goals"));
+        assertEquals("man-of-the-match", LeaderboardMetric.MAN_OF_THE_MATCH.getPath());
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardMetric.fromPath("tackles"));
+    }
+
+    private static List<String> names(TopKIndex.Page page) {
+        return page.entries().stream().map(ranked -> ranked.player().getName()).toList();
+    }
+
+    private static TeamDTO team(String name, TeamPlayerDTO... squad) {
+        TeamDTO team = new TeamDTO();
+        team.setName(name);
+        team.setSquad(List.of(squad));
+        return team;
+    }
+
+    private static TeamPlayerDTO player(String name, int goals, double rating) {
+        return TeamPlayerDTO.builder().name(name).position("FW").goals(goals).rating(rating).build();
+    }
+}
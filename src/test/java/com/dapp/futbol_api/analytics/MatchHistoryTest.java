@@ -0,0 +1,53 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchHistoryTest {
+
+    private final MatchHistory history = new MatchHistory(new MockEnvironment()
+            .withProperty("scraper.match-history.max-players", "1"));
+
+    @Test
+    void testUpdateAddsOnlyTheNewMatchesToTheOpponentTable() {
+        // Arrange
+        history.update("Pedri", player("03-11-2025", "Getafe"), MatchStatsStore::size);
+
+        // Act
+        int size = history.update("pedri ", player("03-11-2025", "Getafe"), MatchStatsStore::size);
+
+        // Assert
+        assertEquals(1, size);
+        assertEquals(1, history.getOpponents().totalMatches());
+    }
+
+    @Test
+    void testEvictedPlayersFetchedAgainAreNotCountedTwice() throws InterruptedException {
+        // Act
+        for (int round = 0; round < 3; round++) {
+            history.update("Pedri", player("03-11-2025", "Getafe"), MatchStatsStore::size);
+            history.update("Gavi", player("10-11-2025", "Sevilla"), MatchStatsStore::size);
+        }
+
+        // Assert: only the match of the player still kept is counted, once the evictions are processed
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (history.getOpponents().totalMatches() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, history.getOpponents().totalMatches());
+    }
+
+    private static PlayerDTO player(String date, String opponent) {
+        PlayerDTO player = new PlayerDTO();
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date(date).opponent(opponent).position("FW").minsPlayed(90).goals(1).build()));
+        return player;
+    }
+}
@@ -0,0 +1,129 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchStatsStoreTest {
+
+    private final StatsDictionary dictionary = new StatsDictionary();
+    private final MatchStatsStore store = new MatchStatsStore(dictionary);
+
+    @Test
+    void testAppendKeepsTheMatchesOldestFirstAndSkipsUnratedOnes() {
+        // Act
+        int appended = store.append(List.of(
+                match("27-10-2025", "Sevilla", "FW", 90, 0, 6.5),
+                match("20-10-2025", "Getafe", "FW", 10, 0, 0),
+                match("13-10-2025", "Girona", "FW", 90, 0, 7.5)));
+
+        // Assert
+        assertEquals(3, appended);
+        assertEquals(7.5, store.rating(0));
+        assertEquals(0.0, store.rating(1));
+        assertEquals(6.5, store.rating(2));
+        assertEquals(2, store.totals().ratedMatches());
+        assertEquals(-1.0, store.totals().ratingTrend());
+        assertTrue(Double.isNaN(store.totals().averagePassSuccess()));
+    }
+
+    @Test
+    void testAppendGrowsTheColumnsAndSkipsMatchesSeenBefore() {
+        // Arrange
+        List<PlayerMatchStatsDTO> matches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            matches.add(match("match-" + i, "Rival", "AM", 90, 1, 7.0));
+        }
+
+        // Act
+        store.append(matches);
+        int appendedAgain = store.append(matches);
+
+        // Assert
+        assertEquals(100, store.size());
+        assertEquals(0, appendedAgain);
+        assertEquals(100, store.totals().goals());
+        assertEquals(0.0, store.totals().ratingDeviation());
+        assertEquals(0.0, store.totals().ratingTrend());
+        assertEquals(128L * 64, store.columnBytes());
+    }
+
+    @Test
+    void testSummarizeFiltersByOpponentAndPosition() {
+        // Arrange
+        store.append(List.of(
+                match("03-11-2025", "Real Madrid", "FW", 90, 2, 8.0),
+                match("27-10-2025", "Sevilla", "AM", 90, 1, 7.0),
+                match("20-10-2025", "real  madrid", "AM", 45, 0, 6.0)));
+        int realMadrid = dictionary.find("Real Madrid");
+
+        // Act
+        MatchStatsSummary againstRealMadrid = store.summarize(realMadrid, MatchStatsStore.ANY);
+        MatchStatsSummary asForward = store.summarize(MatchStatsStore.ANY, dictionary.find("FW"));
+        MatchStatsSummary againstRealMadridAsMidfielder = store.summarize(realMadrid, dictionary.find("AM"));
+        MatchStatsSummary againstUnknown = store.summarize(dictionary.find("Girona"), MatchStatsStore.ANY);
+
+        // Assert
+        assertEquals(2, againstRealMadrid.matches());
+        assertEquals(2, againstRealMadrid.goals());
+        assertEquals(135, againstRealMadrid.minutes());
+        assertEquals(7.0, againstRealMadrid.averageRating());
+        assertEquals(2.0, againstRealMadrid.ratingTrend());
+        assertEquals(1, asForward.matches());
+        assertEquals(1, againstRealMadridAsMidfielder.matches());
+        assertEquals(0, againstUnknown.matches());
+        assertEquals(StatsDictionary.MISSING, dictionary.find("Girona"));
+    }
+
+    @Test
+    void testSummarizingEveryMatchGivesTheRunningTotals() {
+        // Arrange
+        List<PlayerMatchStatsDTO> matches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            matches.add(match("match-" + i, "Rival " + i % 3, "FW", 90 - i, i % 3, i % 4 == 0 ? 0 : 5 + i % 7 * 0.5));
+        }
+        store.append(matches);
+
+        // Act
+        MatchStatsSummary scanned = store.summarize(MatchStatsStore.ANY, MatchStatsStore.ANY);
+
+        // Assert
+        MatchStatsSummary totals = store.totals();
+        assertEquals(totals.matches(), scanned.matches());
+        assertEquals(totals.minutes(), scanned.minutes());
+        assertEquals(totals.goals(), scanned.goals());
+        assertEquals(totals.ratedMatches(), scanned.ratedMatches());
+        assertEquals(totals.averageRating(), scanned.averageRating(), 1e-9);
+        assertEquals(totals.ratingDeviation(), scanned.ratingDeviation(), 1e-9);
+        assertEquals(totals.ratingTrend(), scanned.ratingTrend(), 1e-9);
+    }
+
+    @Test
+    void testDictionaryStoresEachValueOnce() {
+        // Act
+        int first = dictionary.encode("Real Madrid");
+        int second = dictionary.encode(" real madrid ");
+        int other = dictionary.encode("Sevilla");
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, dictionary.size());
+    }
+
+    private static PlayerMatchStatsDTO match(String date, String opponent, String position, int minutes, int goals,
+            double rating) {
+        return PlayerMatchStatsDTO.builder()
+                .date(date)
+                .opponent(opponent)
+                .position(position)
+                .minsPlayed(minutes)
+                .goals(goals)
+                .rating(rating)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PerformanceMetricsDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceMetricsEngineTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final PerformanceMetricsEngine engine = new PerformanceMetricsEngine(environment,
+            new MatchHistory(environment));
+
+    @Test
+    void testComputeDerivesTheMetricsFromTheMatchStats() {
+        // Arrange (most recent match first, as listed by the scraper)
+        PlayerDTO player = player("Lionel Messi",
+                match("03-11-2025", "Real Madrid", 90, 2, 1, 4, 88.0, 1, 8.0),
+                match("27-10-2025", "Sevilla", 90, 0, 1, 2, 84.0, 0, 7.0),
+                match("20-10-2025", "Getafe", 60, 1, 0, 2, 0, 2, 6.0));
+
+        // Act
+        PerformanceMetricsDTO metrics = engine.compute("lionel messi", player);
+
+        // Assert
+        assertEquals("Lionel Messi", metrics.getPlayerName());
+        assertEquals(1.0, metrics.getGoalsPerMatch());
+        assertEquals(0.67, metrics.getAssistsPerMatch());
+        assertEquals(1.67, metrics.getGoalInvolvement());
+        assertEquals(2.67, metrics.getShotsPerMatch());
+        assertEquals(37.5, metrics.getShotAccuracy());
+        assertEquals(86.0, metrics.getPassAccuracy());
+        assertEquals(1.0, metrics.getAerialDuelsWon());
+        assertEquals(7.0, metrics.getAverageRating());
+        assertEquals(0.82, metrics.getRatingDeviation());
+        assertEquals(80.0, metrics.getMinutesPerMatch());
+        assertEquals(1.88, metrics.getOffensiveImpact());
+        assertEquals(1.0, metrics.getPerformanceTrend());
+        assertEquals(0.63, metrics.getGoalProbability());
+        assertEquals(0.49, metrics.getAssistProbability());
+        assertNull(metrics.getKeyPassesPerMatch());
+        assertNull(metrics.getRecoveriesPerMatch());
+    }
+
+    @Test
+    void testComputeOnlyAppendsTheNewMatches() {
+        // Arrange
+        PlayerMatchStatsDTO first = match("20-10-2025", "Getafe", 90, 1, 0, 2, 80.0, 0, 6.0);
+        PlayerMatchStatsDTO second = match("27-10-2025", "Sevilla", 90, 1, 0, 2, 80.0, 0, 8.0);
+        engine.compute("Pedri", player("Pedri", first));
+
+        // Act
+        PerformanceMetricsDTO metrics = engine.compute("Pedri", player("Pedri", second, first));
+
+        // Assert
+        assertEquals(1.0, metrics.getGoalsPerMatch());
+        assertEquals(7.0, metrics.getAverageRating());
+        assertEquals(2.0, metrics.getPerformanceTrend());
+    }
+
+    @Test
+    void testComputeWithoutMatchStatsReturnsNull() {
+        // Arrange
+        PlayerDTO player = player("Unknown");
+
+        // Act & Assert
+        assertNull(engine.compute("Unknown", player));
+        assertNull(engine.compute("Unknown", null));
+    }
+
+    @Test
+    void testUnratedPlayerHasNoRatingMetrics() {
+        // Arrange
+        PlayerDTO player = player("Youngster", match("20-10-2025", "Getafe", 5, 0, 0, 0, 0, 0, 0));
+
+        // Act
+        PerformanceMetricsDTO metrics = engine.compute("Youngster", player);
+
+        // Assert
+        assertEquals(0.0, metrics.getGoalsPerMatch());
+        assertNull(metrics.getShotAccuracy());
+        assertNull(metrics.getAverageRating());
+        assertNull(metrics.getRatingDeviation());
+        assertNull(metrics.getPerformanceTrend());
+        assertEquals(0.0, metrics.getGoalProbability());
+    }
+
+    private static PlayerDTO player(String name, PlayerMatchStatsDTO... matches) {
+        PlayerDTO player = new PlayerDTO();
+        player.setName(name);
+        player.setMatchStats(List.of(matches));
+        return player;
+    }
+
+    private static PlayerMatchStatsDTO match(String date, String opponent, int minutes, int goals, int assists,
+            int shots, double passSuccess, int aerialsWon, double rating) {
+        return PlayerMatchStatsDTO.builder()
+                .date(date)
+                .opponent(opponent)
+                .minsPlayed(minutes)
+                .goals(goals)
+                .assists(assists)
+                .shots(shots)
+                .passSuccess(passSuccess)
+                .aerialsWon(aerialsWon)
+                .rating(rating)
+                .build();
+    }
+}
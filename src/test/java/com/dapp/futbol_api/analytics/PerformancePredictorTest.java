@@ -0,0 +1,164 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import com.dapp.futbol_api.model.dto.PredictionScenarioDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictiveAnalysisDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformancePredictorTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final MatchHistory history = new MatchHistory(environment);
+    private final PerformancePredictor predictor = new PerformancePredictor(environment, history);
+
+    @Test
+    void testPredictScalesThePlayerRatesByEveryFactor() {
+        // Act
+        PredictiveAnalysisDTO prediction = predictor.predict("pedri", pedri(), "Getafe", true, "FW");
+
+        // Assert
+        assertEquals("Pedri", prediction.getPlayerName());
+        assertEquals(LocalDate.now(), prediction.getAnalysisDate());
+        assertEquals(1.1, prediction.getHomeAdvantageFactor());
+        assertEquals(0.94, prediction.getOpponentFactor());
+        assertEquals(1.08, prediction.getPositionFactor());
+        assertEquals(1.2, prediction.getTrendFactor());
+        assertEquals(0.49, prediction.getGoalProbability());
+        assertEquals(0.29, prediction.getAssistProbability());
+        assertEquals(0.57, prediction.getHighRatingProbability());
+        assertEquals(0.67, prediction.getFullMatchProbability());
+        assertEquals(90.62, prediction.getPredictiveScore());
+        assertEquals("ABOVE_AVERAGE", prediction.getPerformancePrediction());
+    }
+
+    @Test
+    void testUnknownOpponentAndPositionAreNeutral() {
+        // Act
+        PredictiveAnalysisDTO away = predictor.predict("Pedri", pedri(), "Unknown FC", false, "GK");
+
+        // Assert
+        assertEquals(0.91, away.getHomeAdvantageFactor());
+        assertEquals(1.0, away.getOpponentFactor());
+        assertEquals(1.0, away.getPositionFactor());
+    }
+
+    @Test
+    void testOpponentConcedingMoreHasAHigherFactor() {
+        // Act
+        PredictiveAnalysisDTO weak = predictor.predict("Pedri", pedri(), "Sevilla", true, "FW");
+        PredictiveAnalysisDTO strong = predictor.predict("Pedri", pedri(), "Getafe", true, "FW");
+
+        // Assert
+        assertEquals(1.06, weak.getOpponentFactor());
+        assertTrue(weak.getGoalProbability() > strong.getGoalProbability());
+    }
+
+    @Test
+    void testPredictWithoutMatchStatsReturnsNull() {
+        // Act & Assert
+        assertNull(predictor.predict("Unknown", new PlayerDTO(), "Getafe", true, "FW"));
+    }
+
+    @Test
+    void testSweepScoresEveryScenarioAsASinglePrediction() {
+        // Act
+        PredictionSweepDTO sweep = predictor.sweep("Pedri", pedri(), List.of("Sevilla", "Getafe"),
+                List.of(true, false), List.of("FW", "AMC", "GK"));
+
+        // Assert
+        assertEquals("Pedri", sweep.getPlayerName());
+        assertEquals(List.of("Sevilla", "Getafe"), sweep.getOpponents());
+        assertEquals(6, sweep.getColumns().size());
+        assertEquals(true, sweep.getColumns().get(0).getIsHome());
+        assertEquals("FW", sweep.getColumns().get(0).getPosition());
+        assertEquals(false, sweep.getColumns().get(3).getIsHome());
+        assertEquals("FW", sweep.getColumns().get(3).getPosition());
+        assertEquals(2, sweep.getScores().size());
+        assertEquals(90.62, sweep.getScores().get(1).get(0));
+        PredictiveAnalysisDTO single = predictor.predict("Pedri", pedri(), "Sevilla", false, "AMC");
+        PredictionScenarioDTO scenario = sweep.getRanking().stream()
+                .filter(s -> s.getOpponent().equals("Sevilla") && !s.getIsHome() && s.getPosition().equals("AMC"))
+                .findFirst().orElseThrow();
+        assertEquals(single, scenario.getPrediction());
+        assertEquals(single.getPredictiveScore(), sweep.getScores().get(0).get(4));
+    }
+
+    @Test
+    void testSweepRanksTheScenariosFromTheBest() {
+        // Act
+        PredictionSweepDTO sweep = predictor.sweep("Pedri", pedri(), List.of("Getafe", "Sevilla"),
+                List.of(false, true), List.of("AMC", "FW"));
+
+        // Assert
+        List<PredictionScenarioDTO> ranking = sweep.getRanking();
+        assertEquals(8, ranking.size());
+        assertEquals(1, ranking.get(0).getRank());
+        assertEquals("Sevilla", ranking.get(0).getOpponent());
+        assertTrue(ranking.get(0).getIsHome());
+        assertEquals("FW", ranking.get(0).getPosition());
+        for (int i = 1; i < ranking.size(); i++) {
+            assertEquals(i + 1, ranking.get(i).getRank());
+            assertTrue(ranking.get(i - 1).getPrediction().getPredictiveScore()
+                    >= ranking.get(i).getPrediction().getPredictiveScore());
+        }
+    }
+
+    @Test
+    void testSweepWithoutMatchStatsReturnsNull() {
+        // Act & Assert
+        assertNull(predictor.sweep("Unknown", new PlayerDTO(), List.of("Getafe"), List.of(true), List.of("FW")));
+    }
+
+    @Test
+    void testCoefficientTablePullsRareValuesTowardsOne() {
+        // Arrange
+        CoefficientTable table = new CoefficientTable();
+        for (int i = 0; i < 100; i++) {
+            table.add(0, 1);
+        }
+        table.add(1, 5);
+
+        // Act
+        double rare = table.factor(1);
+
+        // Assert
+        assertTrue(rare > 1.0 && rare < 2.0);
+        assertEquals(1.0, table.factor(7));
+    }
+
+    /**
+     * Four matches, the most recent first: two against Getafe with one goal involvement, two
+     * against Sevilla with two, three of them as a forward and ratings trending up.
+     */
+    private static PlayerDTO pedri() {
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Pedri");
+        player.setMatchStats(List.of(
+                match("24-10-2025", "Sevilla", "FW", 90, 1, 0, 7.5),
+                match("17-10-2025", "Getafe", "AMC", 60, 0, 0, 6.5),
+                match("10-10-2025", "Sevilla", "FW", 90, 0, 1, 6.0),
+                match("03-10-2025", "Getafe", "FW", 90, 1, 0, 7.0)));
+        return player;
+    }
+
+    private static PlayerMatchStatsDTO match(String date, String opponent, String position, int minutes, int goals,
+            int assists, double rating) {
+        return PlayerMatchStatsDTO.builder()
+                .date(date)
+                .opponent(opponent)
+                .position(position)
+                .minsPlayed(minutes)
+                .goals(goals)
+                .assists(assists)
+                .rating(rating)
+                .build();
+    }
+}
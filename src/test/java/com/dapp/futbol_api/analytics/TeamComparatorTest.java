@@ -0,0 +1,111 @@
+package com.dapp.futbol_api.analytics;
+
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamComparatorTest {
+
+    private final TeamComparator comparator = new TeamComparator(new MockEnvironment());
+
+    @Test
+    void testCompareWeightsRatingsByMinutesAndFavorsTheBetterTeam() {
+        // Arrange
+        TeamDTO barcelona = team("Barcelona",
+                player("Pedri", 22, "30(2)", 2500, 5, 8, 7.90),
+                player("Backup", 19, "0(4)", 100, 0, 0, 6.00));
+        TeamDTO realMadrid = team("Real Madrid",
+                player("Vinicius", 24, "28", 2400, 12, 6, 7.40));
+
+        // Act
+        Map<String, Object> result = comparator.compare("barcelona", barcelona, "real madrid", realMadrid);
+
+        // Assert
+        Map<?, ?> comparison = (Map<?, ?>) result.get("comparison");
+        Map<?, ?> prediction = (Map<?, ?>) comparison.get("prediction");
+        assertEquals("Barcelona", result.get("teamName1"));
+        assertEquals("Real Madrid", result.get("teamName2"));
+        assertEquals(7.83, comparison.get("team1OverallRating"));
+        assertEquals(7.4, comparison.get("team2OverallRating"));
+        assertEquals(5L, comparison.get("team1Goals"));
+        assertEquals(12L, comparison.get("team2Goals"));
+        assertEquals("Barcelona", prediction.get("favoredTeam"));
+        assertTrue((Long) prediction.get("team1Wins") > (Long) prediction.get("team2Wins"));
+        assertEquals(100L, (Long) prediction.get("team1Wins") + (Long) prediction.get("team2Wins")
+                + (Long) prediction.get("draws"));
+        assertEquals("CLEAR_ADVANTAGE_Barcelona (7.83 rating)", result.get("suggestedWinner"));
+        assertEquals("local", result.get("source"));
+    }
+
+    @Test
+    void testEvenTeamsHaveNoFavorite() {
+        // Arrange
+        TeamDTO home = team("Home", player("A", 25, "10", 900, 1, 1, 7.00));
+        TeamDTO away = team("Away", player("B", 25, "10", 900, 1, 1, 7.02));
+
+        // Act
+        Map<String, Object> result = comparator.compare("Home", home, "Away", away);
+
+        // Assert
+        Map<?, ?> prediction = (Map<?, ?>) ((Map<?, ?>) result.get("comparison")).get("prediction");
+        assertEquals("NONE", prediction.get("favoredTeam"));
+        assertEquals("EVEN", result.get("suggestedWinner"));
+    }
+
+    @Test
+    void testCompareReturnsNullWhenASquadCannotBeRated() {
+        // Arrange
+        TeamDTO rated = team("Rated", player("A", 25, "10", 900, 1, 1, 7.00));
+        TeamDTO unrated = team("Unrated", player("B", 25, "10", 900, 1, 1, 0));
+
+        // Act & Assert
+        assertNull(comparator.compare("Rated", rated, "Unrated", unrated));
+        assertNull(comparator.compare("Rated", rated, "Empty", team("Empty")));
+        assertNull(comparator.compare("Rated", rated, "Missing", null));
+    }
+
+    @Test
+    void testParseAppsAddsSubstituteAppearances() {
+        assertEquals(28, TeamComparator.parseApps("25(3)"), 1e-9);
+        assertEquals(10, TeamComparator.parseApps("10"), 1e-9);
+        assertEquals(0, TeamComparator.parseApps(null), 1e-9);
+        assertEquals(4, TeamComparator.parseApps("0(4)"), 1e-9);
+    }
+
+    @Test
+    void testLocalComparisonCanBeDisabled() {
+        // Act
+        TeamComparator disabled = new TeamComparator(
+                new MockEnvironment().withProperty("scraper.compare.local.enabled", "false"));
+
+        // Assert
+        assertTrue(comparator.isEnabled());
+        assertFalse(disabled.isEnabled());
+    }
+
+    private static TeamDTO team(String name, TeamPlayerDTO... players) {
+        TeamDTO team = new TeamDTO();
+        team.setName(name);
+        team.setSquad(List.of(players));
+        return team;
+    }
+
+    private static TeamPlayerDTO player(String name, int age, String apps, int minsPlayed, int goals, int assists,
+            double rating) {
+        return TeamPlayerDTO.builder()
+                .name(name)
+                .age(age)
+                .apps(apps)
+                .minsPlayed(minsPlayed)
+                .goals(goals)
+                .assists(assists)
+                .rating(rating)
+                .build();
+    }
+}
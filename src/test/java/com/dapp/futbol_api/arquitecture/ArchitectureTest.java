@@ -11,6 +11,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.classes;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
 import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.noClasses;
@@ -118,7 +120,8 @@ public class ArchitectureTest {
                     .that().arePublic()
                     .and().areDeclaredInClassesThat().areAnnotatedWith(RestController.class)
                     .should().haveRawReturnType(ResponseEntity.class)
-                    .as("Public methods in controllers should return ResponseEntity");
+                    .orShould().haveRawReturnType(CompletableFuture.class)
+                    .as("Public methods in controllers should return ResponseEntity or a CompletableFuture of it");
 
     // ### Service Rules ###
 
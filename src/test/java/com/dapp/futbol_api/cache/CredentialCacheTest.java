@@ -0,0 +1,81 @@
+package com.dapp.futbol_api.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialCacheTest {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void testRememberedCredentialsMatchOnlyWithTheSamePassword() {
+        // Arrange
+        CredentialCache cache = new CredentialCache(new MockEnvironment(), passwordEncoder);
+
+        // Act
+        cache.remember("fan@test.com", "password123");
+
+        // Assert
+        assertTrue(cache.matches("fan@test.com", "password123"));
+        assertFalse(cache.matches("fan@test.com", "password124"));
+        assertFalse(cache.matches("other@test.com", "password123"));
+        assertFalse(cache.matches(null, "password123"));
+    }
+
+    @Test
+    void testForgottenCredentialsNoLongerMatch() {
+        // Arrange
+        CredentialCache cache = new CredentialCache(new MockEnvironment(), passwordEncoder);
+        cache.remember("fan@test.com", "password123");
+
+        // Act
+        cache.forget("fan@test.com");
+
+        // Assert
+        assertFalse(cache.matches("fan@test.com", "password123"));
+    }
+
+    @Test
+    void testCredentialsExpireAfterTheMaximumAge() throws InterruptedException {
+        // Arrange
+        CredentialCache cache = new CredentialCache(
+                new MockEnvironment().withProperty("api.security.credentials.cache.max-age-ms", "200"), passwordEncoder);
+        cache.remember("fan@test.com", "password123");
+
+        // Act
+        Thread.sleep(400);
+
+        // Assert
+        assertFalse(cache.matches("fan@test.com", "password123"));
+    }
+
+    @Test
+    void testDisabledCacheNeverMatches() {
+        // Arrange
+        CredentialCache cache = new CredentialCache(
+                new MockEnvironment().withProperty("api.security.credentials.cache.enabled", "false"), passwordEncoder);
+
+        // Act
+        cache.remember("fan@test.com", "password123");
+
+        // Assert
+        assertFalse(cache.matches("fan@test.com", "password123"));
+    }
+
+    @Test
+    void testPasswordsTooLongToHashAreNotCached() {
+        // Arrange
+        CredentialCache cache = new CredentialCache(new MockEnvironment(), passwordEncoder);
+        String longPassword = "p".repeat(100);
+
+        // Act
+        cache.remember("fan@test.com", longPassword);
+
+        // Assert
+        assertFalse(cache.matches("fan@test.com", longPassword));
+    }
+}
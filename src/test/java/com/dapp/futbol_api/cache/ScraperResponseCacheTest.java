@@ -0,0 +1,198 @@
+package com.dapp.futbol_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScraperResponseCacheTest {
+
+    private ScraperResponseCache responseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ScraperResponseCache(new MockEnvironment());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetShouldCallLoaderOnlyOnMiss() {
+        // Act
+        Object first = responseCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "team-" + loads.incrementAndGet());
+        Object second = responseCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "team-" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("team-1", first);
+        assertEquals("team-1", second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testRegionsAreIndependent() {
+        // Act
+        responseCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "squad");
+        Object matches = responseCache.get(CachePolicy.FUTURE_MATCHES, "real madrid", () -> "matches");
+
+        // Assert
+        assertEquals("matches", matches);
+    }
+
+    @Test
+    void testNullResponsesAreNotCached() {
+        // Act
+        responseCache.get(CachePolicy.ANALYSIS, "key", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        responseCache.get(CachePolicy.ANALYSIS, "key", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoaderExceptionsArePropagated() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> responseCache.get(CachePolicy.PLAYER_PROFILE, "ghost",
+                () -> {
+                    throw new IllegalArgumentException("Player not found");
+                }));
+    }
+
+    @Test
+    void testInvalidateShouldForceReload() {
+        // Arrange
+        responseCache.get(CachePolicy.PLAYER_PROFILE, "messi", () -> "v" + loads.incrementAndGet());
+
+        // Act
+        responseCache.invalidate(CachePolicy.PLAYER_PROFILE, "messi");
+        Object reloaded = responseCache.get(CachePolicy.PLAYER_PROFILE, "messi", () -> "v" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("v2", reloaded);
+    }
+
+    @Test
+    void testDisabledCacheShouldAlwaysCallLoader() {
+        // Arrange
+        ScraperResponseCache disabledCache = new ScraperResponseCache(
+                new MockEnvironment().withProperty("scraper.cache.enabled", "false"));
+
+        // Act
+        disabledCache.get(CachePolicy.TEAM_SQUAD, "key", () -> loads.incrementAndGet());
+        disabledCache.get(CachePolicy.TEAM_SQUAD, "key", () -> loads.incrementAndGet());
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testStaleWhileRevalidateServesStaleAndRefreshesInBackground() throws InterruptedException {
+        // Arrange: every response is past its TTL at once, but can be served stale for a minute
+        ScraperResponseCache swrCache = staleWhileRevalidateCache();
+        swrCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "v1");
+
+        // Act
+        CachedResponse<String> stale = swrCache.getWithFreshness(CachePolicy.TEAM_SQUAD, "real madrid", () -> "v2");
+        CachedResponse<String> refreshed = waitForValue(swrCache, "v2");
+
+        // Assert
+        assertEquals("v1", stale.value());
+        assertTrue(stale.stale());
+        assertEquals("v2", refreshed.value());
+        swrCache.destroy();
+    }
+
+    @Test
+    void testStaleWhileRevalidateKeepsServingStaleWhenRefreshFails() throws InterruptedException {
+        // Arrange
+        ScraperResponseCache swrCache = staleWhileRevalidateCache();
+        swrCache.get(CachePolicy.PLAYER_PROFILE, "messi", () -> "v1");
+        CountDownLatch refreshAttempted = new CountDownLatch(1);
+
+        // Act
+        swrCache.getWithFreshness(CachePolicy.PLAYER_PROFILE, "messi", () -> {
+            refreshAttempted.countDown();
+            throw new IllegalStateException("Scraper down");
+        });
+        assertTrue(refreshAttempted.await(5, TimeUnit.SECONDS));
+        CachedResponse<String> afterFailure = swrCache.getWithFreshness(CachePolicy.PLAYER_PROFILE, "messi",
+                () -> "v1");
+
+        // Assert
+        assertEquals("v1", afterFailure.value());
+        assertTrue(afterFailure.stale());
+        swrCache.destroy();
+    }
+
+    @Test
+    void testStaleWhileRevalidateDoesNotApplyToOtherPolicies() {
+        // Arrange
+        ScraperResponseCache swrCache = staleWhileRevalidateCache();
+        swrCache.get(CachePolicy.FUTURE_MATCHES, "real madrid", () -> "v1");
+
+        // Act
+        CachedResponse<String> response = swrCache.getWithFreshness(CachePolicy.FUTURE_MATCHES, "real madrid",
+                () -> "v2");
+
+        // Assert: the TTL of 0 ms applies, so the entry expired and was loaded again
+        assertEquals("v2", response.value());
+        assertFalse(response.stale());
+        swrCache.destroy();
+    }
+
+    @Test
+    void testNormalizeKeyIgnoresCaseAndWhitespace() {
+        assertEquals("real madrid", ScraperResponseCache.normalizeKey("  Real   MADRID "));
+        assertEquals("barcelona|real madrid", ScraperResponseCache.normalizeKey("Barcelona", "Real Madrid"));
+    }
+
+    @Test
+    void testBindToShouldExportHitAndMissCounters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        responseCache.bindTo(registry);
+
+        // Act
+        responseCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "squad");
+        responseCache.get(CachePolicy.TEAM_SQUAD, "real madrid", () -> "squad");
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "scraper.team").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "scraper.team").tag("result", "miss")
+                .functionCounter().count());
+        assertNotNull(registry.find("cache.evictions").tag("cache", "scraper.team").functionCounter());
+    }
+
+    private static ScraperResponseCache staleWhileRevalidateCache() {
+        return new ScraperResponseCache(new MockEnvironment()
+                .withProperty("scraper.cache.stale-while-revalidate.enabled", "true")
+                .withProperty("scraper.cache.team.ttl-ms", "0")
+                .withProperty("scraper.cache.team.stale-ttl-ms", "60000")
+                .withProperty("scraper.cache.player.ttl-ms", "0")
+                .withProperty("scraper.cache.player.stale-ttl-ms", "60000")
+                .withProperty("scraper.cache.future-matches.ttl-ms", "0"));
+    }
+
+    private static CachedResponse<String> waitForValue(ScraperResponseCache cache, String expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        CachedResponse<String> response;
+        do {
+            Thread.sleep(10);
+            response = cache.getWithFreshness(CachePolicy.TEAM_SQUAD, "real madrid", () -> expected);
+        } while (!expected.equals(response.value()) && System.nanoTime() < deadline);
+        return response;
+    }
+}
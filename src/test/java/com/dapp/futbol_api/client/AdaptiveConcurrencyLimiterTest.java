@@ -0,0 +1,145 @@
+package com.dapp.futbol_api.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private AtomicLong clock;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        // Starts at 20 calls, between 2 and 100, half of the way to the target per sample
+        limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0.5, 600, clock::get);
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        // Act
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter.getLimit(), 10);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // Arrange
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter.getLimit(), 10);
+        }
+        int limitWhileFast = limiter.getLimit();
+
+        // Act
+        runRound(limitWhileFast, 100);
+
+        // Assert
+        assertTrue(limiter.getLimit() < limitWhileFast / 2, limitWhileFast + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void testDroppedCallCutsTheLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(CallPriority.HIGH);
+
+        // Act
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+
+        // Assert: halfway between 20 and 20 * 0.9
+        assertEquals(19, limiter.getLimit());
+    }
+
+    @Test
+    void testCallsThatNeverReachedTheScraperDoNotMoveTheLimit() {
+        // Arrange
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(20);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Act
+        permits.forEach(permit -> permit.release(AdaptiveConcurrencyLimiter.Outcome.IGNORED));
+
+        // Assert
+        assertEquals(20, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLowPriorityIsShedBeforeHighPriority() {
+        // Arrange
+        acquire(10);
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit low = limiter.tryAcquire(CallPriority.LOW);
+        AdaptiveConcurrencyLimiter.Permit normal = limiter.tryAcquire(CallPriority.NORMAL);
+        AdaptiveConcurrencyLimiter.Permit high = limiter.tryAcquire(CallPriority.HIGH);
+
+        // Assert
+        assertNull(low);
+        assertNotNull(normal);
+        assertNotNull(high);
+        assertEquals(1, limiter.getRejections(CallPriority.LOW));
+        assertEquals(0, limiter.getRejections(CallPriority.HIGH));
+    }
+
+    @Test
+    void testCriticalCallsAreNeverRejected() {
+        // Arrange
+        acquire(20);
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit high = limiter.tryAcquire(CallPriority.HIGH);
+        List<AdaptiveConcurrencyLimiter.Permit> critical = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            critical.add(limiter.tryAcquire(CallPriority.CRITICAL));
+        }
+
+        // Assert
+        assertNull(high);
+        assertFalse(critical.contains(null));
+        assertEquals(120, limiter.getInFlight());
+    }
+
+    @Test
+    void testPermitCountsOnlyItsFirstRelease() {
+        // Arrange
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(CallPriority.HIGH);
+
+        // Act
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        permit.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(19, limiter.getLimit());
+    }
+
+    /**
+     * Fills the limit with calls that all take the given latency.
+     */
+    private void runRound(int calls, long latencyMs) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(calls);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        permits.forEach(permit -> permit.release(AdaptiveConcurrencyLimiter.Outcome.COMPLETED));
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(int calls) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(CallPriority.HIGH);
+            assertNotNull(permit);
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,154 @@
+package com.dapp.futbol_api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncScraperClientTest {
+
+    private static final String TEAM_JSON = "[{\"name\":\"Vinicius Junior\"}]";
+
+    private HttpServer server;
+    private String baseUrl;
+    private ScraperHttpClient httpClient;
+    private AsyncScraperClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/scrape/team", exchange -> {
+            byte[] body = gzip(TEAM_JSON);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/api/scrape/empty", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/api/scrape/missing", exchange -> {
+            byte[] body = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/api/scrape/broken", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.createContext("/api/scrape/slow", exchange -> {
+            try {
+                Thread.sleep(3_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(AsyncScraperClient.MODE_PROPERTY, AsyncScraperClient.NON_BLOCKING)
+                .withProperty("scraper.http.read-timeout-ms", "1000");
+        httpClient = new ScraperHttpClient(environment);
+        client = new AsyncScraperClient(environment, new ObjectMapper(), httpClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void testGetReadsGzippedJsonBody() throws Exception {
+        // Act
+        List<?> response = client.get(URI.create(baseUrl + "/api/scrape/team"), List.class).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(client.isEnabled());
+        assertEquals(List.of(Map.of("name", "Vinicius Junior")), response);
+    }
+
+    @Test
+    void testEmptyBodyGivesNull() throws Exception {
+        // Act
+        Object response = client.get(URI.create(baseUrl + "/api/scrape/empty"), Object.class).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNull(response);
+    }
+
+    @Test
+    void testErrorStatusesFailLikeRestTemplate() {
+        // Act
+        Throwable notFound = failure(client.get(URI.create(baseUrl + "/api/scrape/missing"), Object.class));
+        Throwable serverError = failure(client.get(URI.create(baseUrl + "/api/scrape/broken"), Object.class));
+
+        // Assert
+        HttpClientErrorException.NotFound clientError = assertInstanceOf(HttpClientErrorException.NotFound.class, notFound);
+        assertEquals("{\"error\":\"not found\"}", clientError.getResponseBodyAsString());
+        assertInstanceOf(HttpServerErrorException.InternalServerError.class, serverError);
+    }
+
+    @Test
+    void testReadTimeoutFailsWithResourceAccessException() {
+        // Act
+        Throwable timeout = failure(client.get(URI.create(baseUrl + "/api/scrape/slow"), Object.class));
+
+        // Assert
+        assertInstanceOf(ResourceAccessException.class, timeout);
+    }
+
+    @Test
+    void testBlockingModeIsTheDefaultAndUnknownModesAreRejected() {
+        // Arrange
+        AsyncScraperClient blocking = new AsyncScraperClient(new MockEnvironment(), new ObjectMapper(), httpClient);
+        MockEnvironment unknown = new MockEnvironment().withProperty(AsyncScraperClient.MODE_PROPERTY, "reactive");
+        ObjectMapper objectMapper = new ObjectMapper();
+        URI uri = URI.create(baseUrl + "/api/scrape/team");
+
+        // Act & Assert
+        assertFalse(blocking.isEnabled());
+        assertThrows(IllegalStateException.class, () -> blocking.get(uri, Object.class));
+        assertThrows(IllegalStateException.class, () -> new AsyncScraperClient(unknown, objectMapper, httpClient));
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
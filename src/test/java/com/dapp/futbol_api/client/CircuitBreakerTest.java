@@ -0,0 +1,119 @@
+package com.dapp.futbol_api.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        // Window of 4 calls, opens at 50% failures once 4 calls were recorded, 2 probes after 1 s
+        circuitBreaker = new CircuitBreaker(4, 4, 50, 1_000, 2, clock::get);
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        // Act
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1_000, circuitBreaker.getRemainingOpenMs());
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        // Arrange
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Act: the first failure is pushed out, so one failure out of four remains
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenAllowsLimitedProbesAndClosesOnSuccess() {
+        // Arrange
+        open();
+        clock.addAndGet(1_000);
+
+        // Act
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        boolean thirdCallAllowed = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertFalse(thirdCallAllowed);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testFailedProbeReopensTheCircuit() {
+        // Arrange
+        open();
+        clock.addAndGet(1_000);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testProbesThatNeverReportBackAreReissued() {
+        // Arrange
+        open();
+        clock.addAndGet(1_000);
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        // Act
+        clock.addAndGet(1_000);
+
+        // Assert
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,110 @@
+package com.dapp.futbol_api.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingPolicyTest {
+
+    @Test
+    void testDoesNotHedgeUntilEnoughLatenciesWereRecorded() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(95, 0, 100, 10);
+
+        // Act
+        record(policy, 1, 19);
+
+        // Assert
+        assertEquals(-1, policy.getDelayNanos());
+        record(policy, 20, 20);
+        assertEquals(millis(19), policy.getDelayNanos());
+    }
+
+    @Test
+    void testDelayIsThePercentileOfRecentLatencies() {
+        // Arrange: the delay is refreshed every 10 latencies
+        HedgingPolicy policy = new HedgingPolicy(95, 0, 160, 10);
+
+        // Act
+        record(policy, 1, 100);
+
+        // Assert
+        assertEquals(millis(95), policy.getDelayNanos());
+    }
+
+    @Test
+    void testDelayIsNeverBelowTheMinimum() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(95, millis(50), 100, 10);
+
+        // Act
+        record(policy, 1, 40);
+
+        // Assert
+        assertEquals(millis(50), policy.getDelayNanos());
+    }
+
+    @Test
+    void testOldLatenciesLeaveTheWindow() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(95, 0, 20, 10);
+        for (int i = 0; i < 20; i++) {
+            policy.recordLatency(millis(500));
+        }
+
+        // Act
+        record(policy, 1, 20);
+
+        // Assert
+        assertEquals(millis(19), policy.getDelayNanos());
+    }
+
+    @Test
+    void testBudgetPaysForTheConfiguredShareOfHedges() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(95, 0, 100, 10);
+        for (int i = 0; i < 10; i++) {
+            policy.onRequest();
+        }
+
+        // Act
+        boolean first = policy.tryHedge();
+        boolean second = policy.tryHedge();
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(0, policy.getBudget());
+        assertEquals(1, policy.getOverBudget());
+    }
+
+    @Test
+    void testBudgetDoesNotPileUpWhileNothingIsSlow() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(95, 0, 100, 100);
+        for (int i = 0; i < 1_000; i++) {
+            policy.onRequest();
+        }
+
+        // Act
+        int hedges = 0;
+        while (policy.tryHedge()) {
+            hedges++;
+        }
+
+        // Assert
+        assertEquals(10, hedges);
+    }
+
+    private static void record(HedgingPolicy policy, int fromMs, int toMs) {
+        for (int ms = fromMs; ms <= toMs; ms++) {
+            policy.recordLatency(millis(ms));
+        }
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
@@ -0,0 +1,538 @@
+package com.dapp.futbol_api.client;
+
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScraperCallExecutorTest {
+
+    private ScraperCallExecutor callExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        callExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(new MockEnvironment()));
+        callers = Executors.newFixedThreadPool(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        callExecutor.destroy();
+    }
+
+    @Test
+    void testConcurrentIdenticalCallsShareOneUpstreamRequest() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        callExecutor.bindTo(registry);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            results.add(callers.submit(() -> callExecutor.execute(EndpointFamily.TEAM,
+                    "GET /api/scrape/team?teamName=Real%20Madrid", () -> {
+                        upstreamCalls.incrementAndGet();
+                        await(release);
+                        return "Real Madrid";
+                    })));
+        }
+        waitUntilAllJoined(registry, 9);
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("Real Madrid", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, registry.get("scraper.requests.upstream").functionCounter().count());
+        assertEquals(9.0, registry.get("scraper.requests.coalesced").functionCounter().count());
+    }
+
+    @Test
+    void testDifferentKeysAreNotMerged() {
+        // Act
+        String first = callExecutor.execute(EndpointFamily.TEAM, "GET /a", () -> "a");
+        String second = callExecutor.execute(EndpointFamily.TEAM, "GET /b", () -> "b");
+
+        // Assert
+        assertEquals("a", first);
+        assertEquals("b", second);
+    }
+
+    @Test
+    void testRuntimeExceptionsAreRethrownUnchanged() {
+        // Arrange
+        HttpClientErrorException notFound = new HttpClientErrorException(HttpStatus.NOT_FOUND);
+
+        // Act & Assert
+        HttpClientErrorException thrown = assertThrows(HttpClientErrorException.class,
+                () -> callExecutor.execute(EndpointFamily.TEAM, "GET /ghost", () -> {
+                    throw notFound;
+                }));
+        assertSame(notFound, thrown);
+    }
+
+    @Test
+    void testWaiterTimeoutDoesNotAffectOtherWaiters() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        callExecutor.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> patientCaller = callers.submit(() -> callExecutor.execute(EndpointFamily.TEAM, "GET /slow",
+                () -> {
+                    await(release);
+                    return "done";
+                }, Duration.ofSeconds(5)));
+
+        // Act: an impatient caller joins the same request and gives up
+        waitUntilStarted(registry);
+        assertThrows(ResourceAccessException.class, () -> callExecutor.execute(EndpointFamily.TEAM, "GET /slow",
+                () -> "never called", Duration.ofMillis(50)));
+        release.countDown();
+
+        // Assert
+        assertEquals("done", patientCaller.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, registry.get("scraper.requests.abandoned").functionCounter().count());
+    }
+
+    @Test
+    void testLastWaiterTimeoutCancelsUpstreamCall() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        callExecutor.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> callExecutor.execute(EndpointFamily.TEAM, "GET /stalled",
+                () -> {
+                    await(release);
+                    return "late";
+                }, Duration.ofMillis(50)));
+        String next = callExecutor.execute(EndpointFamily.TEAM, "GET /stalled", () -> "fresh");
+
+        // Assert: the abandoned call was removed, so a new caller starts its own request
+        assertEquals("fresh", next);
+        assertEquals(1.0, registry.get("scraper.requests.abandoned").functionCounter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testFullBulkheadRejectsCallersOfTheSameFamilyOnly() throws Exception {
+        // Arrange
+        ScraperCallExecutor isolatedExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(
+                new MockEnvironment().withProperty("scraper.resilience.analysis.max-concurrent-calls", "1")));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        isolatedExecutor.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slowAnalysis = callers.submit(() -> isolatedExecutor.execute(EndpointFamily.ANALYSIS,
+                "GET /api/analysis/messi/prediction", () -> {
+                    await(release);
+                    return "prediction";
+                }));
+        waitUntilStarted(registry);
+
+        // Act & Assert
+        assertThrows(ScraperUnavailableException.class, () -> isolatedExecutor.execute(EndpointFamily.ANALYSIS,
+                "GET /api/analysis/messi/comparison", () -> "comparison"));
+        assertEquals("Real Madrid", isolatedExecutor.execute(EndpointFamily.TEAM,
+                "GET /api/scrape/team?teamName=Real%20Madrid", () -> "Real Madrid"));
+        release.countDown();
+        assertEquals("prediction", slowAnalysis.get(5, TimeUnit.SECONDS));
+        isolatedExecutor.destroy();
+    }
+
+    @Test
+    void testOpenCircuitRejectsWithoutCallingUpstream() {
+        // Arrange
+        ScraperCallExecutor breakingExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.resilience.player.window-size", "2")
+                .withProperty("scraper.resilience.player.minimum-calls", "2")));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> breakingExecutor.execute(EndpointFamily.PLAYER,
+                    "GET /api/scrape/player?playerName=Messi", () -> {
+                        upstreamCalls.incrementAndGet();
+                        throw new ResourceAccessException("Connection refused");
+                    }));
+        }
+
+        // Act & Assert
+        ScraperUnavailableException rejected = assertThrows(ScraperUnavailableException.class,
+                () -> breakingExecutor.execute(EndpointFamily.PLAYER, "GET /api/scrape/player?playerName=Messi",
+                        () -> "Messi"));
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+        assertEquals(2, upstreamCalls.get());
+        breakingExecutor.destroy();
+    }
+
+    @Test
+    void testVirtualThreadModeRunsUpstreamCallsOnVirtualThreads() {
+        // Arrange
+        ScraperCallExecutor virtualExecutor = new ScraperCallExecutor(5000, true,
+                new ScraperResilience(new MockEnvironment()));
+
+        // Act
+        boolean virtual = virtualExecutor.execute(EndpointFamily.TEAM, "GET /virtual",
+                () -> Thread.currentThread().isVirtual());
+
+        // Assert
+        assertTrue(virtual);
+        virtualExecutor.destroy();
+    }
+
+    @Test
+    void testAsyncIdenticalCallsShareOneUpstreamRequestWithoutBlocking() throws Exception {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            results.add(callExecutor.executeAsync(EndpointFamily.TEAM, "GET /api/scrape/team?teamName=Boca", () -> {
+                upstreamCalls.incrementAndGet();
+                return upstream;
+            }));
+        }
+        boolean anyDoneBeforeResponse = results.stream().anyMatch(CompletableFuture::isDone);
+        upstream.complete("Boca");
+
+        // Assert
+        assertFalse(anyDoneBeforeResponse);
+        for (CompletableFuture<String> result : results) {
+            assertEquals("Boca", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testAsyncFailuresAndRejectionsAreDeliveredThroughTheFuture() {
+        // Arrange
+        ScraperCallExecutor breakingExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.resilience.player.window-size", "2")
+                .withProperty("scraper.resilience.player.minimum-calls", "2")));
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<String> failed = breakingExecutor.executeAsync(EndpointFamily.PLAYER, "GET /player",
+                    () -> CompletableFuture.failedFuture(new ResourceAccessException("Connection refused")));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceAccessException.class, e.getCause());
+        }
+
+        // Act
+        CompletableFuture<String> rejected = breakingExecutor.executeAsync(EndpointFamily.PLAYER, "GET /player",
+                () -> CompletableFuture.completedFuture("Messi"));
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ScraperUnavailableException.class, e.getCause());
+        breakingExecutor.destroy();
+    }
+
+    @Test
+    void testAsyncLastWaiterTimeoutCancelsUpstreamCall() {
+        // Arrange
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> result = callExecutor.executeAsync(EndpointFamily.TEAM, "GET /slow",
+                () -> upstream, Duration.ofMillis(50));
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceAccessException.class, e.getCause());
+        assertTrue(upstream.isCancelled());
+    }
+
+    @Test
+    void testAbandonedCallReleasesItsLimiterPermit() throws Exception {
+        // Arrange
+        ScraperResilience resilience = new ScraperResilience(new MockEnvironment());
+        ScraperCallExecutor limitedExecutor = new ScraperCallExecutor(5000, false, resilience);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> result = limitedExecutor.executeAsync(EndpointFamily.TEAM, CallPriority.LOW,
+                "GET /slow", () -> upstream, Duration.ofMillis(50));
+
+        // Assert
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(0, resilience.getLimiter().getInFlight());
+        limitedExecutor.destroy();
+    }
+
+    @Test
+    void testLimiterShedsLowPriorityCallsWhenTheStubScraperSlowsDown() throws Exception {
+        // Arrange: a stub scraper that answers in 10 ms, then in 200 ms
+        AtomicLong latencyMs = new AtomicLong(10);
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+        server.setExecutor(serverThreads);
+        server.createContext("/api/scrape", exchange -> {
+            sleep(latencyMs.get());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/api/scrape/team";
+        RestTemplate restTemplate = new RestTemplate();
+        ScraperResilience resilience = new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.limiter.initial-limit", "16")
+                .withProperty("scraper.limiter.min-limit", "2")
+                .withProperty("scraper.limiter.max-limit", "16")
+                .withProperty("scraper.resilience.team.max-concurrent-calls", "100"));
+        ScraperCallExecutor limitedExecutor = new ScraperCallExecutor(5000, false, resilience);
+        AdaptiveConcurrencyLimiter limiter = resilience.getLimiter();
+
+        // 10 clients of each shedding priority and one login client, each with its own requests
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger criticalCompleted = new AtomicInteger();
+        AtomicInteger criticalFailed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(21);
+        for (int client = 0; client < 21; client++) {
+            CallPriority priority = client == 20 ? CallPriority.CRITICAL
+                    : client % 2 == 0 ? CallPriority.LOW : CallPriority.HIGH;
+            EndpointFamily family = priority == CallPriority.CRITICAL ? EndpointFamily.AUTH : EndpointFamily.TEAM;
+            String clientKey = "GET " + url + "?client=" + client + "&call=";
+            clients.execute(() -> {
+                for (int call = 0; running.get(); call++) {
+                    try {
+                        limitedExecutor.execute(family, priority, clientKey + call,
+                                () -> restTemplate.getForObject(url, String.class));
+                        if (priority == CallPriority.CRITICAL) {
+                            criticalCompleted.incrementAndGet();
+                        }
+                    } catch (ScraperUnavailableException e) {
+                        if (priority == CallPriority.CRITICAL) {
+                            criticalFailed.incrementAndGet();
+                        }
+                        sleep(10);
+                    }
+                }
+            });
+        }
+        Thread.sleep(1_000);
+        int limitWhileFast = limiter.getLimit();
+        long lowRejectedWhileFast = limiter.getRejections(CallPriority.LOW);
+        long highRejectedWhileFast = limiter.getRejections(CallPriority.HIGH);
+
+        // Act
+        latencyMs.set(200);
+        int lowestLimitWhileSlow = limitWhileFast;
+        long slowUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1_500);
+        while (System.nanoTime() < slowUntil) {
+            lowestLimitWhileSlow = Math.min(lowestLimitWhileSlow, limiter.getLimit());
+            Thread.sleep(10);
+        }
+        running.set(false);
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(5, TimeUnit.SECONDS));
+        server.stop(0);
+        serverThreads.shutdownNow();
+        limitedExecutor.destroy();
+
+        // Assert
+        long lowRejectedWhileSlow = limiter.getRejections(CallPriority.LOW) - lowRejectedWhileFast;
+        long highRejectedWhileSlow = limiter.getRejections(CallPriority.HIGH) - highRejectedWhileFast;
+        assertTrue(lowestLimitWhileSlow < limitWhileFast, limitWhileFast + " -> " + lowestLimitWhileSlow);
+        assertTrue(lowRejectedWhileSlow > highRejectedWhileSlow,
+                "low " + lowRejectedWhileSlow + ", high " + highRejectedWhileSlow);
+        assertEquals(0, criticalFailed.get());
+        assertEquals(0, limiter.getRejections(CallPriority.CRITICAL));
+        assertTrue(criticalCompleted.get() > 0);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testSlowCallIsHedgedAndTheFirstResponseWins() throws Exception {
+        // Arrange
+        ScraperResilience resilience = hedgingResilience();
+        ScraperCallExecutor hedgingExecutor = new ScraperCallExecutor(5000, false, resilience);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        resilience.bindTo(registry);
+        warmUp(hedgingExecutor);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstCancelled = new CountDownLatch(1);
+
+        // Act
+        long start = System.nanoTime();
+        String player = hedgingExecutor.execute(EndpointFamily.PLAYER, "GET /api/scrape/player?playerName=Messi",
+                () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(5_000);
+                        } catch (InterruptedException e) {
+                            firstCancelled.countDown();
+                        }
+                        return "stalled";
+                    }
+                    return "Messi";
+                });
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals("Messi", player);
+        assertTrue(elapsedMs < 2_000, elapsedMs + " ms");
+        assertEquals(2, attempts.get());
+        assertTrue(firstCancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("scraper.hedging.hedges").tag("family", "player").functionCounter().count());
+        assertEquals(1.0, registry.get("scraper.hedging.wins").tag("family", "player").functionCounter().count());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState(EndpointFamily.PLAYER));
+        hedgingExecutor.destroy();
+    }
+
+    @Test
+    void testAsyncSlowCallIsHedgedAndTheLoserIsCancelled() throws Exception {
+        // Arrange
+        ScraperResilience resilience = hedgingResilience();
+        ScraperCallExecutor hedgingExecutor = new ScraperCallExecutor(5000, false, resilience);
+        warmUp(hedgingExecutor);
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new ArrayList<>(List.of(stalled,
+                CompletableFuture.supplyAsync(() -> "Boca", CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS))));
+
+        // Act
+        CompletableFuture<String> result = hedgingExecutor.executeAsync(EndpointFamily.TEAM,
+                "GET /api/scrape/team?teamName=Boca", () -> attempts.removeFirst());
+
+        // Assert
+        assertEquals("Boca", result.get(5, TimeUnit.SECONDS));
+        assertTrue(stalled.isCancelled());
+        assertEquals(0, resilience.getLimiter().getInFlight());
+        hedgingExecutor.destroy();
+    }
+
+    @Test
+    void testFastCallsAreNotHedged() {
+        // Arrange
+        ScraperResilience resilience = hedgingResilience();
+        ScraperCallExecutor hedgingExecutor = new ScraperCallExecutor(5000, false, resilience);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            hedgingExecutor.execute(EndpointFamily.TEAM, "GET /team/" + i, attempts::incrementAndGet);
+        }
+
+        // Assert
+        assertEquals(50, attempts.get());
+        assertEquals(0, resilience.getHedging(EndpointFamily.TEAM).getHedges());
+        hedgingExecutor.destroy();
+    }
+
+    @Test
+    void testAHedgeShedByTheLimiterKeepsItsBudget() {
+        // Arrange: room for a single call, so the hedge of the call in flight is shed
+        ScraperResilience resilience = new ScraperResilience(hedgingEnvironment()
+                .withProperty("scraper.limiter.initial-limit", "1")
+                .withProperty("scraper.limiter.min-limit", "1")
+                .withProperty("scraper.limiter.max-limit", "1"));
+        ScraperCallExecutor hedgingExecutor = new ScraperCallExecutor(5000, false, resilience);
+        warmUp(hedgingExecutor);
+        HedgingPolicy hedging = resilience.getHedging(EndpointFamily.PLAYER);
+        long budget = hedging.getBudget();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String player = hedgingExecutor.execute(EndpointFamily.PLAYER, "GET /api/scrape/player?playerName=Messi",
+                () -> {
+                    attempts.incrementAndGet();
+                    sleep(300);
+                    return "Messi";
+                });
+
+        // Assert
+        assertEquals("Messi", player);
+        assertEquals(1, attempts.get());
+        assertEquals(1, resilience.getLimiter().getRejections(CallPriority.LOW));
+        assertEquals(budget, hedging.getBudget());
+        assertEquals(0, hedging.getHedges());
+        hedgingExecutor.destroy();
+    }
+
+    /**
+     * Hedges after the median latency, but not before 50 ms, and pays for a hedge per request.
+     */
+    private static ScraperResilience hedgingResilience() {
+        return new ScraperResilience(hedgingEnvironment());
+    }
+
+    private static MockEnvironment hedgingEnvironment() {
+        return new MockEnvironment()
+                .withProperty("scraper.hedging.enabled", "true")
+                .withProperty("scraper.hedging.percentile", "50")
+                .withProperty("scraper.hedging.min-delay-ms", "50")
+                .withProperty("scraper.hedging.window-size", "20")
+                .withProperty("scraper.hedging.budget-percent", "100");
+    }
+
+    /**
+     * Records enough latencies for the hedging delay of the player and team families.
+     */
+    private static void warmUp(ScraperCallExecutor hedgingExecutor) {
+        for (int i = 0; i < 20; i++) {
+            hedgingExecutor.execute(EndpointFamily.PLAYER, "GET /warm-up/" + i, () -> "ok");
+            hedgingExecutor.execute(EndpointFamily.TEAM, "GET /warm-up/" + i, () -> "ok");
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntilAllJoined(SimpleMeterRegistry registry, int expectedCoalesced)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("scraper.requests.coalesced").functionCounter().count() < expectedCoalesced
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void waitUntilStarted(SimpleMeterRegistry registry) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("scraper.requests.upstream").functionCounter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
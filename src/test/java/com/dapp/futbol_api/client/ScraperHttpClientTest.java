@@ -0,0 +1,200 @@
+package com.dapp.futbol_api.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScraperHttpClientTest {
+
+    private static final String TEAM_JSON = "[{\"name\":\"Vinicius Junior\"}]";
+
+    private HttpServer server;
+    private String baseUrl;
+    private ScraperHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/scrape/team", exchange -> {
+            byte[] body = gzip(TEAM_JSON);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/api/scrape/empty", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/api/scrape/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testPooledEngineDecompressesGzipResponses() {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment());
+
+        // Act
+        String response = restTemplate().getForObject(baseUrl + "/api/scrape/team", String.class);
+
+        // Assert
+        assertEquals(ScraperHttpClient.POOLED, httpClient.getEngine());
+        assertEquals(TEAM_JSON, response);
+    }
+
+    @Test
+    void testHttp2EngineDecompressesGzipResponses() {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment().withProperty("scraper.http.engine", "http2"));
+
+        // Act
+        String response = restTemplate().getForObject(baseUrl + "/api/scrape/team", String.class);
+
+        // Assert
+        assertEquals(TEAM_JSON, response);
+        assertNull(httpClient.getConnectionManager());
+    }
+
+    @Test
+    void testHttp2EngineAcceptsAnEmptyGzipResponse() {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment().withProperty("scraper.http.engine", "http2"));
+
+        // Act
+        String response = restTemplate().getForObject(baseUrl + "/api/scrape/empty", String.class);
+
+        // Assert
+        assertNull(response);
+    }
+
+    @Test
+    void testReadTimeoutIsApplied() {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment().withProperty("scraper.http.read-timeout-ms", "100"));
+        RestTemplate restTemplate = restTemplate();
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(baseUrl + "/api/scrape/slow", String.class));
+    }
+
+    @Test
+    void testPoolSizesAndRouteLimitsAreConfigurable() {
+        // Act
+        httpClient = new ScraperHttpClient(new MockEnvironment()
+                .withProperty("scraper.http.pool.max-total", "30")
+                .withProperty("scraper.http.pool.max-per-route", "5")
+                .withProperty("scraper.http.pool.route-limits", "http://localhost:8081=12,https://scraper.example.com=3"));
+
+        // Assert
+        assertEquals(30, httpClient.getConnectionManager().getMaxTotal());
+        assertEquals(5, httpClient.getConnectionManager().getDefaultMaxPerRoute());
+        assertEquals(12, httpClient.getConnectionManager()
+                .getMaxPerRoute(ScraperHttpClient.toRoute("http://localhost:8081")));
+        assertEquals(3, httpClient.getConnectionManager()
+                .getMaxPerRoute(ScraperHttpClient.toRoute("https://scraper.example.com")));
+    }
+
+    @Test
+    void testBindToShouldExportPoolGaugesAndAcquireTime() {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        httpClient.bindTo(registry);
+
+        // Act
+        restTemplate().getForObject(baseUrl + "/api/scrape/team", String.class);
+
+        // Assert
+        assertEquals(50.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "scraper").gauge().value());
+        assertEquals(1.0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+        assertEquals(1.0, registry.get("scraper.http.pool.acquire").functionTimer().count());
+    }
+
+    @Test
+    void testBindToShouldExportNonBlockingExchanges() throws Exception {
+        // Arrange
+        httpClient = new ScraperHttpClient(new MockEnvironment());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        httpClient.bindTo(registry);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/scrape/team")).build();
+
+        // Act
+        HttpResponse<String> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        // The exchange is timed once its future has completed, which may be just after get returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("scraper.http.async.exchange").functionTimer().count() == 0
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, registry.get("scraper.http.async.exchange").functionTimer().count());
+        assertEquals(0.0, registry.get("scraper.http.async.in-flight").gauge().value());
+    }
+
+    @Test
+    void testUnknownEngineShouldFail() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("scraper.http.engine", "carrier-pigeon");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new ScraperHttpClient(environment));
+    }
+
+    private RestTemplate restTemplate() {
+        return new RestTemplate(httpClient.build(ClientHttpRequestFactorySettings.defaults()));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
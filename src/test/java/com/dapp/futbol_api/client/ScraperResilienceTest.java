@@ -0,0 +1,151 @@
+package com.dapp.futbol_api.client;
+
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScraperResilienceTest {
+
+    private ScraperResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        resilience = new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.resilience.analysis.window-size", "2")
+                .withProperty("scraper.resilience.analysis.minimum-calls", "2")
+                .withProperty("scraper.resilience.auth.max-concurrent-calls", "1"));
+    }
+
+    @Test
+    void testCallReturnsTheResult() {
+        // Act
+        String result = resilience.call(EndpointFamily.TEAM, () -> "Real Madrid");
+
+        // Assert
+        assertEquals("Real Madrid", result);
+    }
+
+    @Test
+    void testServerErrorsOpenOnlyTheirFamilyCircuit() {
+        // Act
+        failAnalysisCall();
+        failAnalysisCall();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getState(EndpointFamily.ANALYSIS));
+        assertThrows(ScraperUnavailableException.class,
+                () -> resilience.call(EndpointFamily.ANALYSIS, () -> "prediction"));
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState(EndpointFamily.TEAM));
+        assertEquals("Real Madrid", resilience.call(EndpointFamily.TEAM, () -> "Real Madrid"));
+    }
+
+    @Test
+    void testClientErrorsDoNotCountAsFailures() {
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilience.call(EndpointFamily.ANALYSIS, () -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getState(EndpointFamily.ANALYSIS));
+    }
+
+    @Test
+    void testBulkheadSlotIsReleasedAfterEachCall() {
+        // Act
+        resilience.call(EndpointFamily.AUTH, () -> true);
+        assertThrows(HttpServerErrorException.class, () -> resilience.call(EndpointFamily.AUTH, () -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        }));
+
+        // Assert: with a single slot, a leaked permit would reject this call
+        assertTrue(resilience.call(EndpointFamily.AUTH, () -> true));
+    }
+
+    @Test
+    void testFullBulkheadRejectsNestedCalls() {
+        // Act & Assert
+        assertThrows(ScraperUnavailableException.class, () -> resilience.call(EndpointFamily.AUTH,
+                () -> resilience.call(EndpointFamily.AUTH, () -> true)));
+    }
+
+    @Test
+    void testBindToShouldExportStateAndRejections() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        resilience.bindTo(registry);
+        failAnalysisCall();
+        failAnalysisCall();
+
+        // Act
+        assertThrows(ScraperUnavailableException.class,
+                () -> resilience.call(EndpointFamily.ANALYSIS, () -> "prediction"));
+
+        // Assert
+        assertEquals(1.0, registry.get("scraper.circuit.state").tag("family", "analysis").gauge().value());
+        assertEquals(1.0, registry.get("scraper.circuit.rejected").tag("family", "analysis")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("scraper.bulkhead.active").tag("family", "analysis").gauge().value());
+    }
+
+    @Test
+    void testOverloadedLimiterRejectsWithRetryAfterAndExportsRejections() {
+        // Arrange
+        ScraperResilience limited = new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.limiter.initial-limit", "2")
+                .withProperty("scraper.limiter.min-limit", "2"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limited.bindTo(registry);
+        AdaptiveConcurrencyLimiter.Permit permit = limited.acquireLimit(CallPriority.LOW);
+
+        // Act
+        ScraperUnavailableException rejected = assertThrows(ScraperUnavailableException.class,
+                () -> limited.acquireLimit(CallPriority.LOW));
+
+        // Assert
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("scraper.limiter.rejected").tag("priority", "low").functionCounter().count());
+        assertEquals(1.0, registry.get("scraper.limiter.inflight").gauge().value());
+        limited.releaseLimit(permit, null);
+        assertEquals(0.0, registry.get("scraper.limiter.inflight").gauge().value());
+    }
+
+    @Test
+    void testDisabledLimiterAdmitsEveryCall() {
+        // Arrange
+        ScraperResilience unlimited = new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.limiter.enabled", "false"));
+
+        // Act & Assert
+        assertNull(unlimited.acquireLimit(CallPriority.LOW));
+        assertNull(unlimited.getLimiter());
+    }
+
+    @Test
+    void testHedgingIsOffByDefaultAndNeverCoversLogins() {
+        // Arrange
+        ScraperResilience hedged = new ScraperResilience(new MockEnvironment()
+                .withProperty("scraper.hedging.enabled", "true"));
+
+        // Act & Assert
+        assertNull(resilience.getHedging(EndpointFamily.PLAYER));
+        assertNotNull(hedged.getHedging(EndpointFamily.PLAYER));
+        assertNotNull(hedged.getHedging(EndpointFamily.ANALYSIS));
+        assertNull(hedged.getHedging(EndpointFamily.AUTH));
+    }
+
+    private void failAnalysisCall() {
+        assertThrows(HttpServerErrorException.class, () -> resilience.call(EndpointFamily.ANALYSIS, () -> {
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+    }
+}
@@ -0,0 +1,211 @@
+package com.dapp.futbol_api.ratelimit;
+
+import com.dapp.futbol_api.security.JwtAuthentication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final RateLimitFilter filter = new RateLimitFilter(new MockEnvironment()
+            .withProperty("api.rate-limit.analysis.capacity", "2")
+            .withProperty("api.rate-limit.analysis.period-ms", "60000")
+            .withProperty("api.rate-limit.auth.capacity", "1"), clock::get);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAllowedRequestCarriesRateLimitHeaders() throws ServletException, IOException {
+        // Arrange
+        authenticate("test@example.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = send("/api/analysis/Messi/prediction", chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals("2", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("30", response.getHeader(RateLimitFilter.RESET_HEADER));
+        assertEquals("2;w=60", response.getHeader(RateLimitFilter.POLICY_HEADER));
+    }
+
+    @Test
+    void testRequestOverTheLimitGets429WithRetryAfter() throws ServletException, IOException {
+        // Arrange
+        authenticate("test@example.com");
+        send("/api/analysis/Messi/prediction", new MockFilterChain());
+        send("/api/analysis/Messi/history", new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = send("/api/analysis/Messi/prediction", chain);
+
+        // Assert
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertTrue(response.getContentAsString().contains("try again in 30 seconds"));
+    }
+
+    @Test
+    void testRequestIsAllowedAgainOnceATokenIsRefilled() throws ServletException, IOException {
+        // Arrange
+        authenticate("test@example.com");
+        send("/api/analysis/Messi/prediction", new MockFilterChain());
+        send("/api/analysis/Messi/prediction", new MockFilterChain());
+        clock.set(TimeUnit.SECONDS.toNanos(30));
+
+        // Act
+        MockHttpServletResponse response = send("/api/analysis/Messi/prediction", new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testEachSubjectHasItsOwnLimit() throws ServletException, IOException {
+        // Arrange
+        authenticate("first@example.com");
+        send("/api/analysis/Messi/prediction", new MockFilterChain());
+        send("/api/analysis/Messi/prediction", new MockFilterChain());
+        authenticate("second@example.com");
+
+        // Act
+        MockHttpServletResponse response = send("/api/analysis/Messi/prediction", new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testAuthenticationEndpointsAreLimitedByIp() throws ServletException, IOException {
+        // Arrange
+        send("/api/auth/login", "203.0.113.7", new MockFilterChain());
+
+        // Act
+        MockHttpServletResponse sameIp = send("/api/auth/login", "203.0.113.7", new MockFilterChain());
+        MockHttpServletResponse otherIp = send("/api/auth/login", "203.0.113.8", new MockFilterChain());
+
+        // Assert
+        assertEquals(429, sameIp.getStatus());
+        assertEquals(200, otherIp.getStatus());
+    }
+
+    @Test
+    void testClientsBehindTheProxyAreLimitedByTheirForwardedIp() throws ServletException, IOException {
+        // Arrange: what server.forward-headers-strategy=framework puts in front of the chain
+        ForwardedHeaderFilter forwardedHeaders = new ForwardedHeaderFilter();
+        FilterChain rateLimited = (request, response) -> filter.doFilter(request, response, new MockFilterChain());
+        forwardedHeaders.doFilter(proxied("198.51.100.1"), new MockHttpServletResponse(), rateLimited);
+
+        // Act
+        MockHttpServletResponse sameClient = new MockHttpServletResponse();
+        forwardedHeaders.doFilter(proxied("198.51.100.1"), sameClient, rateLimited);
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        forwardedHeaders.doFilter(proxied("198.51.100.2"), otherClient, rateLimited);
+
+        // Assert
+        assertEquals(429, sameClient.getStatus());
+        assertEquals(200, otherClient.getStatus());
+    }
+
+    @Test
+    void testRoutesOutsideTheEndpointFamiliesAreNotLimited() throws ServletException, IOException {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        MockHttpServletResponse response = send("/monitoring/prometheus", chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void testDisabledFilterDoesNotLimit() throws ServletException, IOException {
+        // Arrange
+        RateLimitFilter disabled = new RateLimitFilter(new MockEnvironment()
+                .withProperty("api.rate-limit.enabled", "false")
+                .withProperty("api.rate-limit.auth.capacity", "1"), clock::get);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        disabled.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        disabled.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void testRejectionsAreExported() throws ServletException, IOException {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        send("/api/auth/login", "203.0.113.7", new MockFilterChain());
+
+        // Act
+        send("/api/auth/login", "203.0.113.7", new MockFilterChain());
+
+        // Assert
+        assertEquals(1.0, registry.get("api.ratelimit.allowed").tag("family", "auth").functionCounter().count());
+        assertEquals(1.0, registry.get("api.ratelimit.rejected").tag("family", "auth").functionCounter().count());
+        assertEquals(1.0, registry.get("api.ratelimit.clients").tag("family", "auth").gauge().value());
+    }
+
+    private MockHttpServletResponse send(String path, FilterChain chain) throws ServletException, IOException {
+        return send(path, "127.0.0.1", chain);
+    }
+
+    private MockHttpServletResponse send(String path, String remoteAddress, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * @return A login request relayed by the proxy, which connects from its own address.
+     */
+    private static MockHttpServletRequest proxied(String clientAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", clientAddress);
+        return request;
+    }
+
+    private static void authenticate(String subject) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthentication(new User(subject, "", List.of())));
+    }
+}
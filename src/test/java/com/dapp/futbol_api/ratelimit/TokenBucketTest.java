@@ -0,0 +1,96 @@
+package com.dapp.futbol_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void testAllowsCapacityRequestsThenRejects() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, MINUTE, 0);
+
+        // Act & Assert
+        assertTrue(bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0));
+        assertFalse(bucket.tryConsume(0));
+        assertEquals(0, bucket.remaining(0));
+    }
+
+    @Test
+    void testRefillsOneTokenPerInterval() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, MINUTE, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        // Act & Assert
+        assertEquals(TimeUnit.SECONDS.toNanos(20), bucket.nanosUntilNextToken(0));
+        assertEquals(MINUTE, bucket.nanosUntilFull(0));
+        assertFalse(bucket.tryConsume(TimeUnit.SECONDS.toNanos(19)));
+        assertTrue(bucket.tryConsume(TimeUnit.SECONDS.toNanos(20)));
+        assertFalse(bucket.tryConsume(TimeUnit.SECONDS.toNanos(20)));
+    }
+
+    @Test
+    void testIdleBucketRefillsToCapacityOnly() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, MINUTE, 0);
+        bucket.tryConsume(0);
+
+        // Act
+        long later = 10 * MINUTE;
+
+        // Assert
+        assertEquals(3, bucket.remaining(later));
+        assertEquals(0, bucket.nanosUntilFull(later));
+        assertEquals(0, bucket.nanosUntilNextToken(later));
+    }
+
+    @Test
+    void testConcurrentRequestsNeverExceedCapacity() throws Exception {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1_000, MINUTE, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryConsume(0)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1_000, granted.get());
+    }
+
+    @Test
+    void testRejectsNonPositiveSettings() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, MINUTE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
@@ -2,6 +2,8 @@ package com.dapp.futbol_api.security;
 
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -17,6 +19,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.dapp.futbol_api.config.SecurityConfig;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(AuthenticationController.class)
@@ -39,6 +42,9 @@ class AuthenticationControllerTest {
     @MockitoBean
     private SimpleUserDetailsService userDetailsService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void testRegisterShouldReturnOkOnSuccess() throws Exception {
         // Arrange
@@ -74,7 +80,7 @@ class AuthenticationControllerTest {
     void testAuthenticateShouldReturnOkAndTokenOnSuccess() throws Exception {
         // Arrange
         AuthenticationRequest request = new AuthenticationRequest("test@example.com", "password123");
-        AuthenticationResponse response = new AuthenticationResponse("dummy-jwt-token");
+        AuthenticationResponse response = new AuthenticationResponse("dummy-jwt-token", "dummy-refresh-token");
         when(authenticationService.authenticate(any(AuthenticationRequest.class))).thenReturn(response);
 
         // Act & Assert
@@ -82,7 +88,47 @@ class AuthenticationControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value("dummy-jwt-token"));
+                .andExpect(jsonPath("$.token").value("dummy-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("dummy-refresh-token"));
+    }
+
+    @Test
+    void testRefreshShouldReturnNewTokens() throws Exception {
+        // Arrange
+        when(authenticationService.refresh(any(RefreshTokenRequest.class)))
+                .thenReturn(new AuthenticationResponse("new-jwt-token", "new-refresh-token"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("dummy-refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"));
+    }
+
+    @Test
+    void testRefreshShouldReturnForbiddenForInvalidRefreshToken() throws Exception {
+        // Arrange
+        when(authenticationService.refresh(any(RefreshTokenRequest.class)))
+                .thenThrow(new BadCredentialsException("Invalid refresh token"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("revoked-token"))))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string("Invalid refresh token"));
+    }
+
+    @Test
+    void testLogoutShouldRevokeTheSessionTokens() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("dummy-refresh-token"))))
+                .andExpect(status().isNoContent());
+        verify(authenticationService).logout(any(RefreshTokenRequest.class), isNull());
     }
 
     @Test
@@ -3,6 +3,10 @@ package com.dapp.futbol_api.security;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import java.util.Date;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
@@ -11,16 +15,19 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.dapp.futbol_api.model.User;
 import com.dapp.futbol_api.repositories.UserRepository;
 import com.dapp.futbol_api.service.ScraperUserService;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import com.dapp.futbol_api.utils.UserValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +45,8 @@ class AuthenticationServiceTest {
     private UserValidator userValidator;
     @Mock
     private ScraperUserService scraperUserService;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private AuthenticationService authenticationService;
@@ -93,6 +102,7 @@ class AuthenticationServiceTest {
 
         // Mock JWT service - usa any(UserDetails.class) ya que creas un UserDetails temporal
         when(jwtService.generateToken(any(UserDetails.class))).thenReturn(expectedToken);
+        when(jwtService.generateRefreshToken(any(UserDetails.class))).thenReturn("dummy-refresh-token");
 
         // Act
         AuthenticationResponse response = authenticationService.authenticate(request);
@@ -100,6 +110,7 @@ class AuthenticationServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals(expectedToken, response.getToken());
+        assertEquals("dummy-refresh-token", response.getRefreshToken());
 
         // Verify interactions CORRECTAS
         verify(userValidator).validateAuthenticationRequest(request);
@@ -131,4 +142,69 @@ class AuthenticationServiceTest {
         verify(jwtService, never()).generateToken(any(UserDetails.class));
     }
 
+    @Test
+    void testRefreshShouldIssueNewTokensAndRevokeTheUsedRefreshToken() {
+        // Arrange
+        Claims claims = refreshClaims();
+        when(jwtService.parseToken("refresh-token")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
+        when(tokenRevocationService.revoke("jti-1", claims.getExpiration())).thenReturn(true);
+        when(jwtService.generateToken(any(UserDetails.class))).thenReturn("new-access-token");
+        when(jwtService.generateRefreshToken(any(UserDetails.class))).thenReturn("new-refresh-token");
+
+        // Act
+        AuthenticationResponse response = authenticationService.refresh(new RefreshTokenRequest("refresh-token"));
+
+        // Assert
+        assertEquals("new-access-token", response.getToken());
+        assertEquals("new-refresh-token", response.getRefreshToken());
+        verify(tokenRevocationService).revoke("jti-1", claims.getExpiration());
+        verify(scraperUserService, never()).validateUser(any(), any());
+    }
+
+    @Test
+    void testRefreshShouldRejectRevokedAccessAndInvalidTokens() {
+        // Arrange
+        Claims claims = refreshClaims();
+        Claims accessClaims = Jwts.claims().subject("test@example.com").id("jti-2").build();
+        when(jwtService.parseToken("revoked")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
+        when(tokenRevocationService.isRevoked("jti-1")).thenReturn(true);
+        when(jwtService.parseToken("access")).thenReturn(accessClaims);
+        when(jwtService.parseToken("garbage")).thenThrow(new MalformedJwtException("bad"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("revoked")));
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("access")));
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationService.refresh(new RefreshTokenRequest("garbage")));
+        assertThrows(BadCredentialsException.class, () -> authenticationService.refresh(new RefreshTokenRequest()));
+        verify(jwtService, never()).generateToken(any(UserDetails.class));
+    }
+
+    @Test
+    void testLogoutShouldRevokeTheRefreshAndAccessTokens() {
+        // Arrange
+        Claims claims = refreshClaims();
+        Claims accessClaims = Jwts.claims().subject("test@example.com").id("jti-2")
+                .expiration(new Date(System.currentTimeMillis() + 60_000)).build();
+        when(jwtService.parseToken("refresh-token")).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
+        when(jwtService.parseToken("access-token")).thenReturn(accessClaims);
+
+        // Act
+        authenticationService.logout(new RefreshTokenRequest("refresh-token"), "access-token");
+
+        // Assert
+        verify(tokenRevocationService).revoke("jti-1", claims.getExpiration());
+        verify(tokenRevocationService).revoke("jti-2", accessClaims.getExpiration());
+        verify(scraperUserService, times(2)).forgetCredentials("test@example.com");
+    }
+
+    private static Claims refreshClaims() {
+        return Jwts.claims().subject("test@example.com").id("jti-1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000)).build();
+    }
 }
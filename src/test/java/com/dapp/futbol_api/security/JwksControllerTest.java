@@ -0,0 +1,61 @@
+package com.dapp.futbol_api.security;
+
+import com.dapp.futbol_api.config.SecurityConfig;
+import com.dapp.futbol_api.service.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JwksController.class)
+@Import(SecurityConfig.class)
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtKeyRing keyRing;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private SimpleUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void testJwksIsPublishedWithoutAuthentication() throws Exception {
+        // Arrange
+        when(keyRing.jwkSet()).thenReturn("{\"keys\":[{\"kty\":\"EC\",\"kid\":\"k1\"}]}");
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("k1"));
+    }
+
+    @Test
+    void testJwksIsNotFoundWithHmacKeys() throws Exception {
+        // Arrange
+        when(keyRing.jwkSet()).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isNotFound());
+    }
+}
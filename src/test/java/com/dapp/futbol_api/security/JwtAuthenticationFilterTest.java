@@ -1,5 +1,8 @@
 package com.dapp.futbol_api.security;
 
+import com.dapp.futbol_api.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,10 +10,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,7 +25,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.io.IOException;
 import java.util.ArrayList;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -44,6 +54,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private SimpleUserDetailsService simpleUserDetailsService; // Este SÍ se usa
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -61,22 +74,59 @@ class JwtAuthenticationFilterTest {
         UserDetails userDetails = new User(userEmail, "password", new ArrayList<>());
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(jwt)).thenReturn(userEmail);
+        when(jwtService.parseToken(jwt)).thenReturn(claims(userEmail));
         
         // CORREGIDO: Usar simpleUserDetailsService en lugar de userDetailsService
         when(simpleUserDetailsService.loadUserByUsername(userEmail)).thenReturn(userDetails);
         
         // Usar any() para evitar problemas de matching estricto
-        when(jwtService.isTokenValid(anyString(), any(UserDetails.class))).thenReturn(true);
+        when(jwtService.isTokenValid(any(Claims.class), any(UserDetails.class))).thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertInstanceOf(JwtAuthentication.class, authentication);
+        assertSame(userDetails, authentication.getPrincipal());
+        assertTrue(authentication.isAuthenticated());
         verify(filterChain).doFilter(request, response);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"/", "/monitoring/prometheus", "/actuator/health", "/swagger-ui/index.html",
+            "/v3/api-docs", "/api/auth/login", "/api/auth", "/.well-known/jwks.json", "/swagger-ui.html"})
+    void testShouldNotFilterPublicPaths(String path) {
+        // Arrange
+        MockHttpServletRequest publicRequest = new MockHttpServletRequest("GET", path);
+
+        // Act & Assert
+        assertTrue(jwtAuthenticationFilter.shouldNotFilter(publicRequest));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/player", "/api/team", "/api/analysis/Messi/history", "/api/authentication"})
+    void testShouldFilterProtectedPaths(String path) {
+        // Arrange
+        MockHttpServletRequest protectedRequest = new MockHttpServletRequest("GET", path);
+
+        // Act & Assert
+        assertFalse(jwtAuthenticationFilter.shouldNotFilter(protectedRequest));
+    }
+
+    @Test
+    void testShouldNotFilterIgnoresContextPath() {
+        // Arrange
+        MockHttpServletRequest publicRequest = new MockHttpServletRequest("GET", "/futbol/monitoring/prometheus");
+        publicRequest.setContextPath("/futbol");
+        MockHttpServletRequest protectedRequest = new MockHttpServletRequest("GET", "/futbol/api/player");
+        protectedRequest.setContextPath("/futbol");
+
+        // Act & Assert
+        assertTrue(jwtAuthenticationFilter.shouldNotFilter(publicRequest));
+        assertFalse(jwtAuthenticationFilter.shouldNotFilter(protectedRequest));
+    }
+
     // Actualizar TODOS los tests para usar simpleUserDetailsService
     @Test
     void testDoFilterInternalShouldNotAuthenticateWhenHeaderIsMissing() throws ServletException, IOException {
@@ -111,7 +161,7 @@ class JwtAuthenticationFilterTest {
         // Arrange
         String jwt = "invalid-jwt";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.parseToken(jwt)).thenThrow(new RuntimeException("Invalid token"));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> jwtAuthenticationFilter.doFilterInternal(request, response, filterChain));
@@ -128,7 +178,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("already-authenticated-user", null));
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(jwt)).thenReturn("test@example.com");
+        when(jwtService.parseToken(jwt)).thenReturn(claims("test@example.com"));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -146,7 +196,7 @@ class JwtAuthenticationFilterTest {
         String authHeader = "Bearer " + jwt;
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(jwt)).thenReturn(null);
+        when(jwtService.parseToken(jwt)).thenReturn(claims(null));
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -165,15 +215,55 @@ class JwtAuthenticationFilterTest {
         UserDetails userDetails = new User(userEmail, "password", new ArrayList<>());
 
         when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(jwt)).thenReturn(userEmail);
+        when(jwtService.parseToken(jwt)).thenReturn(claims(userEmail));
         when(simpleUserDetailsService.loadUserByUsername(userEmail)).thenReturn(userDetails); // Cambiado
-        when(jwtService.isTokenValid(anyString(), any(UserDetails.class))).thenReturn(false); // Usar any()
+        when(jwtService.isTokenValid(any(Claims.class), any(UserDetails.class))).thenReturn(false); // Usar any()
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternalShouldNotAuthenticateRevokedToken() throws ServletException, IOException {
+        // Arrange
+        String jwt = "revoked-jwt";
+        Claims claims = Jwts.claims().subject("test@example.com").id("jti-1").build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.parseToken(jwt)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked("jti-1")).thenReturn(true);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(simpleUserDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternalShouldNotAuthenticateRefreshToken() throws ServletException, IOException {
+        // Arrange
+        String jwt = "refresh-jwt";
+        Claims claims = claims("test@example.com");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtService.parseToken(jwt)).thenReturn(claims);
+        when(jwtService.isRefreshToken(claims)).thenReturn(true);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(simpleUserDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static Claims claims(String subject) {
+        return Jwts.claims().subject(subject).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.dapp.futbol_api.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationTest {
+
+    private final UserDetails user = new User("test@example.com", "", List.of(new SimpleGrantedAuthority("USER")));
+
+    @Test
+    void testExposesTheUserDetails() {
+        // Act
+        JwtAuthentication authentication = new JwtAuthentication(user);
+
+        // Assert
+        assertSame(user, authentication.getPrincipal());
+        assertEquals("test@example.com", authentication.getName());
+        assertSame(user.getAuthorities(), authentication.getAuthorities());
+        assertNull(authentication.getCredentials());
+        assertTrue(authentication.isAuthenticated());
+    }
+
+    @Test
+    void testCannotBeMarkedAsNotAuthenticated() {
+        // Arrange
+        JwtAuthentication authentication = new JwtAuthentication(user);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> authentication.setAuthenticated(false));
+        assertTrue(authentication.isAuthenticated());
+    }
+}
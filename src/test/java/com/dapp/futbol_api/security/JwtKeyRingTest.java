@@ -0,0 +1,249 @@
+package com.dapp.futbol_api.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String LEGACY_SECRET = "bXlzdXBlcnNlY3JldGtleWZvcnRlc3RpbmdwdXJwb3Nlc2FuZGl0c2hvdWxkYmVsb25nZW5vdWdo";
+    private static final String KEY_1 = secret('1');
+    private static final String KEY_2 = secret('2');
+
+    @TempDir
+    Path tempDir;
+
+    private final List<JwtKeyRing> rings = new ArrayList<>();
+    private final UserDetails user = new User("test@example.com", "password", new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        rings.forEach(JwtKeyRing::destroy);
+    }
+
+    @Test
+    void testSecretKeyIsTheOnlyKeyWithoutAFile() {
+        // Arrange
+        JwtKeyRing keyRing = newKeyRing(new MockEnvironment().withProperty("api.security.jwt.secret-key", LEGACY_SECRET));
+
+        // Act
+        JwtKeyRing.SigningKey active = keyRing.activeKey();
+
+        // Assert
+        assertEquals("default", active.kid());
+        assertSame(active.key(), keyRing.verificationKey("default"));
+        assertSame(active.key(), keyRing.verificationKey(null));
+        assertNull(keyRing.verificationKey("other"));
+    }
+
+    @Test
+    void testMissingKeysFailAtStartup() {
+        // Arrange
+        MockEnvironment noKeys = new MockEnvironment();
+        MockEnvironment missingFile = new MockEnvironment()
+                .withProperty("api.security.jwt.keys.file", tempDir.resolve("missing.properties").toString());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(noKeys));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(missingFile));
+    }
+
+    @Test
+    void testRotatedKeysKeepVerifyingOldTokensUntilTheyRetire() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=k1\nkey.k1=" + KEY_1 + "\n");
+        JwtKeyRing keyRing = newKeyRing(fileEnvironment(file));
+        JwtService jwtService = newJwtService(keyRing);
+        String oldToken = jwtService.generateToken(user);
+        jwtService.parseToken(oldToken);
+
+        // Act
+        Files.writeString(file, "active=k2\nkey.k1=" + KEY_1 + "\nkey.k2=" + KEY_2 + "\n");
+        assertTrue(keyRing.reload());
+        String newToken = jwtService.generateToken(user);
+
+        // Assert
+        assertEquals("k2", keyRing.activeKey().kid());
+        assertTrue(jwtService.isTokenValid(oldToken, user));
+        assertTrue(jwtService.isTokenValid(newToken, user));
+
+        // Act: k1 retires
+        Files.writeString(file, "active=k2\nkey.k2=" + KEY_2 + "\n");
+        assertTrue(keyRing.reload());
+
+        // Assert: the cached verification of the old token is not reused
+        assertThrows(JwtException.class, () -> jwtService.parseToken(oldToken));
+        assertTrue(jwtService.isTokenValid(newToken, user));
+    }
+
+    @Test
+    void testInvalidFileKeepsTheCurrentKeys() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=k1\nkey.k1=" + KEY_1 + "\n");
+        JwtKeyRing keyRing = newKeyRing(fileEnvironment(file));
+        long generation = keyRing.generation();
+
+        // Act
+        Files.writeString(file, "active=k3\nkey.k1=" + KEY_1 + "\n");
+        boolean reloaded = keyRing.reload();
+
+        // Assert
+        assertFalse(reloaded);
+        assertEquals("k1", keyRing.activeKey().kid());
+        assertEquals(generation, keyRing.generation());
+    }
+
+    @Test
+    void testFileChangesAreReloadedInTheBackground() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=k1\nkey.k1=" + KEY_1 + "\n");
+        JwtKeyRing keyRing = newKeyRing(fileEnvironment(file)
+                .withProperty("api.security.jwt.keys.reload-interval-ms", "50"));
+
+        // Act
+        Files.writeString(file, "active=k2\nkey.k2=" + KEY_2 + "\n");
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"k2".equals(keyRing.activeKey().kid()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("k2", keyRing.activeKey().kid());
+        assertNull(keyRing.verificationKey("k1"));
+    }
+
+    @Test
+    void testKeysAreReadFromAPkcs12KeyStore() throws Exception {
+        // Arrange
+        char[] password = "changeit".toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, password);
+        keyStore.setEntry("k1", new KeyStore.SecretKeyEntry(
+                new SecretKeySpec(Base64.getDecoder().decode(KEY_1), "HmacSHA256")),
+                new KeyStore.PasswordProtection(password));
+        Path file = tempDir.resolve("jwt-keys.p12");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            keyStore.store(out, password);
+        }
+
+        // Act
+        JwtKeyRing keyRing = newKeyRing(fileEnvironment(file).withProperty("api.security.jwt.keys.password", "changeit"));
+        JwtService jwtService = newJwtService(keyRing);
+
+        // Assert
+        assertEquals("k1", keyRing.activeKey().kid());
+        assertTrue(jwtService.isTokenValid(jwtService.generateToken(user), user));
+    }
+
+    @Test
+    void testGeneratedEs256KeysArePublishedForOfflineVerification() {
+        // Arrange
+        JwtKeyRing keyRing = newKeyRing(new MockEnvironment().withProperty("api.security.jwt.algorithm", "ES256"));
+        JwtService jwtService = newJwtService(keyRing);
+        String token = jwtService.generateToken(user);
+
+        // Act
+        JwkSet jwkSet = Jwks.setParser().build().parse(keyRing.jwkSet());
+        PublicKey publicKey = (PublicKey) jwkSet.getKeys().iterator().next().toKey();
+        Claims claims = Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(token).getPayload();
+
+        // Assert
+        assertTrue(keyRing.isAsymmetric());
+        assertEquals("ES256", Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(token).getHeader().getAlgorithm());
+        assertEquals(keyRing.activeKey().kid(), jwkSet.getKeys().iterator().next().getId());
+        assertEquals("test@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(token, user));
+        // Short-lived access tokens (asymmetric.expiration-ms, 15 minutes by default)
+        long lifetimeMs = claims.getExpiration().getTime() - claims.getIssuedAt().getTime();
+        assertEquals(900_000, lifetimeMs);
+    }
+
+    @Test
+    void testEdDsaKeysRotateFromAFileAndOnlyPublicKeysArePublished() throws Exception {
+        // Arrange
+        KeyPair k1 = Jwks.CRV.Ed25519.keyPair().build();
+        KeyPair k2 = Jwks.CRV.Ed25519.keyPair().build();
+        Path file = tempDir.resolve("jwt-keys.properties");
+        Files.writeString(file, "active=k1\n" + publicKey("k1", k1) + privateKey("k1", k1));
+        JwtKeyRing keyRing = newKeyRing(fileEnvironment(file).withProperty("api.security.jwt.algorithm", "EdDSA"));
+        JwtService jwtService = newJwtService(keyRing);
+        String oldToken = jwtService.generateToken(user);
+
+        // Act: k2 signs, k1 only verifies
+        Files.writeString(file, "active=k2\n" + publicKey("k1", k1) + publicKey("k2", k2) + privateKey("k2", k2));
+        assertTrue(keyRing.reload());
+        String newToken = jwtService.generateToken(user);
+
+        // Assert
+        assertTrue(jwtService.isTokenValid(oldToken, user));
+        assertTrue(jwtService.isTokenValid(newToken, user));
+        JwkSet jwkSet = Jwks.setParser().build().parse(keyRing.jwkSet());
+        assertEquals(2, jwkSet.getKeys().size());
+        assertFalse(keyRing.jwkSet().contains("\"d\""), "Private key material was published");
+        assertEquals("EdDSA", Jwts.parser().verifyWith(k2.getPublic()).build()
+                .parseSignedClaims(newToken).getHeader().getAlgorithm());
+    }
+
+    @Test
+    void testHmacKeysAreNeverPublished() {
+        // Arrange
+        JwtKeyRing keyRing = newKeyRing(new MockEnvironment().withProperty("api.security.jwt.secret-key", LEGACY_SECRET));
+
+        // Act & Assert
+        assertFalse(keyRing.isAsymmetric());
+        assertNull(keyRing.jwkSet());
+    }
+
+    private JwtKeyRing newKeyRing(MockEnvironment environment) {
+        JwtKeyRing keyRing = new JwtKeyRing(environment);
+        rings.add(keyRing);
+        return keyRing;
+    }
+
+    private static MockEnvironment fileEnvironment(Path file) {
+        return new MockEnvironment().withProperty("api.security.jwt.keys.file", file.toString());
+    }
+
+    private static JwtService newJwtService(JwtKeyRing keyRing) {
+        JwtService jwtService = new JwtService(keyRing);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        return jwtService;
+    }
+
+    private static String secret(char seed) {
+        return Base64.getEncoder().encodeToString(String.valueOf(seed).repeat(32).getBytes());
+    }
+
+    private static String publicKey(String kid, KeyPair keyPair) {
+        return "key." + kid + ".public=" + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()) + "\n";
+    }
+
+    private static String privateKey(String kid, KeyPair keyPair) {
+        return "key." + kid + ".private=" + Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()) + "\n";
+    }
+}
@@ -1,11 +1,16 @@
 package com.dapp.futbol_api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,8 +23,8 @@ class JwtServiceTest {
     @Test
     void testExtractUsernameShouldReturnCorrectUsername() {
         // Arrange
-        JwtService jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", testSecretKey);
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L); // 1 hour
 
         UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
@@ -35,8 +40,8 @@ class JwtServiceTest {
     @Test
     void testGenerateTokenWithExtraClaims() {
         // Arrange
-        JwtService jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", testSecretKey);
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
 
         UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
@@ -54,8 +59,8 @@ class JwtServiceTest {
     @Test
     void testIsTokenValidShouldReturnTrueForValidToken() {
         // Arrange
-        JwtService jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", testSecretKey);
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
 
         UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
@@ -71,8 +76,8 @@ class JwtServiceTest {
     @Test
     void testIsTokenValidShouldReturnFalseForDifferentUser() {
         // Arrange
-        JwtService jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", testSecretKey);
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
 
         UserDetails originalUser = new User("user1@example.com", "password", new ArrayList<>());
@@ -89,8 +94,8 @@ class JwtServiceTest {
     @Test
     void testIsTokenValidShouldReturnFalseForExpiredToken() {
         // Arrange
-        JwtService jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", testSecretKey);
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L); // Expired 1 second ago
 
         UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
@@ -99,4 +104,94 @@ class JwtServiceTest {
         // Act & Assert
         assertFalse(jwtService.isTokenValid(expiredToken, userDetails));
     }
+
+    @Test
+    void testParseTokenReturnsTheCachedClaimsForTheSameToken() {
+        // Arrange
+        JwtService jwtService = createJwtService(3600000L);
+        UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
+        String token = jwtService.generateToken(userDetails);
+
+        // Act
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(jwtService.isTokenValid(second, userDetails));
+    }
+
+    @Test
+    void testParseTokenRejectsAPayloadTamperedBehindACachedSignature() {
+        // Arrange
+        JwtService jwtService = createJwtService(3600000L);
+        String token = jwtService.generateToken(new User("user1@example.com", "password", new ArrayList<>()));
+        jwtService.parseToken(token);
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("user1@example.com", "user2@example.com");
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+        assertEquals("user1@example.com", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void testExpiredTokenIsNotServedFromTheCache() throws InterruptedException {
+        // Arrange
+        JwtService jwtService = createJwtService(1500L);
+        UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
+        String token = jwtService.generateToken(userDetails);
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+
+        // Act
+        Thread.sleep(2000);
+
+        // Assert
+        assertFalse(jwtService.isTokenValid(token, userDetails));
+        assertThrows(JwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    @Test
+    void testParseTokenWorksWithTheCacheDisabled() {
+        // Arrange
+        JwtService jwtService = createJwtService(3600000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 0L);
+        UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
+        String token = jwtService.generateToken(userDetails);
+
+        // Act
+        Claims claims = jwtService.parseToken(token);
+
+        // Assert
+        assertEquals("test@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void testRefreshTokensAreMarkedAndEveryTokenHasItsOwnId() {
+        // Arrange
+        JwtService jwtService = createJwtService(3600000L);
+        UserDetails userDetails = new User("test@example.com", "password", new ArrayList<>());
+
+        // Act
+        Claims access = jwtService.parseToken(jwtService.generateToken(userDetails));
+        Claims refresh = jwtService.parseToken(jwtService.generateRefreshToken(userDetails));
+
+        // Assert
+        assertFalse(jwtService.isRefreshToken(access));
+        assertTrue(jwtService.isRefreshToken(refresh));
+        assertNotNull(access.getId());
+        assertNotEquals(access.getId(), refresh.getId());
+        assertTrue(refresh.getExpiration().after(access.getExpiration()));
+    }
+
+    private JwtService createJwtService(long expirationMs) {
+        JwtService jwtService = new JwtService(new JwtKeyRing(
+                new MockEnvironment().withProperty("api.security.jwt.secret-key", testSecretKey)));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expirationMs);
+        return jwtService;
+    }
 }
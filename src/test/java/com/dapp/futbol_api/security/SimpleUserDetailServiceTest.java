@@ -30,6 +30,18 @@ class SimpleUserDetailsServiceTest {
         assertTrue(userDetails.isEnabled());
     }
 
+    @Test
+    void testLoadUserByUsernameShouldReturnTheSameDetailsForTheSameUser() {
+        // Act
+        UserDetails first = simpleUserDetailsService.loadUserByUsername("test@example.com");
+        UserDetails second = simpleUserDetailsService.loadUserByUsername("test@example.com");
+        UserDetails other = simpleUserDetailsService.loadUserByUsername("other@example.com");
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("other@example.com", other.getUsername());
+    }
+
     @Test
     void testLoadUserByUsernameWithNullEmailShouldThrowException() {
         // Act & Assert
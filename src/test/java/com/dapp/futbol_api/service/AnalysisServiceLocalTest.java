@@ -0,0 +1,331 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.analytics.MatchHistory;
+import com.dapp.futbol_api.analytics.PerformanceMetricsEngine;
+import com.dapp.futbol_api.analytics.PerformancePredictor;
+import com.dapp.futbol_api.cache.CachedResponse;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
+import com.dapp.futbol_api.model.dto.GameMatchDTO;
+import com.dapp.futbol_api.model.dto.PerformanceMetricsDTO;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepRequestDTO;
+import com.dapp.futbol_api.model.dto.PredictiveAnalysisDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest({AnalysisService.class, ScraperResponseCache.class, ScraperCallExecutor.class,
+        ScraperResilience.class, AsyncScraperClient.class, ScraperHttpClient.class, MatchHistory.class,
+        PerformanceMetricsEngine.class, PerformancePredictor.class})
+class AnalysisServiceLocalTest {
+
+    private static final String METRICS_URL =
+            "http://localhost:8081/api/analysis/Lionel%20Messi/performanceMetrics?userEmail=test@example.com";
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private MockRestServiceServer mockServer;
+
+    @Autowired
+    private ScraperResponseCache responseCache;
+
+    @MockitoBean
+    private PlayerService playerService;
+
+    @MockitoBean
+    private TeamService teamService;
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken(
+            new User("test@example.com", "password", Collections.emptyList()), null);
+
+    @BeforeEach
+    void setUp() {
+        mockServer.reset();
+        responseCache.clear();
+    }
+
+    @Test
+    void testPerformanceMetricsAreComputedFromTheMatchStats() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Lionel Messi");
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date("03-11-2025").opponent("Real Madrid").minsPlayed(90).goals(2).shots(4).rating(8.5)
+                .build()));
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        mockServer.expect(requestTo(METRICS_URL))
+                .andRespond(withSuccess("{\"goals\": 900}", MediaType.APPLICATION_JSON));
+
+        // Act
+        Object result = analysisService.getPlayerPerformanceMetrics("Lionel Messi", authentication);
+
+        // Assert
+        PerformanceMetricsDTO metrics = assertInstanceOf(PerformanceMetricsDTO.class, result);
+        assertEquals(2.0, metrics.getGoalsPerMatch());
+        assertEquals(50.0, metrics.getShotAccuracy());
+        assertEquals(8.5, metrics.getAverageRating());
+        // The query is still sent to the scraper, without waiting for it, to record it in the history
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testLocalPerformanceMetricsDoNotWaitForTheScraper() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Lionel Messi");
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date("03-11-2025").opponent("Real Madrid").minsPlayed(90).goals(2).shots(4).rating(8.5)
+                .build()));
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        CountDownLatch scraperAnswers = new CountDownLatch(1);
+        mockServer.expect(requestTo(METRICS_URL)).andRespond(answerOnce(scraperAnswers));
+
+        // Act
+        Object result = assertTimeout(Duration.ofSeconds(1),
+                () -> analysisService.getPlayerPerformanceMetrics("Lionel Messi", authentication));
+
+        // Assert
+        assertInstanceOf(PerformanceMetricsDTO.class, result);
+        scraperAnswers.countDown();
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testPerformanceMetricsFallBackToTheScraperWithoutMatchStats() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Lionel Messi");
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        mockServer.expect(requestTo(METRICS_URL))
+                .andRespond(withSuccess("{\"goals\": 900}", MediaType.APPLICATION_JSON));
+
+        // Act
+        Object result = analysisService.getPlayerPerformanceMetrics("Lionel Messi", authentication);
+
+        // Assert
+        assertEquals(900, ((Map<?, ?>) result).get("goals"));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPerformanceMetricsFailWhenThePlayerLookupFails() {
+        // Arrange
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Player not found")));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> analysisService.getPlayerPerformanceMetrics("Lionel Messi", authentication));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPerformanceMetricsDoNotCallTheScraperWhileItIsUnavailable() {
+        // Arrange
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.failedFuture(new ScraperUnavailableException("Circuit open", 30)));
+
+        // Act & Assert
+        assertThrows(ScraperUnavailableException.class,
+                () -> analysisService.getPlayerPerformanceMetrics("Lionel Messi", authentication));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPerformancePredictionIsComputedFromTheMatchStats() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Pedri");
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date("03-11-2025").opponent("Real Madrid").position("FW").minsPlayed(90).goals(1).rating(8.0)
+                .build()));
+        when(playerService.getPlayerInfoWithFreshnessAsync("Pedri"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        mockServer.expect(requestTo("http://localhost:8081/api/analysis/Pedri/prediction"
+                        + "?opponent=Sevilla&isHome=true&position=FW&userEmail=test@example.com"))
+                .andRespond(withSuccess("{\"expectedGoals\": 1.2}", MediaType.APPLICATION_JSON));
+
+        // Act
+        Object result = analysisService.getPerformancePrediction("Pedri", "Sevilla", true, "FW",
+                authentication);
+
+        // Assert
+        PredictiveAnalysisDTO prediction = assertInstanceOf(PredictiveAnalysisDTO.class, result);
+        assertEquals("Pedri", prediction.getPlayerName());
+        assertEquals(1.1, prediction.getHomeAdvantageFactor());
+        assertEquals(1.0, prediction.getOpponentFactor());
+        assertNotNull(prediction.getGoalProbability());
+        // The query is still sent to the scraper, without waiting for it, to record it in the history
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testLocalPerformancePredictionDoesNotWaitForTheScraper() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Pedri");
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date("03-11-2025").opponent("Real Madrid").position("FW").minsPlayed(90).goals(1).rating(8.0)
+                .build()));
+        when(playerService.getPlayerInfoWithFreshnessAsync("Pedri"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        CountDownLatch scraperAnswers = new CountDownLatch(1);
+        mockServer.expect(requestTo("http://localhost:8081/api/analysis/Pedri/prediction"
+                        + "?opponent=Getafe&isHome=false&position=FW&userEmail=test@example.com"))
+                .andRespond(answerOnce(scraperAnswers));
+
+        // Act
+        Object result = assertTimeout(Duration.ofSeconds(1),
+                () -> analysisService.getPerformancePrediction("Pedri", "Getafe", false, "FW", authentication));
+
+        // Assert
+        assertInstanceOf(PredictiveAnalysisDTO.class, result);
+        scraperAnswers.countDown();
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testPerformancePredictionDoesNotCallTheScraperWhileItIsUnavailable() {
+        // Arrange
+        when(playerService.getPlayerInfoWithFreshnessAsync("Pedri"))
+                .thenReturn(CompletableFuture.failedFuture(new ScraperUnavailableException("Circuit open", 30)));
+
+        // Act & Assert
+        assertThrows(ScraperUnavailableException.class,
+                () -> analysisService.getPerformancePrediction("Pedri", "Sevilla", true, "FW", authentication));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPerformancePredictionFallsBackToTheScraperWithoutMatchStats() {
+        // Arrange
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(new PlayerDTO())));
+        mockServer.expect(requestTo("http://localhost:8081/api/analysis/Lionel%20Messi/prediction"
+                        + "?opponent=Sevilla&isHome=false&position=FW&userEmail=test@example.com"))
+                .andRespond(withSuccess("{\"expectedGoals\": 1.2}", MediaType.APPLICATION_JSON));
+
+        // Act
+        Object result = analysisService.getPerformancePrediction("Lionel Messi", "Sevilla", false, "FW",
+                authentication);
+
+        // Assert
+        assertEquals(1.2, ((Map<?, ?>) result).get("expectedGoals"));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPredictionSweepAddsTheRivalsOfTheUpcomingMatchesOfTheTeam() {
+        // Arrange
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Raphinha");
+        player.setMatchStats(List.of(PlayerMatchStatsDTO.builder()
+                .date("03-11-2025").opponent("Real Madrid").position("FW").minsPlayed(90).goals(1).rating(8.0)
+                .build()));
+        when(playerService.getPlayerInfoWithFreshnessAsync("Raphinha"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(player)));
+        when(teamService.getFutureMatchesAsync("Barcelona")).thenReturn(CompletableFuture.completedFuture(List.of(
+                GameMatchDTO.builder().actualTeam("Barcelona").rivalTeam("Sevilla").build(),
+                GameMatchDTO.builder().actualTeam("Girona").rivalTeam("Barcelona").build())));
+        PredictionSweepRequestDTO request = new PredictionSweepRequestDTO("Barcelona", List.of("sevilla", "Getafe"),
+                null, List.of("FW", "AMC"));
+
+        // Act
+        PredictionSweepDTO sweep = analysisService.sweepPerformancePredictions("Raphinha", request);
+
+        // Assert
+        assertEquals(List.of("sevilla", "Getafe", "Girona"), sweep.getOpponents());
+        assertEquals(3, sweep.getScores().size());
+        assertEquals(4, sweep.getScores().get(0).size());
+        assertEquals(12, sweep.getRanking().size());
+        mockServer.verify();
+    }
+
+    @Test
+    void testPredictionSweepWithoutMatchStatsIsRejected() {
+        // Arrange
+        when(playerService.getPlayerInfoWithFreshnessAsync("Lionel Messi"))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(new PlayerDTO())));
+        PredictionSweepRequestDTO request = new PredictionSweepRequestDTO(null, List.of("Sevilla"), List.of(true),
+                List.of("FW"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> analysisService.sweepPerformancePredictions("Lionel Messi", request));
+        mockServer.verify();
+    }
+
+    @Test
+    void testPredictionSweepOverTheScenarioLimitIsRejected() {
+        // Arrange
+        List<String> opponents = IntStream.range(0, 300).mapToObj(i -> "Team " + i).toList();
+        PredictionSweepRequestDTO request = new PredictionSweepRequestDTO(null, opponents, null, List.of("FW"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> analysisService.sweepPerformancePredictions("Lionel Messi", request));
+    }
+
+    @Test
+    void testInvalidPredictionSweepFailsTheFutureInsteadOfThrowing() {
+        // Arrange
+        PredictionSweepRequestDTO request = new PredictionSweepRequestDTO(null, List.of("Sevilla"), null, List.of());
+
+        // Act
+        CompletableFuture<PredictionSweepDTO> sweep = analysisService.sweepPerformancePredictionsAsync("Pedri", request);
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, sweep::join);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        mockServer.verify();
+    }
+
+    /**
+     * @return A scraper response held back until the latch is released, as if the scraper hung.
+     */
+    private static ResponseCreator answerOnce(CountDownLatch release) {
+        return request -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess("{}", MediaType.APPLICATION_JSON).createResponse(request);
+        };
+    }
+}
@@ -1,13 +1,20 @@
 package com.dapp.futbol_api.service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +27,8 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
@@ -28,12 +37,32 @@ import static org.springframework.test.web.client.response.MockRestResponseCreat
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import com.dapp.futbol_api.analytics.MatchHistory;
+import com.dapp.futbol_api.analytics.PerformanceMetricsEngine;
+import com.dapp.futbol_api.analytics.PerformancePredictor;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.dapp.futbol_api.exception.AnalysisServiceException;
+import com.dapp.futbol_api.model.dto.PredictionSweepDTO;
+import com.dapp.futbol_api.model.dto.PredictionSweepRequestDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-@RestClientTest(AnalysisService.class)
+@RestClientTest(components = {AnalysisService.class, ScraperResponseCache.class, ScraperCallExecutor.class,
+        ScraperResilience.class, AsyncScraperClient.class, ScraperHttpClient.class, MatchHistory.class,
+        PerformanceMetricsEngine.class, PerformancePredictor.class},
+        properties = {"scraper.metrics.local.enabled=false", "scraper.prediction.local.enabled=false"})
 class AnalysisServiceTest {
 
+    @MockitoBean
+    private PlayerService playerService;
+
+    @MockitoBean
+    private TeamService teamService;
+
     @Autowired
     private AnalysisService analysisService;
 
@@ -43,11 +72,15 @@ class AnalysisServiceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ScraperResponseCache responseCache;
+
     private final String baseUrl = "http://localhost:8081";
 
     @BeforeEach
     void setUp() {
         mockServer.reset();
+        responseCache.clear();
     }
 
     @Test
@@ -314,6 +347,56 @@ class AnalysisServiceTest {
         mockServer.verify();
     }
 
+    @Test
+    void testGetComparativeAnalysis_CacheHitStillRecordsTheQuery() throws JsonProcessingException {
+        // Arrange
+        String userEmail = "test@example.com";
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new User(userEmail, "password", Collections.emptyList()), null);
+        String url = baseUrl + "/api/analysis/Pedri/comparison?userEmail=" + userEmail;
+        mockServer.expect(ExpectedCount.times(2), requestTo(url))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(Map.of("trend", "improving")),
+                        MediaType.APPLICATION_JSON));
+
+        // Act
+        Object first = analysisService.getComparativeAnalysis("Pedri", authentication);
+        Object second = analysisService.getComparativeAnalysis("Pedri", authentication);
+
+        // Assert
+        assertEquals(first, second);
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetComparativeAnalysis_CacheHitDoesNotWaitForTheRecordedQuery() throws JsonProcessingException {
+        // Arrange
+        String userEmail = "test@example.com";
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                new User(userEmail, "password", Collections.emptyList()), null);
+        String url = baseUrl + "/api/analysis/Pedri/comparison?userEmail=" + userEmail;
+        String body = objectMapper.writeValueAsString(Map.of("trend", "improving"));
+        CountDownLatch scraperAnswers = new CountDownLatch(1);
+        mockServer.expect(requestTo(url)).andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(url)).andRespond(request -> {
+            try {
+                scraperAnswers.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return withSuccess(body, MediaType.APPLICATION_JSON).createResponse(request);
+        });
+        Object first = analysisService.getComparativeAnalysis("Pedri", authentication);
+
+        // Act
+        Object second = assertTimeout(Duration.ofSeconds(1),
+                () -> analysisService.getComparativeAnalysis("Pedri", authentication));
+
+        // Assert
+        assertEquals(first, second);
+        scraperAnswers.countDown();
+        mockServer.verify(Duration.ofSeconds(5));
+    }
+
     @Test
     void testGetComparativeAnalysis_HandlesEmptyListResponse() throws JsonProcessingException {
         // Arrange
@@ -420,6 +503,20 @@ class AnalysisServiceTest {
         mockServer.verify();
     }
 
+    @Test
+    void testSweepPerformancePredictions_DisabledIsUnavailable() {
+        // Arrange
+        PredictionSweepRequestDTO request = new PredictionSweepRequestDTO(null, List.of("Sevilla"), null, List.of("FW"));
+
+        // Act
+        CompletableFuture<PredictionSweepDTO> sweep = analysisService.sweepPerformancePredictionsAsync("Pedri", request);
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, sweep::join);
+        assertInstanceOf(AnalysisServiceException.class, failure.getCause());
+        mockServer.verify();
+    }
+
     // Note: Testing the catch block for UnsupportedEncodingException in decodeUrlParameter
     // is impractical because StandardCharsets.UTF_8.name() is guaranteed to be a valid
     // encoding name in any standard Java environment. A test for this would require
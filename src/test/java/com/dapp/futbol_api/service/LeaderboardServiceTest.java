@@ -0,0 +1,67 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.model.dto.LeaderboardDTO;
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardServiceTest {
+
+    private final Leaderboards leaderboards = new Leaderboards(new MockEnvironment());
+    private final LeaderboardService leaderboardService = new LeaderboardService(leaderboards, 100);
+
+    @BeforeEach
+    void setUp() {
+        TeamDTO team = new TeamDTO();
+        team.setName("Barcelona");
+        team.setSquad(List.of(
+                TeamPlayerDTO.builder().name("Lewandowski").position("FW").aerialsWonPerGame(1.4).build(),
+                TeamPlayerDTO.builder().name("Araujo").position("DC").aerialsWonPerGame(2.9).build(),
+                TeamPlayerDTO.builder().name("Pedri").position("AMC").aerialsWonPerGame(0.3).build()));
+        leaderboards.update("barcelona", team);
+    }
+
+    @Test
+    void testGetLeaderboardNumbersTheRanksOfThePage() {
+        // Act
+        LeaderboardDTO leaderboard = leaderboardService.getLeaderboard("aerials-won", 1, 2);
+
+        // Assert
+        assertEquals("aerials-won", leaderboard.getMetric());
+        assertEquals(1, leaderboard.getPage());
+        assertEquals(3, leaderboard.getTotalEntries());
+        assertEquals(3, leaderboard.getTotalPlayers());
+        assertEquals(1, leaderboard.getTeams());
+        assertEquals(1, leaderboard.getEntries().size());
+        assertEquals(3, leaderboard.getEntries().get(0).getRank());
+        assertEquals("Pedri", leaderboard.getEntries().get(0).getPlayerName());
+        assertEquals("Barcelona", leaderboard.getEntries().get(0).getTeam());
+        assertEquals(0.3, leaderboard.getEntries().get(0).getValue());
+    }
+
+    @Test
+    void testGetLeaderboardPastTheLastPageIsEmpty() {
+        // Act
+        LeaderboardDTO leaderboard = leaderboardService.getLeaderboard("aerials-won", 5, 2);
+
+        // Assert
+        assertTrue(leaderboard.getEntries().isEmpty());
+        assertEquals(3, leaderboard.getTotalEntries());
+    }
+
+    @Test
+    void testGetLeaderboardRejectsInvalidRequests() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard("tackles", 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard("goals", -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard("goals", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getLeaderboard("goals", 0, 101));
+    }
+}
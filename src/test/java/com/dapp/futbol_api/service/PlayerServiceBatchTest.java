@@ -0,0 +1,187 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.dapp.futbol_api.model.dto.PlayerBatchResultDTO;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link PlayerService#getPlayersInfo} against a stub scraper: results arrive as each player
+ * completes, the number of lookups in flight is bounded, cached players skip the scraper and a
+ * failed delivery stops the batch.
+ */
+class PlayerServiceBatchTest {
+
+    private static final int CONCURRENCY = 2;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private ScraperCallExecutor callExecutor;
+    private ScraperHttpClient httpClient;
+    private AsyncScraperClient asyncClient;
+    private PlayerService playerService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            String player = exchange.getRequestURI().getQuery().substring("playerName=".length());
+            requests.computeIfAbsent(player, key -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(player.startsWith("Slow") ? 1500 : 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            int status = 200;
+            String body = "[{\"name\":\"" + player + "\"}]";
+            if (player.startsWith("Unknown")) {
+                status = 404;
+                body = "{}";
+            } else if (player.startsWith("Broken")) {
+                status = 500;
+                body = "{}";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callExecutor.destroy();
+        httpClient.destroy();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "non-blocking"})
+    void testResultsStreamAsEachPlayerCompletesWithBoundedConcurrency(String mode) throws Exception {
+        // Arrange
+        createPlayerService(mode);
+        List<PlayerBatchResultDTO> results = new CopyOnWriteArrayList<>();
+
+        // Act
+        playerService.getPlayersInfo(List.of("Slow Player", "Messi", "Unknown Player", "Broken Player", "Pedri"),
+                results::add).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(5, results.size());
+        assertEquals("Slow Player", results.get(results.size() - 1).getPlayerName());
+        assertTrue(maxInFlight.get() <= CONCURRENCY, "Too many lookups in flight: " + maxInFlight.get());
+        Map<String, PlayerBatchResultDTO> byName = new ConcurrentHashMap<>();
+        results.forEach(result -> byName.put(result.getPlayerName(), result));
+        assertEquals(PlayerBatchResultDTO.OK, byName.get("Messi").getStatus());
+        assertEquals("Messi", byName.get("Messi").getPlayer().getName());
+        assertFalse(byName.get("Messi").getStale());
+        assertEquals(PlayerBatchResultDTO.NOT_FOUND, byName.get("Unknown Player").getStatus());
+        assertEquals(PlayerBatchResultDTO.ERROR, byName.get("Broken Player").getStatus());
+        assertEquals("Error fetching player data.", byName.get("Broken Player").getError());
+    }
+
+    @Test
+    void testCachedPlayersAreAnsweredWithoutCallingTheScraper() throws Exception {
+        // Arrange
+        createPlayerService("blocking");
+        playerService.getPlayerInfoByName("Messi");
+        requests.clear();
+        List<PlayerBatchResultDTO> results = new CopyOnWriteArrayList<>();
+
+        // Act
+        playerService.getPlayersInfo(List.of("Slow Player", " MESSI ", "Messi"), results::add)
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of(" MESSI ", "Slow Player"), results.stream().map(PlayerBatchResultDTO::getPlayerName).toList());
+        assertEquals(List.of("Slow Player"), List.copyOf(requests.keySet()));
+    }
+
+    @Test
+    void testAFailedDeliveryStopsTheWholeBatch() throws Exception {
+        // Arrange
+        createPlayerService("blocking");
+        AtomicInteger deliveries = new AtomicInteger();
+
+        // Act
+        CompletableFuture<Void> batch = playerService.getPlayersInfo(
+                List.of("Messi", "Pedri", "Xavi", "Iniesta", "Puyol"), result -> {
+                    deliveries.incrementAndGet();
+                    throw new UncheckedIOException(new IOException("Broken pipe"));
+                });
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> batch.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UncheckedIOException.class, failure.getCause());
+        // Let the lookup still in flight finish: its result is dropped and nothing else is fetched
+        Thread.sleep(500);
+        assertEquals(1, deliveries.get());
+        assertEquals(CONCURRENCY, requests.size());
+    }
+
+    @Test
+    void testInvalidBatchesAreRejected() {
+        // Arrange
+        createPlayerService("blocking");
+        List<String> tooMany = Collections.nCopies(51, "Messi");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayersInfo(List.of(), result -> { }));
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayersInfo(null, result -> { }));
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayersInfo(tooMany, result -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> playerService.getPlayersInfo(List.of("Messi", " "), result -> { }));
+        assertTrue(requests.isEmpty());
+    }
+
+    private void createPlayerService(String mode) {
+        MockEnvironment environment = new MockEnvironment().withProperty(AsyncScraperClient.MODE_PROPERTY, mode);
+        callExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(environment));
+        httpClient = new ScraperHttpClient(environment);
+        asyncClient = new AsyncScraperClient(environment, Jackson2ObjectMapperBuilder.json().build(), httpClient);
+        playerService = new PlayerService(new RestTemplateBuilder(), "http://localhost:" + server.getAddress().getPort(),
+                callExecutor, new ScraperResponseCache(environment), asyncClient, CONCURRENCY, 50);
+    }
+}
@@ -1,5 +1,12 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.dapp.futbol_api.model.dto.PlayerDTO;
+import com.dapp.futbol_api.model.dto.PlayerMatchStatsDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +27,8 @@ import static org.springframework.test.web.client.match.MockRestRequestMatchers.
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(PlayerService.class)
+@RestClientTest({PlayerService.class, ScraperResponseCache.class, ScraperCallExecutor.class,
+        ScraperResilience.class, AsyncScraperClient.class, ScraperHttpClient.class})
 class PlayerServiceTest {
 
     @Autowired
@@ -32,11 +40,15 @@ class PlayerServiceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ScraperResponseCache responseCache;
+
     private final String baseUrl = "http://localhost:8081";
 
     @BeforeEach
     void setUp() {
         mockServer.reset();
+        responseCache.clear();
     }
 
     @Test
@@ -44,7 +56,9 @@ class PlayerServiceTest {
         // Arrange
         String playerName = "Lionel Messi";
         String url = baseUrl + "/api/scrape/player?playerName=Lionel%20Messi";
-        Map<String, Object> mockPlayer = Map.of("name", "Lionel Messi", "team", "Inter Miami");
+        Map<String, Object> mockPlayer = Map.of("name", "Lionel Messi", "team", "Inter Miami", "age", "38",
+                "currentTeam", "Inter Miami", "matchStats", List.of(Map.of("opponent", "Orlando City",
+                        "minsPlayed", "90'", "goals", 2, "assists", "-", "passSuccess", "88.2", "rating", "9.10")));
         List<Map<String, Object>> mockResponse = Collections.singletonList(mockPlayer);
 
         mockServer.expect(requestTo(url))
@@ -52,12 +66,37 @@ class PlayerServiceTest {
                 .andRespond(withSuccess(objectMapper.writeValueAsString(mockResponse), MediaType.APPLICATION_JSON));
 
         // Act
-        Object result = playerService.getPlayerInfoByName(playerName);
+        PlayerDTO result = playerService.getPlayerInfoByName(playerName);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result instanceof Map);
-        assertEquals("Lionel Messi", ((Map<?, ?>) result).get("name"));
+        assertEquals("Lionel Messi", result.getName());
+        assertEquals(38, result.getAge());
+        assertEquals("Inter Miami", result.getCurrentTeam());
+        PlayerMatchStatsDTO match = result.getMatchStats().getFirst();
+        assertEquals("Orlando City", match.getOpponent());
+        assertEquals(90, match.getMinsPlayed());
+        assertEquals(2, match.getGoals());
+        assertNull(match.getAssists());
+        assertEquals(88.2, match.getPassSuccess());
+        assertEquals(9.1, match.getRating());
+        mockServer.verify();
+    }
+
+    @Test
+    void testGetPlayerInfoByName_FailuresAreNotCached() throws JsonProcessingException {
+        // Arrange
+        String url = baseUrl + "/api/scrape/player?playerName=Flaky%20Player";
+        List<Map<String, Object>> mockResponse = Collections.singletonList(Map.of("name", "Flaky Player"));
+
+        mockServer.expect(requestTo(url)).andRespond(withServerError());
+        mockServer.expect(requestTo(url))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(mockResponse), MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> playerService.getPlayerInfoByName("Flaky Player"));
+        PlayerDTO result = playerService.getPlayerInfoByName("Flaky Player");
+        assertEquals("Flaky Player", result.getName());
         mockServer.verify();
     }
 
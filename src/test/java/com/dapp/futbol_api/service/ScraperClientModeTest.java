@@ -0,0 +1,182 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.MatchHistory;
+import com.dapp.futbol_api.analytics.PerformanceMetricsEngine;
+import com.dapp.futbol_api.analytics.PerformancePredictor;
+import com.dapp.futbol_api.analytics.TeamComparator;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same requests through the blocking and the non-blocking scraper engines against one
+ * stub scraper, and checks that both give the same results and fail with the same exceptions.
+ */
+class ScraperClientModeTest {
+
+    private HttpServer server;
+    private Engine blocking;
+    private Engine nonBlocking;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            // Decoded, as the scraper sees it: the blocking engine sends non-ASCII characters raw
+            // and the JDK client percent-encodes them
+            String uri = exchange.getRequestURI().getPath() + "?" + exchange.getRequestURI().getQuery();
+            int status = 200;
+            // Echoed in fields of the team, match and player DTOs as well as in the untyped analysis payloads
+            String body = "[{\"uri\":\"" + uri + "\",\"name\":\"" + uri + "\",\"rivalTeam\":\"" + uri + "\","
+                    + "\"rating\":7.5,\"goals\":3,\"squad\":[{\"name\":\"A\",\"rating\":\"7.50\",\"goals\":\"3\"}]}]";
+            if (uri.contains("Unknown")) {
+                status = 404;
+                body = "{\"error\":\"not found\"}";
+            } else if (uri.contains("Broken")) {
+                status = 500;
+                body = "{\"error\":\"boom\"}";
+            } else if (uri.contains("Empty")) {
+                body = "[]";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        blocking = new Engine(baseUrl, "blocking");
+        nonBlocking = new Engine(baseUrl, "non-blocking");
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocking.destroy();
+        nonBlocking.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void testTeamServiceGivesIdenticalResultsInBothModes() {
+        for (String team : List.of("Real Madrid", "Boca & River", "Empty FC", "Unknown FC", "Broken FC")) {
+            assertSameOutcome(engine -> engine.teamService.getTeamInfoByName(team));
+            assertSameOutcome(engine -> engine.teamService.getFutureMatches(team));
+            assertSameOutcome(engine -> engine.teamService.compareTeams(team, "Barcelona"));
+        }
+    }
+
+    @Test
+    void testPlayerServiceGivesIdenticalResultsInBothModes() {
+        for (String player : List.of("Lionel Messi", "Vinícius Júnior", "Empty", "Unknown", "Broken")) {
+            assertSameOutcome(engine -> engine.playerService.getPlayerInfoByName(player));
+        }
+    }
+
+    @Test
+    void testAnalysisServiceGivesIdenticalResultsInBothModes() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                User.withUsername("fan@test.com").password("secret").build(), null);
+        for (String player : List.of("Lionel Messi", "Empty", "Unknown", "Broken")) {
+            assertSameOutcome(engine -> engine.analysisService.getPlayerPerformanceMetrics(player, authentication));
+            assertSameOutcome(engine -> engine.analysisService.getPerformancePrediction(player, "Real Madrid", true,
+                    "FW", authentication));
+            assertSameOutcome(engine -> engine.analysisService.getComparativeAnalysis(player, authentication));
+            assertSameOutcome(engine -> engine.analysisService.getPlayerHistory(player, "02-11-2025", authentication));
+        }
+    }
+
+    @Test
+    void testAsyncMethodsCompleteWithTheBlockingResult() throws Exception {
+        // Act
+        Object expected = blocking.teamService.getTeamInfoByName("Real Madrid");
+        CompletableFuture<?> blockingMatches = blocking.teamService.getFutureMatchesAsync("Real Madrid");
+        CompletableFuture<Object> blockingFuture = blocking.teamService.compareTeamsAsync("Real Madrid", "Barcelona");
+        CompletableFuture<Object> nonBlockingFuture =
+                nonBlocking.teamService.compareTeamsAsync("Real Madrid", "Barcelona");
+
+        // Assert
+        assertTrue(blockingMatches.isDone());
+        assertEquals(blockingFuture.get(5, TimeUnit.SECONDS), nonBlockingFuture.get(5, TimeUnit.SECONDS));
+        assertEquals(expected, nonBlocking.teamService.getTeamInfoWithFreshnessAsync("Real Madrid")
+                .get(5, TimeUnit.SECONDS).value());
+    }
+
+    private void assertSameOutcome(Function<Engine, Object> call) {
+        Object expected = outcome(blocking, call);
+        Object actual = outcome(nonBlocking, call);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * @return The result of the call, or the type, message and cause type of what it threw.
+     */
+    private static Object outcome(Engine engine, Function<Engine, Object> call) {
+        try {
+            return call.apply(engine);
+        } catch (RuntimeException e) {
+            return List.of(e.getClass().getName(), String.valueOf(e.getMessage()),
+                    e.getCause() == null ? "" : e.getCause().getClass().getName());
+        }
+    }
+
+    private static final class Engine {
+
+        private final ScraperCallExecutor callExecutor;
+        private final ScraperHttpClient httpClient;
+        private final AsyncScraperClient asyncClient;
+        private final TeamService teamService;
+        private final PlayerService playerService;
+        private final AnalysisService analysisService;
+
+        Engine(String baseUrl, String mode) {
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty(AsyncScraperClient.MODE_PROPERTY, mode)
+                    .withProperty("scraper.cache.enabled", "false");
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            ScraperResponseCache responseCache = new ScraperResponseCache(environment);
+            callExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(environment));
+            httpClient = new ScraperHttpClient(environment);
+            asyncClient = new AsyncScraperClient(environment, objectMapper, httpClient);
+            teamService = new TeamService(new RestTemplateBuilder(), baseUrl, callExecutor, responseCache, asyncClient,
+                    new TeamComparator(environment), new Leaderboards(environment));
+            playerService = new PlayerService(new RestTemplateBuilder(), baseUrl, callExecutor, responseCache,
+                    asyncClient, 4, 50);
+            MatchHistory matchHistory = new MatchHistory(environment);
+            analysisService = new AnalysisService(new RestTemplateBuilder(), baseUrl, callExecutor, responseCache,
+                    asyncClient, playerService, new PerformanceMetricsEngine(environment, matchHistory),
+                    new PerformancePredictor(environment, matchHistory), teamService, 500);
+        }
+
+        void destroy() {
+            callExecutor.destroy();
+            httpClient.destroy();
+        }
+    }
+}
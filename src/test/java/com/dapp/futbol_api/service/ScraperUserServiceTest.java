@@ -1,23 +1,37 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.cache.CredentialCache;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperResilience;
 import com.dapp.futbol_api.security.RegisterRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClientException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 class ScraperUserServiceTest {
 
     private final String scraperServiceUrl = "http://localhost:8081";
     private ScraperUserService scraperUserService;
     private RestTemplateBuilder restTemplateBuilder;
+    private final ScraperCallExecutor callExecutor =
+            new ScraperCallExecutor(1000, false, new ScraperResilience(new MockEnvironment()));
+    private final CredentialCache credentialCache =
+            new CredentialCache(new MockEnvironment(), new BCryptPasswordEncoder(4));
 
     @BeforeEach
     void setUp() {
         restTemplateBuilder = new RestTemplateBuilder();
-        scraperUserService = new ScraperUserService(restTemplateBuilder, scraperServiceUrl);
+        scraperUserService = new ScraperUserService(restTemplateBuilder, scraperServiceUrl, callExecutor, credentialCache);
     }
 
     @Test
@@ -58,7 +72,7 @@ class ScraperUserServiceTest {
         String url = "http://test-url:8080";
 
         // When
-        ScraperUserService service = new ScraperUserService(builder, url);
+        ScraperUserService service = new ScraperUserService(builder, url, callExecutor, credentialCache);
 
         // Then
         assertNotNull(service);
@@ -72,7 +86,7 @@ class ScraperUserServiceTest {
 
         // When & Then
         assertThrows(Exception.class, () -> {
-            new ScraperUserService(builder, url);
+            new ScraperUserService(builder, url, callExecutor, credentialCache);
         });
     }
 
@@ -84,8 +98,57 @@ class ScraperUserServiceTest {
 
         // When & Then
         assertThrows(Exception.class, () -> {
-            new ScraperUserService(builder, url);
+            new ScraperUserService(builder, url, callExecutor, credentialCache);
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void validateUser_RepeatLoginIsVerifiedLocally() {
+        // Given
+        MockRestServiceServer mockServer = MockRestServiceServer.bindTo(scraperUserService.restTemplate).build();
+        mockServer.expect(once(), requestTo(scraperServiceUrl + "/api/scrape/auth/validate"))
+                .andRespond(withSuccess("{\"valid\":true}", MediaType.APPLICATION_JSON));
+
+        // When
+        boolean first = scraperUserService.validateUser("fan@test.com", "password123");
+        boolean second = scraperUserService.validateUser("fan@test.com", "password123");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        mockServer.verify();
+    }
+
+    @Test
+    void validateUser_WrongPasswordIsCheckedUpstreamAndDropsTheCachedCredentials() {
+        // Given
+        MockRestServiceServer mockServer = MockRestServiceServer.bindTo(scraperUserService.restTemplate).build();
+        credentialCache.remember("fan@test.com", "password123");
+        mockServer.expect(once(), requestTo(scraperServiceUrl + "/api/scrape/auth/validate"))
+                .andRespond(withSuccess("{\"valid\":false}", MediaType.APPLICATION_JSON));
+
+        // When
+        boolean valid = scraperUserService.validateUser("fan@test.com", "wrong-password");
+
+        // Then
+        assertFalse(valid);
+        assertFalse(credentialCache.matches("fan@test.com", "password123"));
+        mockServer.verify();
+    }
+
+    @Test
+    void registerUser_DropsTheCachedCredentials() {
+        // Given
+        MockRestServiceServer mockServer = MockRestServiceServer.bindTo(scraperUserService.restTemplate).build();
+        credentialCache.remember("fan@test.com", "password123");
+        mockServer.expect(once(), requestTo(scraperServiceUrl + "/api/scrape/auth/register"))
+                .andRespond(withSuccess("User registered", MediaType.TEXT_PLAIN));
+
+        // When
+        scraperUserService.registerUser(new RegisterRequest("fan@test.com", "new-password"));
+
+        // Then
+        assertFalse(credentialCache.matches("fan@test.com", "password123"));
+        mockServer.verify();
+    }
+}
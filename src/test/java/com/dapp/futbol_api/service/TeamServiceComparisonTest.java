@@ -0,0 +1,190 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.TeamComparator;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks how {@link TeamService#compareTeams(String, String)} fans out to both squads and falls
+ * back to the scraper's compare endpoint, against a stub scraper that answers after a delay.
+ */
+class TeamServiceComparisonTest {
+
+    private static final long SCRAPER_LATENCY_MS = 400;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private ScraperCallExecutor callExecutor;
+    private ScraperHttpClient httpClient;
+    private AsyncScraperClient asyncClient;
+    private TeamService teamService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(SCRAPER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int status = 200;
+            String body;
+            if (path.endsWith("/teams/compare")) {
+                body = "{\"teamName1\":\"upstream\",\"source\":\"scraper\"}";
+            } else if (query.contains("Ghost")) {
+                status = 404;
+                body = "{}";
+            } else if (query.contains("Unrated")) {
+                body = "[{\"name\":\"Unrated\",\"squad\":[{\"name\":\"A\",\"rating\":\"-\"}]}]";
+            } else {
+                String team = query.substring(query.indexOf('=') + 1);
+                String rating = team.startsWith("Barcelona") ? "7.80" : "7.20";
+                body = "[{\"name\":\"" + team + "\",\"squad\":[{\"name\":\"A\",\"age\":\"25\",\"minsPlayed\":\"900\","
+                        + "\"goals\":\"4\",\"rating\":\"" + rating + "\"}]}]";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callExecutor.destroy();
+        httpClient.destroy();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void testBlockingEngineFetchesBothSquadsInParallelAndComparesLocally() {
+        // Arrange
+        createTeamService("blocking");
+
+        // Act
+        long start = System.nanoTime();
+        Map<?, ?> result = (Map<?, ?>) teamService.compareTeams("Barcelona", "Real Madrid");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals("local", result.get("source"));
+        assertEquals("Barcelona", result.get("teamName1"));
+        assertEquals(2, requests.get("/api/scrape/team").get());
+        assertNull(requests.get("/api/scrape/teams/compare"));
+        assertTrue(elapsedMs < 2 * SCRAPER_LATENCY_MS, "Squads were fetched one after the other: " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testNonBlockingEngineFetchesBothSquadsInParallelAndComparesLocally() throws Exception {
+        // Arrange
+        createTeamService("non-blocking");
+
+        // Act
+        long start = System.nanoTime();
+        Map<?, ?> result = (Map<?, ?>) teamService.compareTeamsAsync("Barcelona", "Real Madrid")
+                .get(5, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals("local", result.get("source"));
+        assertEquals(2, requests.get("/api/scrape/team").get());
+        assertTrue(elapsedMs < 2 * SCRAPER_LATENCY_MS, "Squads were fetched one after the other: " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testCachedSquadsAreComparedWithoutCallingTheScraper() {
+        // Arrange
+        createTeamService("blocking");
+        teamService.getTeamInfoByName("Barcelona");
+        teamService.getTeamInfoByName("Real Madrid");
+        requests.clear();
+
+        // Act
+        Map<?, ?> result = (Map<?, ?>) teamService.compareTeams("Barcelona", "Real Madrid");
+
+        // Assert
+        assertEquals("local", result.get("source"));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void testFallsBackToTheScraperWhenASquadCannotBeCompared() {
+        // Arrange
+        createTeamService("blocking");
+
+        // Act
+        Map<?, ?> unknownTeam = (Map<?, ?>) teamService.compareTeams("Barcelona", "Ghost FC");
+        Map<?, ?> unratedTeam = (Map<?, ?>) teamService.compareTeams("Barcelona", "Unrated FC");
+
+        // Assert
+        assertEquals("scraper", unknownTeam.get("source"));
+        assertEquals("scraper", unratedTeam.get("source"));
+        assertEquals(2, requests.get("/api/scrape/teams/compare").get());
+    }
+
+    @Test
+    void testDisabledLocalComparisonGoesStraightToTheScraper() {
+        // Arrange
+        createTeamService("blocking");
+        MockEnvironment disabled = new MockEnvironment().withProperty("scraper.compare.local.enabled", "false");
+        TeamService upstreamOnly = new TeamService(new RestTemplateBuilder(),
+                "http://localhost:" + server.getAddress().getPort(), callExecutor, new ScraperResponseCache(disabled),
+                asyncClient, new TeamComparator(disabled), new Leaderboards(disabled));
+
+        // Act
+        Map<?, ?> result = (Map<?, ?>) upstreamOnly.compareTeams("Barcelona", "Real Madrid");
+
+        // Assert
+        assertEquals("scraper", result.get("source"));
+        assertNull(requests.get("/api/scrape/team"));
+        assertEquals(List.of("/api/scrape/teams/compare"), List.copyOf(requests.keySet()));
+    }
+
+    private void createTeamService(String mode) {
+        MockEnvironment environment = new MockEnvironment().withProperty(AsyncScraperClient.MODE_PROPERTY, mode);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        callExecutor = new ScraperCallExecutor(5000, false, new ScraperResilience(environment));
+        httpClient = new ScraperHttpClient(environment);
+        asyncClient = new AsyncScraperClient(environment, objectMapper, httpClient);
+        teamService = new TeamService(new RestTemplateBuilder(), "http://localhost:" + server.getAddress().getPort(),
+                callExecutor, new ScraperResponseCache(environment), asyncClient,
+                new TeamComparator(environment), new Leaderboards(environment));
+    }
+}
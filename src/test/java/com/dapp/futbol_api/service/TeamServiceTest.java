@@ -1,6 +1,18 @@
 package com.dapp.futbol_api.service;
 
+import com.dapp.futbol_api.analytics.LeaderboardMetric;
+import com.dapp.futbol_api.analytics.Leaderboards;
+import com.dapp.futbol_api.analytics.TeamComparator;
+import com.dapp.futbol_api.analytics.TopKIndex;
+import com.dapp.futbol_api.cache.ScraperResponseCache;
+import com.dapp.futbol_api.client.AsyncScraperClient;
+import com.dapp.futbol_api.client.ScraperCallExecutor;
+import com.dapp.futbol_api.client.ScraperHttpClient;
+import com.dapp.futbol_api.client.ScraperResilience;
 import com.dapp.futbol_api.exception.TeamServiceException;
+import com.dapp.futbol_api.model.dto.GameMatchDTO;
+import com.dapp.futbol_api.model.dto.TeamDTO;
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,13 +27,18 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(TeamService.class)
+// Local comparison is covered by TeamServiceComparisonTest; here compareTeams goes straight to the scraper
+@RestClientTest(components = {TeamService.class, ScraperResponseCache.class, ScraperCallExecutor.class,
+        ScraperResilience.class, AsyncScraperClient.class, ScraperHttpClient.class,
+        TeamComparator.class, Leaderboards.class},
+        properties = "scraper.compare.local.enabled=false")
 class TeamServiceTest {
 
     @Autowired
@@ -33,11 +50,18 @@ class TeamServiceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ScraperResponseCache responseCache;
+
+    @Autowired
+    private Leaderboards leaderboards;
+
     private final String baseUrl = "http://localhost:8081";
 
     @BeforeEach
     void setUp() {
         mockServer.reset();
+        responseCache.clear();
     }
 
     // --- Tests for getTeamInfoByName ---
@@ -47,7 +71,9 @@ class TeamServiceTest {
         // Arrange
         String teamName = "Real Madrid";
         String url = baseUrl + "/api/scrape/team?teamName=Real%20Madrid";
-        Map<String, Object> mockTeam = Map.of("name", "Real Madrid", "stadium", "Santiago Bernabeu");
+        Map<String, Object> mockTeam = Map.of("name", "Real Madrid", "stadium", "Santiago Bernabeu",
+                "squad", List.of(Map.of("name", "Vinicius Junior", "age", "24", "apps", "28(2)", "minsPlayed", "2,410",
+                        "goals", "12", "passSuccess", "84.5%", "rating", "7.45", "redCards", "-")));
         List<Map<String, Object>> mockResponse = Collections.singletonList(mockTeam);
 
         mockServer.expect(requestTo(url))
@@ -55,12 +81,46 @@ class TeamServiceTest {
                 .andRespond(withSuccess(objectMapper.writeValueAsString(mockResponse), MediaType.APPLICATION_JSON));
 
         // Act
-        Object result = teamService.getTeamInfoByName(teamName);
+        TeamDTO result = teamService.getTeamInfoByName(teamName);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result instanceof Map);
-        assertEquals("Real Madrid", ((Map<?, ?>) result).get("name"));
+        assertEquals("Real Madrid", result.getName());
+        TeamPlayerDTO player = result.getSquad().getFirst();
+        assertEquals(24, player.getAge());
+        assertEquals("28(2)", player.getApps());
+        assertEquals(2410, player.getMinsPlayed());
+        assertEquals(12, player.getGoals());
+        assertEquals(84.5, player.getPassSuccess());
+        assertEquals(7.45, player.getRating());
+        assertNull(player.getRedCards());
+        mockServer.verify();
+    }
+
+    @Test
+    void testGetTeamInfoByNameUpdatesTheLeaderboards() throws JsonProcessingException, InterruptedException {
+        // Arrange
+        String url = baseUrl + "/api/scrape/team?teamName=Girona";
+        Map<String, Object> mockTeam = Map.of("name", "Girona",
+                "squad", List.of(Map.of("name", "Artem Dovbyk", "goals", "24"), Map.of("name", "Savinho", "goals", "9")));
+        mockServer.expect(requestTo(url))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(List.of(mockTeam)), MediaType.APPLICATION_JSON));
+
+        // Act
+        teamService.getTeamInfoByName("Girona");
+
+        // Assert: the squad is ranked after the response, so wait for it
+        List<TopKIndex.Ranked> scorers = List.of();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scorers.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            scorers = leaderboards.page(LeaderboardMetric.GOALS, 0, 10).entries().stream()
+                    .filter(ranked -> ranked.team().equals("Girona"))
+                    .toList();
+        }
+        assertEquals("Artem Dovbyk", scorers.get(0).player().getName());
+        assertEquals(24.0, scorers.get(0).value());
+        assertEquals("Savinho", scorers.get(1).player().getName());
         mockServer.verify();
     }
 
@@ -107,6 +167,24 @@ class TeamServiceTest {
         mockServer.verify();
     }
 
+    @Test
+    void testGetTeamInfoByName_SecondCallIsServedFromCache() throws JsonProcessingException {
+        // Arrange
+        String url = baseUrl + "/api/scrape/team?teamName=Cached%20Team";
+        List<Map<String, Object>> mockResponse = Collections.singletonList(Map.of("name", "Cached Team"));
+
+        mockServer.expect(requestTo(url))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(mockResponse), MediaType.APPLICATION_JSON));
+
+        // Act
+        Object first = teamService.getTeamInfoByName("Cached Team");
+        Object second = teamService.getTeamInfoByName("  cached   TEAM ");
+
+        // Assert: only one request reached the scraper service
+        assertSame(first, second);
+        mockServer.verify();
+    }
+
     // --- Tests for getFutureMatches ---
 
     @Test
@@ -114,18 +192,20 @@ class TeamServiceTest {
         // Arrange
         String teamName = "FC Barcelona";
         String url = baseUrl + "/api/scrape/futureMatches?teamName=FC%20Barcelona";
-        List<Map<String, String>> mockMatches = Collections.singletonList(Map.of("opponent", "Real Madrid"));
+        List<Map<String, String>> mockMatches = Collections.singletonList(Map.of("cup", "LaLiga",
+                "actualTeam", "FC Barcelona", "rivalTeam", "Real Madrid", "redCardsRivalTeam", "1", "score", "vs"));
 
         mockServer.expect(requestTo(url))
                 .andRespond(withSuccess(objectMapper.writeValueAsString(mockMatches), MediaType.APPLICATION_JSON));
 
         // Act
-        Object result = teamService.getFutureMatches(teamName);
+        List<GameMatchDTO> result = teamService.getFutureMatches(teamName);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result instanceof List);
-        assertFalse(((List<?>) result).isEmpty());
+        assertEquals(1, result.size());
+        assertEquals("Real Madrid", result.getFirst().getRivalTeam());
+        assertEquals(1, result.getFirst().getRedCardsRivalTeam());
         mockServer.verify();
     }
 
@@ -0,0 +1,109 @@
+package com.dapp.futbol_api.service;
+
+import com.dapp.futbol_api.model.RevokedToken;
+import com.dapp.futbol_api.repositories.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        revocationService.destroy();
+    }
+
+    @Test
+    void testRevokedTokensArePersistedAndReportedUntilTheyExpire() {
+        // Arrange
+        revocationService = new TokenRevocationService(repository, new MockEnvironment());
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+        // Act
+        boolean first = revocationService.revoke("jti-1", expiration);
+        boolean second = revocationService.revoke("jti-1", expiration);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertFalse(revocationService.isRevoked("jti-2"));
+        assertFalse(revocationService.isRevoked(null));
+        verify(repository).save(RevokedToken.builder().jti("jti-1").expiresAt(expiration.toInstant()).build());
+    }
+
+    @Test
+    void testExpiredTokensAreNotRevoked() {
+        // Arrange
+        revocationService = new TokenRevocationService(repository, new MockEnvironment());
+
+        // Act
+        boolean revoked = revocationService.revoke("jti-1", new Date(System.currentTimeMillis() - 1000));
+
+        // Assert
+        assertFalse(revoked);
+        assertFalse(revocationService.isRevoked("jti-1"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testRevocationsAreLoadedFromTheDatabaseAtStartup() {
+        // Arrange
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("jti-1", Instant.now().plusSeconds(60))));
+
+        // Act
+        revocationService = new TokenRevocationService(repository, new MockEnvironment());
+
+        // Assert
+        assertTrue(revocationService.isRevoked("jti-1"));
+    }
+
+    @Test
+    void testPurgeDropsExpiredRevocations() throws InterruptedException {
+        // Arrange
+        revocationService = new TokenRevocationService(repository, new MockEnvironment());
+        revocationService.revoke("short", new Date(System.currentTimeMillis() + 100));
+        revocationService.revoke("long", new Date(System.currentTimeMillis() + 60_000));
+        Thread.sleep(200);
+
+        // Act
+        revocationService.purgeExpired();
+
+        // Assert
+        assertFalse(revocationService.isRevoked("short"));
+        assertTrue(revocationService.isRevoked("long"));
+        verify(repository).deleteByExpiresAtBefore(any());
+    }
+
+    @Test
+    void testRevocationWorksWhenTheDatabaseFails() {
+        // Arrange
+        revocationService = new TokenRevocationService(repository, new MockEnvironment());
+        when(repository.save(any())).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        boolean revoked = revocationService.revoke("jti-1", new Date(System.currentTimeMillis() + 60_000));
+
+        // Assert
+        assertTrue(revoked);
+        assertTrue(revocationService.isRevoked("jti-1"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.dapp.futbol_api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testAddedValuesAreAlwaysFound() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+
+        // Act & Assert
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTheConfiguredRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "False positive rate too high: " + falsePositives + " in 100000");
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.mightContain("jti"));
+        assertFalse(filter.mightContain(""));
+    }
+}
@@ -1,6 +1,8 @@
 package com.dapp.futbol_api.utils;
 
+import com.dapp.futbol_api.exception.ScraperUnavailableException;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -24,4 +26,20 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals(errorMessage, response.getBody());
     }
+
+    @Test
+    void testHandleScraperUnavailableShouldReturnServiceUnavailableWithRetryAfter() {
+        // Arrange
+        GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+        ScraperUnavailableException exception = new ScraperUnavailableException(
+                "The scraper service is unavailable for analysis requests, try again in 30 seconds.", 30);
+
+        // Act
+        ResponseEntity<String> response = globalExceptionHandler.handleScraperUnavailable(exception);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(exception.getMessage(), response.getBody());
+    }
 }
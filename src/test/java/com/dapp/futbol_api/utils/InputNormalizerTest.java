@@ -0,0 +1,106 @@
+package com.dapp.futbol_api.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputNormalizerTest {
+
+    // The regular expressions the normalizer replaced; its results must not change
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$");
+    private static final Pattern PASSWORD_REGEX = Pattern.compile("^(?=.*\\d).{6,}$");
+    private static final String ALPHABET = "aZ09 \t\n\r\u000B\f\u0001_.-@&?=!#%+É€ \u0085";
+
+    @Test
+    void testSanitizeReplacesLineBreaks() {
+        // Act & Assert
+        assertEquals("Lionel_Messi__", InputNormalizer.sanitize("Lionel\nMessi\r\n"));
+    }
+
+    @Test
+    void testSanitizeReturnsTheSameInstanceWhenThereIsNothingToReplace() {
+        // Arrange
+        String input = "Lionel Messi";
+
+        // Act & Assert
+        assertSame(input, InputNormalizer.sanitize(input));
+    }
+
+    @Test
+    void testEncodeQueryValueEncodesReservedCharacters() {
+        // Act & Assert
+        assertEquals("Brighton%20%26%20Hove%3F%3Dx", InputNormalizer.encodeQueryValue("Brighton & Hove?=x"));
+    }
+
+    @Test
+    void testEncodeQueryValueReturnsTheSameInstanceWhenThereIsNothingToEncode() {
+        // Arrange
+        String value = "Barcelona";
+
+        // Act & Assert
+        assertSame(value, InputNormalizer.encodeQueryValue(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Real Madrid", " real  madrid", "REAL MADRID", "\treal\n\nMadrid \r"})
+    void testNormalizeKeyIgnoresCaseAndRedundantWhitespace(String value) {
+        // Act & Assert
+        assertEquals("real madrid", InputNormalizer.normalizeKey(value));
+    }
+
+    @Test
+    void testNormalizeKeyReturnsTheSameInstanceWhenAlreadyNormalized() {
+        // Arrange
+        String value = "real madrid";
+
+        // Act & Assert
+        assertSame(value, InputNormalizer.normalizeKey(value));
+    }
+
+    @Test
+    void testNormalizeKeyLowerCasesNonAsciiCharacters() {
+        // Act & Assert
+        assertEquals("atlético madrid", InputNormalizer.normalizeKey("ATLÉTICO  Madrid"));
+    }
+
+    @Test
+    void testMethodsMatchTheReplacedRegularExpressions() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String value = randomString(random);
+
+            // Act & Assert
+            assertEquals(value.replaceAll("[\n\r]", "_"), InputNormalizer.sanitize(value), value);
+            assertEquals(value.replace(" ", "%20").replace("&", "%26").replace("?", "%3F").replace("=", "%3D"),
+                    InputNormalizer.encodeQueryValue(value), value);
+            assertEquals(value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT),
+                    InputNormalizer.normalizeKey(value), value);
+            assertEquals(EMAIL_REGEX.matcher(value).matches(), InputNormalizer.isValidEmail(value), value);
+            assertEquals(PASSWORD_REGEX.matcher(value).matches(), InputNormalizer.isValidPassword(value), value);
+        }
+    }
+
+    @Test
+    void testValidatorsRejectNull() {
+        // Act & Assert
+        assertFalse(InputNormalizer.isValidEmail(null));
+        assertFalse(InputNormalizer.isValidPassword(null));
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder value = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.dapp.futbol_api.utils;
+
+import com.dapp.futbol_api.model.dto.TeamPlayerDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrapedStatsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testParseHandlesScrapedFormats() {
+        assertEquals(7.45, ScrapedStats.parse("7.45"));
+        assertEquals(1234, ScrapedStats.parse("1,234"));
+        assertEquals(85.3, ScrapedStats.parse(" 85.3%"));
+        assertEquals(25, ScrapedStats.parse("25(3)"));
+        assertEquals(-2, ScrapedStats.parse("-2"));
+        assertEquals(0, ScrapedStats.parse("-"));
+        assertEquals(0, ScrapedStats.parse(""));
+        assertEquals(0, ScrapedStats.parse(null));
+    }
+
+    @Test
+    void testStatsBindFromTextOrNumbersAndMissingStatsAreNull() throws Exception {
+        // Arrange
+        String json = "{\"name\":\"Pedri\",\"age\":\"22\",\"minsPlayed\":\"2,510\",\"goals\":4,\"assists\":\"-\","
+                + "\"yellowCards\":null,\"shotsPerGame\":1.2,\"passSuccess\":\"91.4\",\"rating\":\"7.38\"}";
+
+        // Act
+        TeamPlayerDTO player = objectMapper.readValue(json, TeamPlayerDTO.class);
+
+        // Assert
+        assertEquals("Pedri", player.getName());
+        assertEquals(22, player.getAge());
+        assertEquals(2510, player.getMinsPlayed());
+        assertEquals(4, player.getGoals());
+        assertNull(player.getAssists());
+        assertNull(player.getYellowCards());
+        assertNull(player.getRedCards());
+        assertEquals(1.2, player.getShotsPerGame());
+        assertEquals(91.4, player.getPassSuccess());
+        assertEquals(7.38, player.getRating());
+        assertEquals(0, ScrapedStats.orZero(player.getAssists()));
+    }
+
+    @Test
+    void testUndeclaredFieldsAreKeptAndWrittenBack() throws Exception {
+        // Arrange
+        String json = "{\"name\":\"Pedri\",\"unknownStat\":{\"nested\":true},\"nickname\":\"Potter\"}";
+
+        // Act
+        TeamPlayerDTO player = objectMapper.readValue(json, TeamPlayerDTO.class);
+        JsonNode written = objectMapper.valueToTree(player);
+
+        // Assert
+        assertEquals(Map.of("nested", true), player.getOtherFields().get("unknownStat"));
+        assertTrue(written.get("unknownStat").get("nested").asBoolean());
+        assertEquals("Potter", written.get("nickname").asText());
+        assertFalse(written.has("otherFields"));
+    }
+
+    @Test
+    void testNonScalarStatsAreRejected() {
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"goals\":[1,2]}", TeamPlayerDTO.class));
+    }
+
+    @Test
+    void testConstructorShouldThrowException() throws Exception {
+        var constructor = ScrapedStats.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        var thrown = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+}
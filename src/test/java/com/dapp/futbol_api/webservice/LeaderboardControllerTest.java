@@ -0,0 +1,83 @@
+package com.dapp.futbol_api.webservice;
+
+import com.dapp.futbol_api.model.dto.LeaderboardDTO;
+import com.dapp.futbol_api.model.dto.LeaderboardEntryDTO;
+import com.dapp.futbol_api.security.JwtService;
+import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import com.dapp.futbol_api.service.LeaderboardService;
+import com.dapp.futbol_api.service.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LeaderboardController.class)
+class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private SimpleUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    @WithMockUser
+    void testGetLeaderboard_Success() throws Exception {
+        // Arrange
+        LeaderboardDTO leaderboard = LeaderboardDTO.builder()
+                .metric("goals").page(1).size(20).totalEntries(21).totalPlayers(21).teams(2)
+                .entries(List.of(LeaderboardEntryDTO.builder()
+                        .rank(21).playerName("Pedri").team("Barcelona").position("AMC").value(4).build()))
+                .build();
+        when(leaderboardService.getLeaderboard("goals", 1, 20)).thenReturn(leaderboard);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/leaderboards/goals").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metric").value("goals"))
+                .andExpect(jsonPath("$.entries[0].rank").value(21))
+                .andExpect(jsonPath("$.entries[0].playerName").value("Pedri"));
+    }
+
+    @Test
+    @WithMockUser
+    void testGetLeaderboard_UnknownMetric() throws Exception {
+        // Arrange
+        when(leaderboardService.getLeaderboard("tackles", 0, 20))
+                .thenThrow(new IllegalArgumentException("Unknown leaderboard 'tackles'."));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/leaderboards/tackles"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testGetMetrics_Success() throws Exception {
+        // Arrange
+        when(leaderboardService.getMetrics()).thenReturn(List.of("goals", "rating"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/leaderboards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]").value("rating"));
+    }
+}
@@ -1,25 +1,42 @@
 package com.dapp.futbol_api.webservice;
 
+import com.dapp.futbol_api.cache.CachedResponse;
 import com.dapp.futbol_api.security.JwtAuthenticationFilter;
 import com.dapp.futbol_api.security.JwtService;
 import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import com.dapp.futbol_api.model.dto.PlayerBatchResultDTO;
 import com.dapp.futbol_api.model.dto.PlayerDTO;
 import com.dapp.futbol_api.service.PlayerService;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PlayerController.class)
@@ -41,6 +58,9 @@ class PlayerControllerTest {
     @MockitoBean
     private SimpleUserDetailsService simpleUserDetailsService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void testGetPlayerInfoByName_Success() throws Exception {
         // Arrange
@@ -50,15 +70,35 @@ class PlayerControllerTest {
         mockPlayer.setName(playerName);
         mockPlayer.setCurrentTeam("Inter Miami");
 
-        when(playerService.getPlayerInfoByName(anyString())).thenReturn(List.of(mockPlayer));
+        when(playerService.getPlayerInfoWithFreshnessAsync(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(mockPlayer)));
 
         // Act & Assert
-        mockMvc.perform(get("/api/player")
+        performAsync(get("/api/player")
                         .param("playerName", playerName))
                 .andDo(print()) // Para ver qué está pasando
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value(playerName))
-                .andExpect(jsonPath("$[0].currentTeam").value("Inter Miami"));
+                .andExpect(jsonPath("$.name").value(playerName))
+                .andExpect(jsonPath("$.currentTeam").value("Inter Miami"))
+                .andExpect(header().string("X-Data-Stale", "false"));
+    }
+
+    @Test
+    void testGetPlayerInfoByName_StaleResponseHeaders() throws Exception {
+        // Arrange
+        String playerName = "Lionel Messi";
+        PlayerDTO mockPlayer = new PlayerDTO();
+        mockPlayer.setName(playerName);
+
+        when(playerService.getPlayerInfoWithFreshnessAsync(playerName))
+                .thenReturn(CompletableFuture.completedFuture(new CachedResponse<>(mockPlayer, Duration.ofMinutes(45), true)));
+
+        // Act & Assert
+        performAsync(get("/api/player").param("playerName", playerName))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(playerName))
+                .andExpect(header().string("Age", "2700"))
+                .andExpect(header().string("X-Data-Stale", "true"));
     }
 
     @Test
@@ -66,10 +106,58 @@ class PlayerControllerTest {
     void testGetPlayerInfoByName_PlayerNotFound() throws Exception {
         // Arrange
         String playerName = "Unknown Player";
-        when(playerService.getPlayerInfoByName(playerName)).thenThrow(new IllegalArgumentException("Player not found"));
+        when(playerService.getPlayerInfoWithFreshnessAsync(playerName))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Player not found")));
 
         // Act & Assert
-        mockMvc.perform(get("/api/player").param("playerName", playerName))
+        performAsync(get("/api/player").param("playerName", playerName))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetPlayersInfo_StreamsOneLinePerPlayer() throws Exception {
+        // Arrange
+        when(playerService.getPlayersInfo(eq(List.of("Lionel Messi", "Nobody_")), any())).thenAnswer(invocation -> {
+            Consumer<PlayerBatchResultDTO> onResult = invocation.getArgument(1);
+            onResult.accept(PlayerBatchResultDTO.builder().playerName("Nobody_")
+                    .status(PlayerBatchResultDTO.NOT_FOUND).error("Player not found").build());
+            PlayerDTO messi = new PlayerDTO();
+            messi.setName("Lionel Messi");
+            messi.setAge(38);
+            onResult.accept(PlayerBatchResultDTO.builder().playerName("Lionel Messi")
+                    .status(PlayerBatchResultDTO.OK).player(messi).stale(false).build());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // Act & Assert
+        performAsync(post("/api/player/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerNames\":[\"Lionel Messi\",\"Nobody\\n\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"playerName\":\"Nobody_\",\"status\":\"NOT_FOUND\",\"error\":\"Player not found\"}\n"
+                                + "{\"playerName\":\"Lionel Messi\",\"status\":\"OK\",\"player\":{\"name\":\"Lionel Messi\",\"shirtNumber\":null,\"age\":38,\"height\":null,\"positions\":null,\"nationality\":null,\"currentTeam\":null,\"matchStats\":null},\"stale\":false}\n"));
+    }
+
+    @Test
+    void testGetPlayersInfo_InvalidBatchIsRejected() throws Exception {
+        // Arrange
+        when(playerService.getPlayersInfo(eq(List.of()), any()))
+                .thenThrow(new IllegalArgumentException("At least one player name is required."));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/player/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerNames\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
 }
@@ -3,6 +3,7 @@ package com.dapp.futbol_api.webservice;
 import com.dapp.futbol_api.config.SecurityConfig;
 import com.dapp.futbol_api.security.JwtService;
 import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -30,6 +31,9 @@ class RootControllerTest {
     @MockitoBean
     private SimpleUserDetailsService userDetailsService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     void testHomeEndpointIsPublicAndReturnsCorrectMessage() throws Exception {
         // Act & Assert
@@ -1,22 +1,32 @@
 package com.dapp.futbol_api.webservice;
 
+import com.dapp.futbol_api.cache.CachedResponse;
+import com.dapp.futbol_api.model.dto.GameMatchDTO;
 import com.dapp.futbol_api.model.dto.TeamDTO;
 import com.dapp.futbol_api.security.JwtService;
 import com.dapp.futbol_api.service.TeamService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.dapp.futbol_api.security.SimpleUserDetailsService;
+import com.dapp.futbol_api.service.TokenRevocationService;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TeamController.class)
@@ -34,6 +44,9 @@ class TeamControllerTest {
     @MockitoBean
     private SimpleUserDetailsService userDetailsService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
     @Test
     @WithMockUser
     void testGetTeamInfoByName_Success() throws Exception {
@@ -42,12 +55,16 @@ class TeamControllerTest {
         TeamDTO mockTeam = new TeamDTO();
         mockTeam.setName(teamName);
 
-        when(teamService.getTeamInfoByName(teamName)).thenReturn(mockTeam);
+        when(teamService.getTeamInfoWithFreshnessAsync(teamName))
+
+                .thenReturn(CompletableFuture.completedFuture(CachedResponse.fresh(mockTeam)));
 
         // Act & Assert
-        mockMvc.perform(get("/api/team").param("teamName", teamName))
+        performAsync(get("/api/team").param("teamName", teamName))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value(teamName));
+                .andExpect(jsonPath("$.name").value(teamName))
+                .andExpect(header().string("Age", "0"))
+                .andExpect(header().string("X-Data-Stale", "false"));
     }
 
     @Test
@@ -55,10 +72,11 @@ class TeamControllerTest {
     void testGetTeamInfoByName_TeamNotFound() throws Exception {
         // Arrange
         String teamName = "Unknown Team";
-        when(teamService.getTeamInfoByName(teamName)).thenThrow(new IllegalArgumentException("Team not found"));
+        when(teamService.getTeamInfoWithFreshnessAsync(teamName))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Team not found")));
 
         // Act & Assert
-        mockMvc.perform(get("/api/team").param("teamName", teamName))
+        performAsync(get("/api/team").param("teamName", teamName))
                 .andExpect(status().isBadRequest());
     }
 
@@ -67,11 +85,12 @@ class TeamControllerTest {
     void testGetFutureMatches_Success() throws Exception {
         // Arrange
         String teamName = "Real Madrid";
-        List<Object> mockMatches = new ArrayList<>();
-        when(teamService.getFutureMatches(teamName)).thenReturn(mockMatches);
+        List<GameMatchDTO> mockMatches = new ArrayList<>();
+        when(teamService.getFutureMatchesAsync(teamName))
+                .thenReturn(CompletableFuture.completedFuture(mockMatches));
 
         // Act & Assert
-        mockMvc.perform(get("/api/futureMatches").param("teamName", teamName))
+        performAsync(get("/api/futureMatches").param("teamName", teamName))
                 .andExpect(status().isOk());
     }
 
@@ -80,11 +99,18 @@ class TeamControllerTest {
     void testGetFutureMatches_TeamNotFound() throws Exception {
         // Arrange
         String teamName = "Unknown Team";
-        when(teamService.getFutureMatches(teamName))
-                .thenThrow(new IllegalArgumentException("Team not found for future matches."));
+        when(teamService.getFutureMatchesAsync(teamName))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Team not found for future matches.")));
 
         // Act & Assert
-        mockMvc.perform(get("/api/futureMatches").param("teamName", teamName))
+        performAsync(get("/api/futureMatches").param("teamName", teamName))
                 .andExpect(status().isBadRequest());
     }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
 }